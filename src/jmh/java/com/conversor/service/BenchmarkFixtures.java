@@ -0,0 +1,298 @@
+package com.conversor.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.sl.usermodel.ShapeType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFAutoShape;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Arquivos de entrada dos benchmarks, gerados de forma determinística.
+ *
+ * Cada arquivo é gerado a partir de uma semente fixa, de modo que execuções
+ * diferentes medem sempre o mesmo conteúdo.
+ */
+public final class BenchmarkFixtures {
+
+    private static final long SEED = 0x5EEDL;
+
+    private static final String[] WORDS = {
+            "arquivo", "conversão", "documento", "página", "relatório", "imagem", "texto",
+            "dados", "análise", "resultado", "processo", "sistema", "versão", "índice",
+            "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "lorem", "ipsum",
+            "dolor", "sit", "amet", "2024", "R$", "1.234,56", "—", "§", "ção", "ñ"
+    };
+
+    private static final int PDF_LINES_PER_PAGE = 52;
+    private static final float PDF_MARGIN = 50;
+    private static final float PDF_LEADING = 14;
+
+    /**
+     * Tamanhos das entradas: páginas dos PDFs (e slides das apresentações),
+     * bytes dos textos e dimensões das imagens.
+     */
+    public enum FixtureSize {
+        SMALL(1, 64 * 1024, 800, 600),
+        MEDIUM(8, 1024 * 1024, 1920, 1440),
+        LARGE(32, 8 * 1024 * 1024, 4000, 3000);
+
+        private final int pdfPages;
+        private final long textBytes;
+        private final int imageWidth;
+        private final int imageHeight;
+
+        FixtureSize(int pdfPages, long textBytes, int imageWidth, int imageHeight) {
+            this.pdfPages = pdfPages;
+            this.textBytes = textBytes;
+            this.imageWidth = imageWidth;
+            this.imageHeight = imageHeight;
+        }
+    }
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Gera um PDF de texto com o número de páginas do tamanho informado.
+     *
+     * @param target Arquivo gerado
+     * @param size   Tamanho da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    static void writePdf(Path target, FixtureSize size) throws IOException {
+        Random random = new Random(SEED);
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+
+        try (PDDocument document = new PDDocument()) {
+            for (int p = 0; p < size.pdfPages; p++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.setNonStrokingColor(new Color(random.nextInt(0xFFFFFF)));
+                    content.addRect(PDF_MARGIN, PDF_MARGIN, 120, 60);
+                    content.fill();
+                    content.setNonStrokingColor(Color.BLACK);
+
+                    content.beginText();
+                    content.setFont(font, 11);
+                    content.setLeading(PDF_LEADING);
+                    content.newLineAtOffset(PDF_MARGIN, page.getMediaBox().getHeight() - PDF_MARGIN);
+                    for (int line = 0; line < PDF_LINES_PER_PAGE; line++) {
+                        content.showText(sentence(random, 12));
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(target.toFile());
+        }
+    }
+
+    /**
+     * Gera um arquivo de texto UTF-8 com o número de bytes do tamanho informado.
+     *
+     * @param target Arquivo gerado
+     * @param size   Tamanho da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    static void writeText(Path target, FixtureSize size) throws IOException {
+        Random random = new Random(SEED);
+        long written = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            while (written < size.textBytes) {
+                // Linhas de tamanhos variados, incluindo algumas maiores que a página
+                String line = sentence(random, 1 + random.nextInt(random.nextInt(10) == 0 ? 60 : 14));
+                writer.write(line);
+                writer.newLine();
+                written += line.getBytes(StandardCharsets.UTF_8).length + 1;
+            }
+        }
+    }
+
+    /**
+     * Gera um documento Word com parágrafos até o número de bytes de texto
+     * do tamanho informado.
+     *
+     * @param target Arquivo gerado
+     * @param size   Tamanho da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    static void writeDocx(Path target, FixtureSize size) throws IOException {
+        Random random = new Random(SEED);
+        long written = 0;
+
+        try (XWPFDocument document = new XWPFDocument();
+             OutputStream output = Files.newOutputStream(target)) {
+            while (written < size.textBytes) {
+                XWPFRun run = document.createParagraph().createRun();
+                String text = sentence(random, 4 + random.nextInt(40));
+                run.setText(text);
+                if (random.nextInt(8) == 0) {
+                    run.addTab();
+                    run.setText(sentence(random, 3));
+                }
+                written += text.getBytes(StandardCharsets.UTF_8).length + 1;
+            }
+            document.write(output);
+        }
+    }
+
+    /**
+     * Gera uma planilha XLSX com duas abas e linhas até o número de bytes de
+     * texto do tamanho informado.
+     *
+     * @param target Arquivo gerado
+     * @param size   Tamanho da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    static void writeXlsx(Path target, FixtureSize size) throws IOException {
+        Random random = new Random(SEED);
+        // Cada linha tem cerca de 64 bytes de conteúdo
+        long rowsPerSheet = size.textBytes / 64 / 2;
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try (OutputStream output = Files.newOutputStream(target)) {
+            for (int s = 0; s < 2; s++) {
+                Sheet sheet = workbook.createSheet("Aba " + (s + 1));
+                for (int r = 0; r < rowsPerSheet; r++) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue(r);
+                    row.createCell(1).setCellValue(sentence(random, 3));
+                    row.createCell(2).setCellValue(random.nextDouble() * 10_000);
+                    row.createCell(3).setCellValue(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            workbook.write(output);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Gera uma apresentação PPTX com um slide por página do tamanho
+     * informado, cada um com título, texto e formas.
+     *
+     * @param target Arquivo gerado
+     * @param size   Tamanho da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    static void writePptx(Path target, FixtureSize size) throws IOException {
+        Random random = new Random(SEED);
+
+        try (XMLSlideShow slideShow = new XMLSlideShow();
+             OutputStream output = Files.newOutputStream(target)) {
+            for (int s = 0; s < size.pdfPages; s++) {
+                XSLFSlide slide = slideShow.createSlide();
+
+                XSLFTextBox title = slide.createTextBox();
+                title.setAnchor(new Rectangle2D.Double(40, 20, 640, 60));
+                title.setText(sentence(random, 5)).setFontSize(32.0);
+
+                XSLFTextBox body = slide.createTextBox();
+                body.setAnchor(new Rectangle2D.Double(40, 100, 400, 400));
+                for (int line = 0; line < 8; line++) {
+                    body.addNewTextParagraph().addNewTextRun().setText(sentence(random, 8));
+                }
+
+                for (int shape = 0; shape < 3; shape++) {
+                    XSLFAutoShape box = slide.createAutoShape();
+                    box.setShapeType(shape % 2 == 0 ? ShapeType.RECT : ShapeType.ELLIPSE);
+                    box.setAnchor(new Rectangle2D.Double(460 + random.nextInt(100), 100 + shape * 130, 200, 110));
+                    box.setFillColor(new Color(random.nextInt(0xFFFFFF)));
+                }
+            }
+            slideShow.write(output);
+        }
+    }
+
+    /**
+     * Gera uma imagem com gradientes, formas e texto nas dimensões do
+     * tamanho informado.
+     *
+     * @param target Arquivo gerado
+     * @param format Formato da imagem (jpg ou png)
+     * @param size   Tamanho da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    static void writeImage(Path target, String format, FixtureSize size) throws IOException {
+        Random random = new Random(SEED);
+        int width = size.imageWidth;
+        int height = size.imageHeight;
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setPaint(new GradientPaint(0, 0, new Color(30, 60, 120), width, height, new Color(240, 200, 90)));
+            graphics.fillRect(0, 0, width, height);
+
+            int shapes = width * height / 20_000;
+            for (int i = 0; i < shapes; i++) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF) | (random.nextInt(200) + 40) << 24, true));
+                int w = 10 + random.nextInt(width / 8);
+                int h = 10 + random.nextInt(height / 8);
+                graphics.fillOval(random.nextInt(width), random.nextInt(height), w, h);
+            }
+
+            graphics.setColor(Color.WHITE);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, Math.max(12, height / 40)));
+            for (int y = height / 20; y < height; y += height / 10) {
+                graphics.drawString(sentence(random, 6), width / 20, y);
+            }
+
+            // Ruído leve, como o de uma fotografia
+            for (int i = 0; i < width * height / 16; i++) {
+                int x = random.nextInt(width);
+                int y = random.nextInt(height);
+                image.setRGB(x, y, image.getRGB(x, y) ^ random.nextInt(0x101010));
+            }
+        } finally {
+            graphics.dispose();
+        }
+
+        if (!ImageIO.write(image, format, target.toFile())) {
+            throw new IOException("Formato de imagem sem escritor: " + format);
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
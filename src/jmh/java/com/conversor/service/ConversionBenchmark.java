@@ -0,0 +1,165 @@
+package com.conversor.service;
+
+import com.conversor.config.AsyncConfig;
+import com.conversor.converter.ConversionPlan;
+import com.conversor.converter.ConversionPlanner;
+import com.conversor.converter.ConversionProgress;
+import com.conversor.converter.ConverterRegistry;
+import com.conversor.converter.DocxToTextConverter;
+import com.conversor.converter.ImageToImageConverter;
+import com.conversor.converter.ImageToPdfConverter;
+import com.conversor.converter.PdfToImageConverter;
+import com.conversor.converter.PdfToTextConverter;
+import com.conversor.converter.PptxConverter;
+import com.conversor.converter.SpreadsheetConverter;
+import com.conversor.converter.TextToPdfConverter;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.BenchmarkFixtures.FixtureSize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de cada motor de conversão, chamados pelo {@link FileConversionService}.
+ *
+ * Mede vazão e tempo médio de cada conversão sobre entradas geradas de
+ * forma determinística em três tamanhos; a taxa de alocação vem do
+ * profiler de GC ({@code -prof gc}), ligado por padrão no perfil
+ * {@code jmh}. Só a conversão é medida: upload, histórico e cache ficam
+ * de fora. Nas conversões de PDF e PPTX para imagem, as páginas são
+ * renderizadas no pool de renderização, cujas alocações o profiler de GC não atribui à
+ * thread do benchmark.
+ *
+ * Execução: {@code mvn -Pjmh test-compile exec:exec}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-Djava.awt.headless=true"})
+public class ConversionBenchmark {
+
+    @Param({"PDF_TO_TXT", "PDF_TO_JPG", "PDF_TO_PNG", "TXT_TO_PDF",
+            "JPG_TO_PDF", "PNG_TO_PDF", "JPG_TO_PNG", "PNG_TO_JPG", "DOCX_TO_TXT",
+            "XLSX_TO_CSV", "XLSX_TO_PDF", "PPTX_TO_PNG", "PPTX_TO_PDF"})
+    public ConversionType conversion;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public FixtureSize size;
+
+    private Path workDir;
+    private ThreadPoolTaskExecutor renderExecutor;
+    private FileConversionService conversionService;
+    private ConversionPlan plan;
+    private ConversionOptions options;
+    private File sourceFile;
+    private File outputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("conversor-jmh");
+
+        ConversionTestFixture fixture = new ConversionTestFixture(workDir);
+
+        // Mesmo pool de renderização da aplicação, uma thread por núcleo
+        renderExecutor = new AsyncConfig().renderExecutor(0);
+        renderExecutor.initialize();
+
+        ConversionMetrics metrics = fixture.getMetrics();
+        ParallelPageRenderer pageRenderer = new ParallelPageRenderer(renderExecutor);
+        PdfDocumentLoader pdfLoader = new PdfDocumentLoader(DataSize.ofMegabytes(64), "");
+        ImageTranscoder imageTranscoder = new ImageTranscoder(40_000_000L);
+        IntermediateStorage intermediateStorage = ConversionTestFixture.intermediateStorage();
+
+        ConverterRegistry registry = new ConverterRegistry(List.of(
+                new PdfToTextConverter(pdfLoader, metrics, pageRenderer, intermediateStorage),
+                new PdfToImageConverter(pdfLoader, metrics, pageRenderer, imageTranscoder),
+                new TextToPdfConverter(intermediateStorage),
+                new ImageToPdfConverter(pdfLoader),
+                new ImageToImageConverter(imageTranscoder),
+                new DocxToTextConverter(intermediateStorage),
+                new SpreadsheetConverter(renderExecutor),
+                new PptxConverter(pageRenderer, imageTranscoder, pdfLoader, 2.0f)));
+
+        ConversionPlanner planner = new ConversionPlanner(registry);
+
+        // Sem diário nem cache: só a conversão é medida. As threads do JMH são
+        // de plataforma: a conversão roda na própria thread medida
+        conversionService = fixture.conversionService(registry, new CpuTaskScheduler(renderExecutor));
+
+        options = ConversionOptions.defaults();
+        if (conversion.getSourceFormat() == FileFormat.PDF || conversion.getSourceFormat() == FileFormat.XLSX) {
+            // Todas as páginas (ou abas), para que o tamanho do documento pese na medição
+            options.setPages(ConversionOptions.ALL_PAGES);
+        }
+
+        sourceFile = generateSource(conversion.getSourceFormat()).toFile();
+        outputFile = workDir.resolve("output" + conversion.getTargetFormat().getExtension()).toFile();
+        plan = planner.plan(conversion.getSourceFormat(), conversion.getTargetFormat(), sourceFile.length());
+    }
+
+    @Benchmark
+    public long convert() throws IOException {
+        conversionService.performConversion(plan, sourceFile, options, outputFile, ConversionProgress.NONE);
+        return outputFile.length();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        renderExecutor.shutdown();
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    private Path generateSource(FileFormat format) throws IOException {
+        Path source = workDir.resolve("source" + format.getExtension());
+        switch (format) {
+            case PDF:
+                BenchmarkFixtures.writePdf(source, size);
+                break;
+            case TXT:
+                BenchmarkFixtures.writeText(source, size);
+                break;
+            case DOCX:
+                BenchmarkFixtures.writeDocx(source, size);
+                break;
+            case XLSX:
+                BenchmarkFixtures.writeXlsx(source, size);
+                break;
+            case PPTX:
+                BenchmarkFixtures.writePptx(source, size);
+                break;
+            case JPG:
+                BenchmarkFixtures.writeImage(source, "jpg", size);
+                break;
+            case PNG:
+                BenchmarkFixtures.writeImage(source, "png", size);
+                break;
+            default:
+                throw new IllegalArgumentException("Formato sem gerador de entrada: " + format);
+        }
+        return source;
+    }
+}
@@ -0,0 +1,134 @@
+package com.conversor.service;
+
+import com.conversor.config.AsyncConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark do modelo de threads das requisições.
+ *
+ * Cada operação atende uma leva de conexões simultâneas: cada requisição
+ * espera o upload de um cliente lento, executa um trabalho curto de CPU pelo
+ * {@link CpuTaskScheduler} e espera o download. Com um pool de 200 threads de
+ * plataforma (o máximo padrão do Tomcat), as conexões além de 200 esperam na
+ * fila por uma thread livre, e o tempo da leva cresce com o número de
+ * conexões; com uma thread virtual por requisição, as esperas se sobrepõem, e
+ * o tempo fica limitado pelo pool de CPU.
+ *
+ * Execução: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="RequestThreadingBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class RequestThreadingBenchmark {
+
+    /** Máximo padrão de threads do Tomcat sem threads virtuais. */
+    private static final int PLATFORM_THREADS = 200;
+
+    /** Espera de I/O do cliente lento em cada sentido. */
+    private static final long CLIENT_IO_MILLIS = 20;
+
+    /** Dados processados pelo trabalho de CPU de cada requisição. */
+    private static final int CPU_WORK_BYTES = 64 * 1024;
+
+    /**
+     * Modelo de threads das requisições.
+     */
+    public enum Threading {
+        /** Pool fixo de threads de plataforma, como o Tomcat sem threads virtuais. */
+        PLATFORM,
+        /** Uma thread virtual por requisição. */
+        VIRTUAL
+    }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public Threading threading;
+
+    @Param({"200", "2000"})
+    public int connections;
+
+    private ExecutorService requestExecutor;
+    private ThreadPoolTaskExecutor cpuExecutor;
+    private CpuTaskScheduler cpuTaskScheduler;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestExecutor = threading == Threading.PLATFORM
+                ? Executors.newFixedThreadPool(PLATFORM_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+
+        // Mesmo pool de CPU da aplicação, uma thread por núcleo
+        cpuExecutor = new AsyncConfig().cpuExecutor(0);
+        cpuExecutor.initialize();
+        cpuTaskScheduler = new CpuTaskScheduler(cpuExecutor);
+
+        payload = new byte[CPU_WORK_BYTES];
+        ThreadLocalRandom.current().nextBytes(payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        cpuExecutor.shutdown();
+    }
+
+    @Benchmark
+    public long serveConnections() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(connections);
+        AtomicLong checksum = new AtomicLong();
+
+        for (int i = 0; i < connections; i++) {
+            requestExecutor.execute(() -> {
+                try {
+                    Thread.sleep(CLIENT_IO_MILLIS);
+                    checksum.addAndGet(cpuTaskScheduler.call(this::digestPayload));
+                    Thread.sleep(CLIENT_IO_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        return checksum.get();
+    }
+
+    private long digestPayload() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload);
+            return digest[0];
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
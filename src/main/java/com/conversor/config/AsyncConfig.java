@@ -0,0 +1,134 @@
+package com.conversor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuração da execução assíncrona de conversões.
+ *
+ * Define o pool de workers que processa as conversões enfileiradas,
+ * liberando as threads do Tomcat logo após o upload, além dos pools de
+ * renderização, de CPU das conversões síncronas e de conversões em lote.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Pool limitado de workers de conversão com fila de tamanho configurável.
+     *
+     * Quando a fila está cheia, novas submissões são rejeitadas em vez de
+     * acumular trabalho sem limite.
+     *
+     * @param corePoolSize  Número de workers mantidos ativos
+     * @param maxPoolSize   Número máximo de workers
+     * @param queueCapacity Capacidade da fila de conversões pendentes
+     * @return Executor de conversões
+     */
+    @Bean(name = "conversionExecutor")
+    public ThreadPoolTaskExecutor conversionExecutor(
+            @Value("${conversion.async.core-pool-size:2}") int corePoolSize,
+            @Value("${conversion.async.max-pool-size:4}") int maxPoolSize,
+            @Value("${conversion.async.queue-capacity:100}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("conversion-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Pool de renderização de páginas, com uma thread por núcleo.
+     *
+     * Compartilhado por todas as conversões, limita o total de páginas sendo
+     * renderizadas ao mesmo tempo ao número de núcleos disponíveis.
+     *
+     * @param parallelism Número de threads (0 usa o número de núcleos)
+     * @return Executor de renderização
+     */
+    @Bean(name = "renderExecutor")
+    public ThreadPoolTaskExecutor renderExecutor(
+            @Value("${conversion.render.parallelism:0}") int parallelism) {
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("render-");
+        return executor;
+    }
+
+    /**
+     * Pool de CPU das conversões síncronas, com uma thread por núcleo.
+     *
+     * Com threads virtuais nas requisições, as conversões síncronas são
+     * executadas aqui pelo {@link com.conversor.service.CpuTaskScheduler}, de
+     * modo que o trabalho de CPU não ocupa as threads que carregam as threads
+     * virtuais, livres para o I/O de uploads e downloads.
+     *
+     * @param parallelism Número de threads (0 usa o número de núcleos)
+     * @return Executor de CPU
+     */
+    @Bean(name = "cpuExecutor")
+    public ThreadPoolTaskExecutor cpuExecutor(
+            @Value("${conversion.cpu.parallelism:0}") int parallelism) {
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("cpu-");
+        return executor;
+    }
+
+    /**
+     * Pool das conversões em lote.
+     *
+     * Cada lote mantém no máximo uma conversão por thread em andamento, de
+     * modo que a fila cresce apenas com o número de lotes simultâneos.
+     *
+     * @param parallelism Número de threads (0 usa o número de núcleos)
+     * @return Executor de conversões em lote
+     */
+    @Bean(name = "batchExecutor")
+    public ThreadPoolTaskExecutor batchExecutor(
+            @Value("${conversion.batch.parallelism:0}") int parallelism) {
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("batch-");
+        return executor;
+    }
+
+    /**
+     * Pool das respostas assíncronas do Spring MVC, como os ZIPs das
+     * conversões em lote.
+     *
+     * Com o nome {@code applicationTaskExecutor}, é usado pelo Spring Boot no
+     * lugar do executor padrão, que não é criado quando já existem outros
+     * executores na aplicação.
+     *
+     * @param maxConcurrent Número máximo de respostas sendo escritas ao mesmo tempo
+     * @return Executor das respostas assíncronas
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${conversion.batch.max-concurrent:4}") int maxConcurrent) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+}
@@ -0,0 +1,15 @@
+package com.conversor.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração das tarefas periódicas da aplicação.
+ *
+ * Habilita os métodos anotados com {@code @Scheduled}, como a limpeza do
+ * armazenamento, executados pelo agendador do Spring Boot.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,20 +2,41 @@ package com.conversor.controller;
 
 import com.conversor.dto.ConversionRequest;
 import com.conversor.dto.ConversionResponse;
+import com.conversor.exception.ConversionRejectedException;
+import com.conversor.exception.ConversionThrottledException;
 import com.conversor.exception.FileConversionException;
 import com.conversor.model.ConvertedFile;
 import com.conversor.model.FileFormat;
+import com.conversor.service.BatchConversionService;
+import com.conversor.service.ConversionProgressPublisher;
 import com.conversor.service.FileConversionService;
 import com.conversor.service.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Controller REST para operações de conversão de arquivos.
@@ -28,26 +49,47 @@ public class FileConversionController {
 
     private static final Logger logger = LoggerFactory.getLogger(FileConversionController.class);
 
+    // Atributos de requisição do sendfile do Tomcat
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /** Abaixo deste tamanho, copiar é mais barato que o sendfile (mesmo limite do Tomcat). */
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
     private final FileConversionService conversionService;
     private final FileStorageService storageService;
+    private final BatchConversionService batchService;
+    private final ConversionProgressPublisher progressPublisher;
 
     /**
      * Construtor do controller.
      *
      * @param conversionService Serviço de conversão
      * @param storageService    Serviço de armazenamento
+     * @param batchService      Serviço de conversões em lote
+     * @param progressPublisher Publicador do andamento das conversões
      */
     public FileConversionController(FileConversionService conversionService,
-                                    FileStorageService storageService) {
+                                    FileStorageService storageService,
+                                    BatchConversionService batchService,
+                                    ConversionProgressPublisher progressPublisher) {
         this.conversionService = conversionService;
         this.storageService = storageService;
+        this.batchService = batchService;
+        this.progressPublisher = progressPublisher;
     }
 
     /**
      * Endpoint para upload e conversão de arquivo.
      *
+     * No modo assíncrono ({@code async=true}) a conversão é enfileirada e a
+     * resposta 202 traz o ID a ser consultado em {@code /api/files/status/{fileId}}
+     * ou acompanhado em {@code /api/files/progress/{fileId}}.
+     *
      * @param file              Arquivo a ser convertido
-     * @param conversionRequest Dados da conversão (formato de destino)
+     * @param conversionRequest Dados da conversão (formato de destino e modo)
      * @return ResponseEntity com resultado da conversão
      */
     @PostMapping(value = "/convert", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -72,13 +114,35 @@ public class FileConversionController {
                         .body(ConversionResponse.error("Formato de destino inválido"));
             }
 
+            // Modo assíncrono: enfileira e retorna imediatamente
+            if (conversionRequest.isAsync()) {
+                ConvertedFile convertedFile = conversionService.submitConversion(
+                        file, targetFormat, conversionRequest.toConversionOptions());
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/files/status/" + convertedFile.getId()))
+                        .body(new ConversionResponse(convertedFile));
+            }
+
             // Realiza a conversão
-            ConvertedFile convertedFile = conversionService.convertFile(file, targetFormat);
+            ConvertedFile convertedFile = conversionService.convertFile(
+                    file, targetFormat, conversionRequest.toConversionOptions());
 
             // Retorna resposta de sucesso
             ConversionResponse response = new ConversionResponse(convertedFile);
             return ResponseEntity.ok(response);
 
+        } catch (ConversionThrottledException ex) {
+            logger.warn("Conversão recusada pelo limite do tipo: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(ConversionResponse.error(ex.getMessage()));
+
+        } catch (ConversionRejectedException ex) {
+            logger.warn("Conversão rejeitada: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(ConversionResponse.error(ex.getMessage()));
+
         } catch (FileConversionException ex) {
             logger.error("Erro na conversão: {}", ex.getMessage());
             return ResponseEntity.badRequest()
@@ -91,14 +155,58 @@ public class FileConversionController {
         }
     }
 
+    /**
+     * Endpoint para conversão de vários arquivos em uma única requisição.
+     *
+     * Os arquivos são convertidos em paralelo e a resposta é um ZIP escrito
+     * conforme cada conversão termina, com um {@code manifest.json} ao final
+     * listando o resultado (ou o erro) de cada arquivo.
+     *
+     * @param files             Arquivos a serem convertidos
+     * @param targetFormats     Formato de destino de cada arquivo, na mesma ordem (opcional)
+     * @param conversionRequest Formato de destino padrão e opções da conversão
+     * @return ResponseEntity com o ZIP dos resultados
+     */
+    @PostMapping(value = "/convert/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> convertBatch(
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "targetFormats", required = false) List<String> targetFormats,
+            @Valid @ModelAttribute ConversionRequest conversionRequest) {
+
+        logger.info("Recebida requisição de conversão em lote: {} arquivos", files.length);
+
+        // Erros de validação do lote são tratados pelo GlobalExceptionHandler (400)
+        FileFormat defaultFormat = conversionRequest.getTargetFormatEnum();
+        if (defaultFormat == null) {
+            throw new FileConversionException("Formato de destino inválido");
+        }
+
+        BatchConversionService.BatchJob job = batchService.prepare(
+                files, defaultFormat, targetFormats, conversionRequest.toConversionOptions());
+
+        StreamingResponseBody body = output -> batchService.writeZip(job, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"conversoes.zip\"")
+                .body(body);
+    }
+
     /**
      * Endpoint para download do arquivo convertido.
      *
-     * @param fileId ID do arquivo convertido
-     * @return ResponseEntity com o arquivo para download
+     * Responde com ETag forte (hash do conteúdo) e Last-Modified, devolve 304
+     * para requisições condicionais cujo arquivo não mudou e atende a um
+     * intervalo de bytes (Range) com 206, permitindo retomar downloads ou
+     * baixar partes em paralelo. Quando o Tomcat oferece sendfile, o conteúdo
+     * é enviado pelo próprio conector, sem passar pela aplicação.
+     *
+     * @param fileId     ID do arquivo convertido
+     * @param webRequest Requisição e resposta HTTP
+     * @return ResponseEntity de erro, ou null quando o arquivo já foi enviado
      */
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileId) {
+    public ResponseEntity<Void> downloadFile(@PathVariable String fileId, ServletWebRequest webRequest) {
         logger.info("Recebida requisição de download para arquivo: {}", fileId);
 
         try {
@@ -109,23 +217,153 @@ public class FileConversionController {
                 return ResponseEntity.notFound().build();
             }
 
-            // Carrega o arquivo como Resource
+            // Conversões assíncronas ainda em andamento (ou que falharam) não têm arquivo
+            if (convertedFile.getStatus() != ConvertedFile.ConversionStatus.COMPLETED) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+
+            // Carrega o arquivo
             Resource resource = storageService.loadFileAsResource(
                     convertedFile.getConvertedFilename(), true);
+            Path filePath = resource.getFile().toPath();
+            storageService.markAccessed(filePath);
 
-            // Define o tipo de conteúdo
-            String contentType = convertedFile.getTargetFormat().getMimeType();
+            // ETag e Last-Modified; o hash do conteúdo é calculado no primeiro download
+            String etag = "\"" + contentHash(convertedFile, filePath) + "\"";
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
 
-            // Retorna o arquivo com headers apropriados
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + convertedFile.getConvertedFilename() + "\"")
-                    .body(resource);
+            // Responde 304 (ou 412) às requisições condicionais
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return null;
+            }
 
-        } catch (Exception ex) {
+            // Define o tipo de conteúdo (ZIP quando o resultado tem várias páginas)
+            String contentType = convertedFile.isArchive()
+                    ? "application/zip"
+                    : convertedFile.getTargetFormat().getMimeType();
+
+            HttpServletResponse response = webRequest.getResponse();
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"" + convertedFile.getConvertedFilename() + "\"");
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+
+            sendFile(webRequest.getRequest(), response, filePath, etag, lastModified);
+            return null;
+
+        } catch (IOException ex) {
+            // Com o corpo já iniciado, o erro mais comum é o cliente ter desistido do download
+            if (webRequest.getResponse().isCommitted()) {
+                logger.debug("Download de {} interrompido: {}", fileId, ex.getMessage());
+                return null;
+            }
             logger.error("Erro ao fazer download do arquivo", ex);
             return ResponseEntity.internalServerError().build();
+
+        } catch (Exception ex) {
+            logger.error("Erro ao fazer download do arquivo", ex);
+            // Com a resposta já enviada, não há como trocar o status
+            return webRequest.getResponse().isCommitted() ? null : ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Obtém o hash do conteúdo do arquivo convertido, calculando-o uma única vez.
+     */
+    private String contentHash(ConvertedFile convertedFile, Path filePath) {
+        String hash = convertedFile.getConvertedContentHash();
+        if (hash == null) {
+            hash = storageService.hashFile(filePath);
+            convertedFile.setConvertedContentHash(hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Envia o arquivo inteiro ou o intervalo pedido no header Range.
+     *
+     * Apenas um intervalo é atendido; pedidos com vários intervalos, ou com
+     * If-Range que não corresponde ao arquivo atual, recebem o arquivo inteiro.
+     */
+    private void sendFile(HttpServletRequest request, HttpServletResponse response, Path filePath,
+                          String etag, long lastModified) throws IOException {
+        long length = Files.size(filePath);
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of();
+            }
+
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException ex) {
+                    start = length;
+                }
+
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        // Com sendfile, o Tomcat envia o arquivo após o retorno do controller
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR)) && count >= SENDFILE_MIN_SIZE) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            logger.debug("Enviando {} bytes de {} via sendfile", count, filePath.getFileName());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, output);
+            }
+        }
+    }
+
+    /**
+     * Verifica o header If-Range: o intervalo só vale se o ETag (ou a data)
+     * informado corresponder ao arquivo atual.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
         }
     }
 
@@ -149,6 +387,30 @@ public class FileConversionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint para acompanhar uma conversão por Server-Sent Events.
+     *
+     * Substitui consultas repetidas ao status: o fluxo envia o status atual,
+     * cada mudança de status (eventos {@code status}) e o andamento das
+     * páginas (eventos {@code progress}), e é encerrado quando a conversão
+     * termina.
+     *
+     * @param fileId ID do arquivo
+     * @return ResponseEntity com o fluxo de eventos
+     */
+    @GetMapping(value = "/progress/{fileId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamConversionProgress(@PathVariable String fileId) {
+        logger.debug("Acompanhando conversão: {}", fileId);
+
+        ConvertedFile convertedFile = conversionService.getConvertedFile(fileId);
+
+        if (convertedFile == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(progressPublisher.subscribe(convertedFile));
+    }
+
     /**
      * Endpoint para listar formatos suportados.
      *
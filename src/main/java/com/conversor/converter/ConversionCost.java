@@ -0,0 +1,56 @@
+package com.conversor.converter;
+
+import java.util.Locale;
+
+/**
+ * Estimativa de custo de uma conversão, em milissegundos.
+ *
+ * Composta por um custo fixo (abertura do documento, inicialização dos
+ * codificadores) e um custo proporcional ao tamanho da entrada. Os valores
+ * são ordens de grandeza medidas com os benchmarks do perfil {@code jmh} e
+ * servem para comparar motores e caminhos, não para prever tempos exatos.
+ */
+public final class ConversionCost {
+
+    private final double fixedMillis;
+    private final double millisPerMegabyte;
+
+    private ConversionCost(double fixedMillis, double millisPerMegabyte) {
+        this.fixedMillis = fixedMillis;
+        this.millisPerMegabyte = millisPerMegabyte;
+    }
+
+    /**
+     * Cria uma estimativa de custo.
+     *
+     * @param fixedMillis       Custo fixo, em milissegundos
+     * @param millisPerMegabyte Custo por megabyte de entrada, em milissegundos
+     * @return ConversionCost correspondente
+     */
+    public static ConversionCost of(double fixedMillis, double millisPerMegabyte) {
+        return new ConversionCost(fixedMillis, millisPerMegabyte);
+    }
+
+    /**
+     * Estima o tempo de conversão de uma entrada.
+     *
+     * @param inputBytes Tamanho da entrada
+     * @return Tempo estimado, em milissegundos
+     */
+    public double estimateMillis(long inputBytes) {
+        return fixedMillis + millisPerMegabyte * inputBytes / (1024.0 * 1024.0);
+    }
+
+    public double getFixedMillis() {
+        return fixedMillis;
+    }
+
+    public double getMillisPerMegabyte() {
+        return millisPerMegabyte;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.0f ms + %.0f ms/MB", fixedMillis, millisPerMegabyte);
+    }
+}
@@ -0,0 +1,197 @@
+package com.conversor.converter;
+
+import com.conversor.model.FileFormat;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * Entrada de uma etapa de conversão: o arquivo enviado ou o documento
+ * intermediário produzido em memória pela etapa anterior.
+ *
+ * Documentos intermediários ficam em memória sempre que possível: um PDF
+ * gerado pelo PDFBox é repassado como PDDocument, e os demais resultados
+ * como bytes, ou em arquivo temporário quando passam do limite de memória.
+ * A entrada é dona do documento intermediário e o libera em
+ * {@link #close()}.
+ */
+public final class ConversionInput implements Closeable {
+
+    /** Tamanho estimado por página de um PDF em memória, para estimar custos. */
+    private static final long PDF_PAGE_SIZE_ESTIMATE = 64 * 1024;
+
+    private final FileFormat format;
+    private final File file;
+    private final byte[] bytes;
+    private final PDDocument pdfDocument;
+    private final boolean temporaryFile;
+    private String metricsType;
+
+    private ConversionInput(FileFormat format, File file, byte[] bytes, PDDocument pdfDocument,
+                            boolean temporaryFile) {
+        this.format = format;
+        this.file = file;
+        this.bytes = bytes;
+        this.pdfDocument = pdfDocument;
+        this.temporaryFile = temporaryFile;
+    }
+
+    /**
+     * Cria uma entrada a partir de um arquivo.
+     *
+     * @param file   Arquivo
+     * @param format Formato do arquivo
+     * @return ConversionInput correspondente
+     */
+    public static ConversionInput ofFile(File file, FileFormat format) {
+        return new ConversionInput(format, file, null, null, false);
+    }
+
+    /**
+     * Cria uma entrada a partir de um documento intermediário gravado em
+     * arquivo temporário, que passa a pertencer à entrada e é removido em
+     * {@link #close()}.
+     *
+     * @param file   Arquivo temporário
+     * @param format Formato do documento
+     * @return ConversionInput correspondente
+     */
+    public static ConversionInput ofTemporaryFile(File file, FileFormat format) {
+        return new ConversionInput(format, file, null, null, true);
+    }
+
+    /**
+     * Cria uma entrada a partir de um documento codificado em memória.
+     *
+     * @param bytes  Conteúdo do documento
+     * @param format Formato do documento
+     * @return ConversionInput correspondente
+     */
+    public static ConversionInput ofBytes(byte[] bytes, FileFormat format) {
+        return new ConversionInput(format, null, bytes, null, false);
+    }
+
+    /**
+     * Cria uma entrada a partir de um PDF aberto em memória, que passa a
+     * pertencer à entrada.
+     *
+     * @param document Documento PDF
+     * @return ConversionInput correspondente
+     */
+    public static ConversionInput ofPdf(PDDocument document) {
+        return new ConversionInput(FileFormat.PDF, null, null, document, false);
+    }
+
+    public FileFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Arquivo da entrada.
+     *
+     * @return Arquivo, ou null se a entrada estiver em memória
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Conteúdo codificado da entrada em memória.
+     *
+     * @return Bytes do documento, ou null se a entrada não for um documento codificado
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * PDF aberto em memória.
+     *
+     * @return Documento, ou null se a entrada não for um PDF aberto
+     */
+    public PDDocument getPdfDocument() {
+        return pdfDocument;
+    }
+
+    /**
+     * Tipo de ponta a ponta da conversão a que a entrada pertence, usado
+     * nas métricas das etapas: uma etapa intermediária é registrada com o
+     * mesmo tipo das demais etapas da conversão.
+     *
+     * @return Tipo para as métricas, ou null se a entrada não vier de um plano
+     */
+    String getMetricsType() {
+        return metricsType;
+    }
+
+    void setMetricsType(String metricsType) {
+        this.metricsType = metricsType;
+    }
+
+    /**
+     * Indica se a entrada é um documento intermediário em memória.
+     *
+     * @return true se não houver arquivo
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Tamanho da entrada, estimado pelo número de páginas para PDFs abertos.
+     *
+     * @return Tamanho em bytes
+     */
+    public long length() {
+        if (file != null) {
+            return file.length();
+        }
+        if (bytes != null) {
+            return bytes.length;
+        }
+        return pdfDocument.getNumberOfPages() * PDF_PAGE_SIZE_ESTIMATE;
+    }
+
+    /**
+     * Abre o conteúdo codificado da entrada.
+     *
+     * @return Stream do arquivo ou dos bytes em memória
+     * @throws IOException           se o arquivo não puder ser aberto
+     * @throws IllegalStateException se a entrada for um PDF aberto
+     */
+    public InputStream openStream() throws IOException {
+        if (file != null) {
+            return new FileInputStream(file);
+        }
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        throw new IllegalStateException("Entrada em memória sem conteúdo codificado");
+    }
+
+    /**
+     * Fecha o PDF em memória ou remove o arquivo temporário, se houver.
+     *
+     * @throws IOException se houver erro ao fechar o documento ou remover o arquivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (pdfDocument != null && !pdfDocument.getDocument().isClosed()) {
+            pdfDocument.close();
+        }
+        if (temporaryFile) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file != null ? file.getName() : format + " em memória";
+    }
+}
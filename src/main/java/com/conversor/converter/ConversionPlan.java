@@ -0,0 +1,68 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Caminho de uma conversão: a sequência de tipos de conversão do formato
+ * de origem ao de destino, com o custo estimado.
+ *
+ * Conversões diretas têm uma única etapa; nas encadeadas, o resultado de
+ * cada etapa passa em memória para a seguinte.
+ */
+public final class ConversionPlan {
+
+    private final List<ConversionType> steps;
+    private final double estimatedMillis;
+
+    ConversionPlan(List<ConversionType> steps, double estimatedMillis) {
+        this.steps = List.copyOf(steps);
+        this.estimatedMillis = estimatedMillis;
+    }
+
+    public List<ConversionType> getSteps() {
+        return steps;
+    }
+
+    public double getEstimatedMillis() {
+        return estimatedMillis;
+    }
+
+    public FileFormat getSourceFormat() {
+        return steps.get(0).getSourceFormat();
+    }
+
+    public FileFormat getTargetFormat() {
+        return getLastStep().getTargetFormat();
+    }
+
+    /**
+     * Última etapa, que grava o resultado final.
+     *
+     * @return Tipo de conversão da última etapa
+     */
+    public ConversionType getLastStep() {
+        return steps.get(steps.size() - 1);
+    }
+
+    /**
+     * Indica se a conversão é feita em uma única etapa.
+     *
+     * @return true se não houver etapas intermediárias
+     */
+    public boolean isDirect() {
+        return steps.size() == 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder path = new StringBuilder(getSourceFormat().name());
+        for (ConversionType step : steps) {
+            path.append(" -> ").append(step.getTargetFormat().name());
+        }
+        return path.append(String.format(Locale.ROOT, " (~%.0f ms)", estimatedMillis)).toString();
+    }
+}
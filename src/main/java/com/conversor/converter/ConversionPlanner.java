@@ -0,0 +1,144 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Planejador de conversões sobre o grafo dos motores registrados.
+ *
+ * Os formatos são os vértices e os tipos de conversão com motor registrado
+ * são as arestas, com o custo estimado do motor como peso. Quando não há
+ * conversão direta, o caminho de menor custo é encontrado com Dijkstra
+ * (por exemplo, TXT → PDF → PNG). Uma aresta só pode ser intermediária se
+ * algum motor entregar o resultado em memória.
+ *
+ * Planos com destino textual não passam por imagens: a imagem não tem camada
+ * de texto, e o resultado seria vazio.
+ */
+@Component
+public class ConversionPlanner {
+
+    private static final FileFormat[] FORMATS = FileFormat.values();
+
+    private final ConverterRegistry converterRegistry;
+    private final boolean[][] reachable = new boolean[FORMATS.length][FORMATS.length];
+
+    /**
+     * Construtor do planejador.
+     *
+     * @param converterRegistry Registro dos motores de conversão
+     */
+    public ConversionPlanner(ConverterRegistry converterRegistry) {
+        this.converterRegistry = converterRegistry;
+
+        for (FileFormat source : FORMATS) {
+            for (FileFormat target : FORMATS) {
+                reachable[source.ordinal()][target.ordinal()] =
+                        source != target && plan(source, target, 0) != null;
+            }
+        }
+    }
+
+    /**
+     * Verifica se há caminho, direto ou encadeado, entre os formatos.
+     *
+     * @param source Formato de origem
+     * @param target Formato de destino
+     * @return true se a conversão é suportada
+     */
+    public boolean supports(FileFormat source, FileFormat target) {
+        return source != null && target != null && reachable[source.ordinal()][target.ordinal()];
+    }
+
+    /**
+     * Calcula o plano de menor custo estimado entre os formatos.
+     *
+     * O tamanho da entrada é usado para estimar o custo de todas as etapas.
+     *
+     * @param source     Formato de origem
+     * @param target     Formato de destino
+     * @param inputBytes Tamanho da entrada
+     * @return Plano de conversão, ou null se não houver caminho
+     */
+    public ConversionPlan plan(FileFormat source, FileFormat target, long inputBytes) {
+        if (source == null || target == null || source == target || !allowedInPath(source, target)) {
+            return null;
+        }
+
+        double[] distance = new double[FORMATS.length];
+        ConversionType[] via = new ConversionType[FORMATS.length];
+        boolean[] settled = new boolean[FORMATS.length];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source.ordinal()] = 0;
+
+        // Poucos vértices: a busca linear pelo menor é mais simples que uma fila de prioridade
+        while (true) {
+            int current = -1;
+            for (int i = 0; i < FORMATS.length; i++) {
+                if (!settled[i] && distance[i] != Double.POSITIVE_INFINITY
+                        && (current < 0 || distance[i] < distance[current])) {
+                    current = i;
+                }
+            }
+            if (current < 0 || FORMATS[current] == target) {
+                break;
+            }
+            settled[current] = true;
+
+            for (ConversionType type : converterRegistry.getSupportedTypes()) {
+                if (type.getSourceFormat().ordinal() != current) {
+                    continue;
+                }
+                FileFormat next = type.getTargetFormat();
+                boolean intermediate = next != target;
+                if (settled[next.ordinal()]
+                        || (intermediate && !allowedInPath(next, target))
+                        || (intermediate && !converterRegistry.supportsInMemoryOutput(type))) {
+                    continue;
+                }
+
+                double cost = distance[current] + converterRegistry.estimateMillis(type, inputBytes, intermediate);
+                if (cost < distance[next.ordinal()]) {
+                    distance[next.ordinal()] = cost;
+                    via[next.ordinal()] = type;
+                }
+            }
+        }
+
+        if (via[target.ordinal()] == null) {
+            return null;
+        }
+
+        List<ConversionType> steps = new ArrayList<>();
+        for (FileFormat format = target; format != source; format = via[format.ordinal()].getSourceFormat()) {
+            steps.add(via[format.ordinal()]);
+        }
+        Collections.reverse(steps);
+        return new ConversionPlan(steps, distance[target.ordinal()]);
+    }
+
+    /**
+     * Indica se o formato pode aparecer no caminho até o destino.
+     *
+     * @param format Formato de origem ou intermediário
+     * @param target Formato de destino
+     * @return false se o formato for uma imagem e o destino for texto
+     */
+    private static boolean allowedInPath(FileFormat format, FileFormat target) {
+        return !(isText(target) && isRaster(format));
+    }
+
+    private static boolean isText(FileFormat format) {
+        return format == FileFormat.TXT || format == FileFormat.CSV;
+    }
+
+    private static boolean isRaster(FileFormat format) {
+        return format == FileFormat.JPG || format == FileFormat.PNG;
+    }
+}
@@ -0,0 +1,51 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionType;
+
+/**
+ * Receptor do andamento de uma conversão, informado pelos motores.
+ *
+ * "Páginas" são as partes em que o motor divide o documento: páginas de
+ * PDF, slides ou abas. Motores que convertem o documento de uma vez não
+ * informam páginas; o fim da conversão é informado pelo serviço. Motores que
+ * só conhecem o total no fim (como o texto lido em fluxo) informam as páginas
+ * conforme as concluem e o total ao final.
+ *
+ * Os métodos podem ser chamados de várias threads ao mesmo tempo (workers
+ * de renderização) e devem retornar rápido, já que são chamados no meio da
+ * conversão.
+ */
+public interface ConversionProgress {
+
+    /** Receptor que descarta o andamento. */
+    ConversionProgress NONE = new ConversionProgress() {
+    };
+
+    /**
+     * Início de uma etapa do plano de conversão.
+     *
+     * @param step  Índice da etapa (a partir de zero)
+     * @param steps Número de etapas do plano
+     * @param type  Tipo de conversão da etapa
+     */
+    default void stepStarted(int step, int steps, ConversionType type) {
+    }
+
+    /**
+     * Número de páginas que a etapa atual vai processar, informado antes das
+     * páginas ou, se só for conhecido no fim, depois delas.
+     *
+     * @param pages Total de páginas
+     */
+    default void pagesPlanned(int pages) {
+    }
+
+    /**
+     * Páginas concluídas e bytes gravados na saída por elas.
+     *
+     * @param pages Páginas concluídas desde o último aviso
+     * @param bytes Bytes gravados na saída (0 se a saída não for medida por página)
+     */
+    default void pagesCompleted(int pages, long bytes) {
+    }
+}
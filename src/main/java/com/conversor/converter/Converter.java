@@ -0,0 +1,110 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Motor de conversão, registrado no {@link ConverterRegistry} para os tipos
+ * de conversão que implementa.
+ *
+ * Cada motor declara quantas conversões executa ao mesmo tempo e uma
+ * estimativa de custo por tipo, usada pelo registro para escolher entre
+ * motores que implementam o mesmo tipo de conversão e pelo planejador para
+ * escolher entre caminhos de conversão.
+ *
+ * Motores que sabem entregar o resultado em memória podem ser etapas
+ * intermediárias de conversões encadeadas; os demais só aparecem como
+ * última etapa.
+ *
+ * Motores que dividem o documento em páginas informam o andamento ao
+ * {@link ConversionProgress} recebido.
+ */
+public interface Converter {
+
+    /**
+     * Nome do motor, usado em logs.
+     *
+     * @return Nome do motor
+     */
+    String getName();
+
+    /**
+     * Tipos de conversão implementados pelo motor.
+     *
+     * @return Tipos de conversão suportados
+     */
+    Set<ConversionType> getSupportedTypes();
+
+    /**
+     * Número máximo de conversões executadas ao mesmo tempo por este motor.
+     *
+     * @return Limite de conversões simultâneas
+     */
+    int getMaxConcurrency();
+
+    /**
+     * Estimativa de custo de um tipo de conversão.
+     *
+     * @param type Tipo de conversão suportado pelo motor
+     * @return Custo estimado
+     */
+    ConversionCost getCost(ConversionType type);
+
+    /**
+     * Converte uma entrada, gravando o resultado em um arquivo.
+     *
+     * @param type       Tipo de conversão
+     * @param input      Entrada (arquivo ou documento intermediário)
+     * @param options    Opções da conversão
+     * @param outputFile Arquivo onde o resultado deve ser escrito
+     * @param progress   Receptor do andamento da conversão
+     * @throws IOException se houver erro na conversão
+     */
+    void convert(ConversionType type, ConversionInput input, ConversionOptions options, File outputFile,
+                 ConversionProgress progress) throws IOException;
+
+    /**
+     * Indica se o resultado gravado por {@link #convert} é um ZIP com um
+     * arquivo por parte do documento (páginas, abas), em vez de um único
+     * arquivo no formato de destino.
+     *
+     * @param type    Tipo de conversão suportado pelo motor
+     * @param options Opções da conversão
+     * @return true se o resultado for um ZIP
+     */
+    default boolean producesArchive(ConversionType type, ConversionOptions options) {
+        return false;
+    }
+
+    /**
+     * Indica se o motor entrega o resultado do tipo em memória, com
+     * {@link #convertInMemory}.
+     *
+     * @param type Tipo de conversão suportado pelo motor
+     * @return true se o motor pode ser etapa intermediária
+     */
+    default boolean supportsInMemoryOutput(ConversionType type) {
+        return false;
+    }
+
+    /**
+     * Converte uma entrada, entregando o resultado em memória para a
+     * próxima etapa de uma conversão encadeada.
+     *
+     * @param type    Tipo de conversão
+     * @param input   Entrada (arquivo ou documento intermediário)
+     * @param options  Opções da conversão
+     * @param progress Receptor do andamento da conversão
+     * @return Documento intermediário
+     * @throws IOException se houver erro na conversão
+     */
+    default ConversionInput convertInMemory(ConversionType type, ConversionInput input, ConversionOptions options,
+                                            ConversionProgress progress) throws IOException {
+        throw new UnsupportedOperationException(
+                "O motor " + getName() + " não entrega resultados em memória");
+    }
+}
@@ -0,0 +1,271 @@
+package com.conversor.converter;
+
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.ConversionMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Registro dos motores de conversão.
+ *
+ * Os motores são indexados por tipo de conversão em um EnumMap, e a matriz
+ * de formatos de origem × destino suportados é calculada uma única vez, na
+ * inicialização. Quando mais de um motor implementa o mesmo tipo, cada
+ * conversão usa o de menor custo estimado para o tamanho da entrada. O
+ * limite de conversões simultâneas de cada motor é aplicado aqui.
+ */
+@Component
+public class ConverterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConverterRegistry.class);
+
+    private static final FileFormat[] FORMATS = FileFormat.values();
+
+    private final Map<ConversionType, List<Converter>> convertersByType = new EnumMap<>(ConversionType.class);
+    private final Map<Converter, Semaphore> concurrencyLimits = new IdentityHashMap<>();
+    private final boolean[][] supportMatrix = new boolean[FORMATS.length][FORMATS.length];
+    private final Set<ConversionType> supportedTypes;
+
+    /**
+     * Construtor do registro, a partir dos motores disponíveis.
+     *
+     * @param converters Motores de conversão
+     */
+    public ConverterRegistry(List<Converter> converters) {
+        for (Converter converter : converters) {
+            if (converter.getMaxConcurrency() <= 0) {
+                throw new IllegalArgumentException(
+                        "Limite de conversões simultâneas inválido no motor " + converter.getName());
+            }
+            concurrencyLimits.put(converter, new Semaphore(converter.getMaxConcurrency(), true));
+
+            for (ConversionType type : converter.getSupportedTypes()) {
+                convertersByType.computeIfAbsent(type, t -> new ArrayList<>()).add(converter);
+                supportMatrix[type.getSourceFormat().ordinal()][type.getTargetFormat().ordinal()] = true;
+            }
+
+            logger.info("Motor de conversão {} registrado para {} (até {} simultâneas)",
+                    converter.getName(), converter.getSupportedTypes(), converter.getMaxConcurrency());
+        }
+
+        this.supportedTypes = convertersByType.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(convertersByType.keySet()));
+    }
+
+    /**
+     * Verifica se há motor para a conversão direta entre os formatos.
+     *
+     * Conversões encadeadas são verificadas pelo {@link ConversionPlanner}.
+     *
+     * @param source Formato de origem
+     * @param target Formato de destino
+     * @return true se a conversão é suportada
+     */
+    public boolean supports(FileFormat source, FileFormat target) {
+        return source != null && target != null && supportMatrix[source.ordinal()][target.ordinal()];
+    }
+
+    /**
+     * Tipos de conversão com pelo menos um motor registrado.
+     *
+     * @return Tipos de conversão suportados
+     */
+    public Set<ConversionType> getSupportedTypes() {
+        return supportedTypes;
+    }
+
+    /**
+     * Indica se algum motor entrega o resultado do tipo em memória.
+     *
+     * @param type Tipo de conversão
+     * @return true se o tipo pode ser etapa intermediária
+     */
+    public boolean supportsInMemoryOutput(ConversionType type) {
+        for (Converter converter : convertersByType.getOrDefault(type, List.of())) {
+            if (converter.supportsInMemoryOutput(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estima o custo de uma conversão com o motor que seria escolhido.
+     *
+     * @param type       Tipo de conversão
+     * @param inputBytes Tamanho da entrada
+     * @param inMemory   Se o resultado deve ser entregue em memória
+     * @return Custo estimado, em milissegundos
+     * @throws FileConversionException se não houver motor para o tipo
+     */
+    public double estimateMillis(ConversionType type, long inputBytes, boolean inMemory) {
+        return select(type, inputBytes, inMemory).getCost(type).estimateMillis(inputBytes);
+    }
+
+    /**
+     * Escolhe o motor de menor custo estimado para a conversão.
+     *
+     * @param type       Tipo de conversão
+     * @param inputBytes Tamanho da entrada
+     * @param inMemory   Se o resultado deve ser entregue em memória
+     * @return Motor escolhido
+     * @throws FileConversionException se não houver motor para o tipo
+     */
+    public Converter select(ConversionType type, long inputBytes, boolean inMemory) {
+        List<Converter> candidates = type == null ? null : convertersByType.get(type);
+        if (candidates == null) {
+            throw new FileConversionException("Conversão não implementada");
+        }
+
+        Converter selected = null;
+        double selectedCost = Double.MAX_VALUE;
+        for (Converter candidate : candidates) {
+            if (inMemory && !candidate.supportsInMemoryOutput(type)) {
+                continue;
+            }
+            double cost = candidate.getCost(type).estimateMillis(inputBytes);
+            if (selected == null || cost < selectedCost) {
+                selected = candidate;
+                selectedCost = cost;
+            }
+        }
+
+        if (selected == null) {
+            throw new FileConversionException("Conversão " + type + " não pode ser etapa intermediária");
+        }
+        return selected;
+    }
+
+    /**
+     * Indica se a conversão gera um ZIP, conforme o motor que seria escolhido.
+     *
+     * @param type       Tipo de conversão
+     * @param options    Opções da conversão
+     * @param inputBytes Tamanho da entrada
+     * @return true se o resultado for um ZIP
+     * @throws FileConversionException se não houver motor para o tipo
+     */
+    public boolean producesArchive(ConversionType type, ConversionOptions options, long inputBytes) {
+        return select(type, inputBytes, false).producesArchive(type, options);
+    }
+
+    /**
+     * Executa um plano de conversão.
+     *
+     * Cada etapa intermediária entrega o resultado em memória para a
+     * seguinte; apenas a última grava o arquivo de saída. O início de cada
+     * etapa é informado ao receptor do andamento, antes das páginas que o
+     * motor informar.
+     *
+     * @param plan       Plano de conversão
+     * @param sourceFile Arquivo de origem
+     * @param options    Opções da conversão, aplicadas a todas as etapas
+     * @param outputFile Arquivo onde o resultado deve ser escrito
+     * @param progress   Receptor do andamento da conversão
+     * @throws IOException             se houver erro na conversão
+     * @throws FileConversionException se não houver motor para alguma etapa
+     */
+    public void convert(ConversionPlan plan, File sourceFile, ConversionOptions options, File outputFile,
+                        ConversionProgress progress) throws IOException {
+        if (!plan.isDirect()) {
+            logger.debug("Conversão encadeada: {}", plan);
+        }
+
+        List<ConversionType> steps = plan.getSteps();
+        String metricsType = ConversionMetrics.typeOf(plan.getSourceFormat(), plan.getTargetFormat());
+        ConversionInput input = ConversionInput.ofFile(sourceFile, plan.getSourceFormat());
+        input.setMetricsType(metricsType);
+        try {
+            for (int i = 0; i < steps.size() - 1; i++) {
+                progress.stepStarted(i, steps.size(), steps.get(i));
+                ConversionInput next = convertInMemory(steps.get(i), input, options, progress);
+                input.close();
+                input = next;
+                input.setMetricsType(metricsType);
+            }
+            progress.stepStarted(steps.size() - 1, steps.size(), plan.getLastStep());
+            convert(plan.getLastStep(), input, options, outputFile, progress);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Converte uma entrada com o motor de menor custo para o tipo.
+     *
+     * Se o motor já estiver no seu limite de conversões simultâneas, aguarda
+     * a vez.
+     *
+     * @param type       Tipo de conversão
+     * @param input      Entrada (arquivo ou documento intermediário)
+     * @param options    Opções da conversão
+     * @param outputFile Arquivo onde o resultado deve ser escrito
+     * @param progress   Receptor do andamento da conversão
+     * @throws IOException             se houver erro na conversão
+     * @throws FileConversionException se não houver motor para o tipo
+     */
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File outputFile,
+                        ConversionProgress progress) throws IOException {
+        Converter converter = select(type, input.length(), false);
+        Semaphore limit = acquire(converter);
+        try {
+            logger.debug("Convertendo {} com o motor {}", type, converter.getName());
+            converter.convert(type, input, options, outputFile, progress);
+        } finally {
+            limit.release();
+        }
+    }
+
+    /**
+     * Converte uma entrada entregando o resultado em memória, com o motor
+     * de menor custo que suporte essa saída.
+     *
+     * @param type    Tipo de conversão
+     * @param input   Entrada (arquivo ou documento intermediário)
+     * @param options  Opções da conversão
+     * @param progress Receptor do andamento da conversão
+     * @return Documento intermediário
+     * @throws IOException             se houver erro na conversão
+     * @throws FileConversionException se nenhum motor entregar o tipo em memória
+     */
+    public ConversionInput convertInMemory(ConversionType type, ConversionInput input, ConversionOptions options,
+                                           ConversionProgress progress) throws IOException {
+        Converter converter = select(type, input.length(), true);
+        Semaphore limit = acquire(converter);
+        try {
+            logger.debug("Convertendo {} em memória com o motor {}", type, converter.getName());
+            return converter.convertInMemory(type, input, options, progress);
+        } finally {
+            limit.release();
+        }
+    }
+
+    private Semaphore acquire(Converter converter) throws InterruptedIOException {
+        Semaphore limit = concurrencyLimits.get(converter);
+        try {
+            limit.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Conversão interrompida");
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,296 @@
+package com.conversor.converter;
+
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.IntermediateStorage;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Motor de extração de texto de documentos Word (DOCX).
+ *
+ * O corpo do documento ({@code word/document.xml}) é lido com SAX, direto
+ * do ZIP, e o texto é gravado à medida que é lido: ao contrário do
+ * XWPFDocument, nenhuma árvore do documento é montada, e o consumo de
+ * memória não depende do tamanho do arquivo.
+ */
+@Component
+public class DocxToTextConverter implements Converter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocxToTextConverter.class);
+
+    private static final String WORDPROCESSING_NAMESPACE =
+            "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String STRICT_WORDPROCESSING_NAMESPACE =
+            "http://purl.oclc.org/ooxml/wordprocessingml/main";
+
+    private static final int TEXT_WRITE_BUFFER_SIZE = 65536;
+
+    private static final ConversionCost COST = ConversionCost.of(20, 60);
+
+    private final IntermediateStorage intermediateStorage;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param intermediateStorage Armazenamento do texto entregue a outra etapa
+     */
+    public DocxToTextConverter(IntermediateStorage intermediateStorage) {
+        this.intermediateStorage = intermediateStorage;
+    }
+
+    @Override
+    public String getName() {
+        return "ooxml-sax-text";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.DOCX_TO_TXT);
+    }
+
+    /**
+     * Memória constante por conversão: o limite é o número de núcleos.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        return COST;
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File textFile,
+                        ConversionProgress progress) throws IOException {
+        extractText(input, new FileOutputStream(textFile));
+    }
+
+    /**
+     * O texto extraído fica em memória para a próxima etapa (por exemplo,
+     * a geração de PDF), ou em arquivo temporário se passar do limite de
+     * memória.
+     */
+    @Override
+    public boolean supportsInMemoryOutput(ConversionType type) {
+        return true;
+    }
+
+    @Override
+    public ConversionInput convertInMemory(ConversionType type, ConversionInput input, ConversionOptions options,
+                                           ConversionProgress progress) throws IOException {
+        IntermediateStorage.Output output = intermediateStorage.newOutput(FileFormat.TXT);
+        try {
+            extractText(input, output);
+        } catch (IOException | RuntimeException ex) {
+            output.discard();
+            throw ex;
+        }
+        return output.toInput();
+    }
+
+    /**
+     * Extrai o texto do corpo do documento na saída informada, que é fechada
+     * ao final.
+     *
+     * @param input  Entrada DOCX
+     * @param output Saída do texto, em UTF-8
+     * @throws IOException             se houver erro de leitura ou escrita
+     * @throws FileConversionException se a entrada não for um DOCX válido
+     */
+    private void extractText(ConversionInput input, OutputStream output) throws IOException {
+        logger.debug("Convertendo DOCX para TXT");
+
+        long startTime = System.nanoTime();
+
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(output, StandardCharsets.UTF_8), TEXT_WRITE_BUFFER_SIZE)) {
+
+            OPCPackage pkg = openPackage(input);
+            try {
+                PackagePart documentPart = mainDocumentPart(pkg);
+                XMLReader reader = XMLHelper.newXMLReader();
+                reader.setContentHandler(new DocumentTextHandler(writer));
+
+                try (InputStream xml = documentPart.getInputStream()) {
+                    reader.parse(new InputSource(xml));
+                }
+            } finally {
+                // Somente leitura: revert() descarta o pacote sem tentar salvá-lo
+                pkg.revert();
+            }
+        } catch (SAXException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new FileConversionException("Arquivo DOCX inválido: " + ex.getMessage(), ex);
+        } catch (ParserConfigurationException | OpenXML4JException | UnsupportedFileFormatException ex) {
+            throw new FileConversionException("Arquivo DOCX inválido: " + ex.getMessage(), ex);
+        }
+
+        logger.debug("DOCX para TXT: {} bytes em {} ms",
+                input.length(), (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * Abre o pacote OOXML somente para leitura.
+     *
+     * Um arquivo é lido direto do ZIP, entrada por entrada; uma entrada em
+     * memória é lida do seu fluxo.
+     *
+     * @param input Entrada DOCX
+     * @return Pacote aberto
+     * @throws IOException          se houver erro de leitura
+     * @throws InvalidFormatException se a entrada não for um pacote OOXML
+     */
+    private static OPCPackage openPackage(ConversionInput input) throws IOException, InvalidFormatException {
+        if (input.getFile() != null) {
+            return OPCPackage.open(input.getFile(), PackageAccess.READ);
+        }
+        try (InputStream stream = input.openStream()) {
+            return OPCPackage.open(stream);
+        }
+    }
+
+    /**
+     * Localiza a parte com o corpo do documento pela relação oficial do pacote.
+     *
+     * @param pkg Pacote OOXML
+     * @return Parte do corpo do documento
+     * @throws InvalidFormatException se o pacote não tiver documento principal
+     */
+    private static PackagePart mainDocumentPart(OPCPackage pkg) throws InvalidFormatException {
+        PackageRelationshipCollection relationships =
+                pkg.getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT);
+        if (relationships.size() == 0) {
+            // Documentos Strict usam outro tipo de relação
+            relationships = pkg.getRelationshipsByType(PackageRelationshipTypes.STRICT_CORE_DOCUMENT);
+        }
+
+        PackagePart part = relationships.size() > 0 ? pkg.getPart(relationships.getRelationship(0)) : null;
+        if (part == null) {
+            throw new InvalidFormatException("documento principal não encontrado");
+        }
+        return part;
+    }
+
+    /**
+     * Handler SAX que grava o texto visível do documento: o conteúdo dos
+     * elementos {@code w:t}, com tabulações, quebras de linha e um fim de
+     * linha por parágrafo. Texto excluído em revisões ({@code w:delText}) e
+     * códigos de campo ({@code w:instrText}) não são gravados.
+     *
+     * Tabulações e quebras só contam dentro de um trecho ({@code w:r}): fora
+     * dele, {@code w:tab} é a definição de uma parada de tabulação nas
+     * propriedades do parágrafo ({@code w:pPr/w:tabs}).
+     */
+    static final class DocumentTextHandler extends DefaultHandler {
+
+        private final Writer writer;
+        private boolean inText;
+        private int runDepth;
+
+        DocumentTextHandler(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            if (!isWordprocessing(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "r":
+                    runDepth++;
+                    break;
+                case "t":
+                    inText = true;
+                    break;
+                case "tab":
+                    if (runDepth > 0) {
+                        write("\t");
+                    }
+                    break;
+                case "br":
+                case "cr":
+                    if (runDepth > 0) {
+                        write("\n");
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (!isWordprocessing(uri)) {
+                return;
+            }
+            if ("t".equals(localName)) {
+                inText = false;
+            } else if ("r".equals(localName)) {
+                runDepth--;
+            } else if ("p".equals(localName)) {
+                write("\n");
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (!inText) {
+                return;
+            }
+            try {
+                writer.write(ch, start, length);
+            } catch (IOException ex) {
+                throw new SAXException(ex);
+            }
+        }
+
+        private static boolean isWordprocessing(String uri) {
+            return WORDPROCESSING_NAMESPACE.equals(uri) || STRICT_WORDPROCESSING_NAMESPACE.equals(uri);
+        }
+
+        private void write(String text) throws SAXException {
+            try {
+                writer.write(text);
+            } catch (IOException ex) {
+                throw new SAXException(ex);
+            }
+        }
+    }
+}
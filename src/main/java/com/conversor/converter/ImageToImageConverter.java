@@ -0,0 +1,80 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.service.ImageTranscoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Motor de conversão entre formatos de imagem com o {@link ImageTranscoder}.
+ */
+@Component
+public class ImageToImageConverter implements Converter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageToImageConverter.class);
+
+    private static final ConversionCost COST = ConversionCost.of(10, 400);
+
+    private final ImageTranscoder imageTranscoder;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param imageTranscoder Motor de leitura e codificação de imagens
+     */
+    public ImageToImageConverter(ImageTranscoder imageTranscoder) {
+        this.imageTranscoder = imageTranscoder;
+    }
+
+    @Override
+    public String getName() {
+        return "imageio";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.JPG_TO_PNG, ConversionType.PNG_TO_JPG);
+    }
+
+    /**
+     * A imagem é decodificada inteira (até o limite de pixels do
+     * transcodificador): metade dos núcleos limita o pico de memória.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        return COST;
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File outputFile,
+                        ConversionProgress progress) throws IOException {
+        logger.debug("Convertendo imagem para {}", type.getTargetFormat());
+
+        String formatName = type == ConversionType.PNG_TO_JPG ? "jpg" : "png";
+
+        if (input.getFile() != null) {
+            imageTranscoder.transcode(input.getFile(), outputFile, formatName, options);
+            return;
+        }
+
+        BufferedImage image;
+        try (InputStream stream = input.openStream()) {
+            image = imageTranscoder.read(stream, options);
+        }
+        imageTranscoder.write(image, formatName, options, outputFile);
+    }
+}
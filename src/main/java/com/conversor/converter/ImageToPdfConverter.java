@@ -0,0 +1,132 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.service.PdfDocumentLoader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Motor de conversão de imagens para PDF com o PDFBox.
+ *
+ * JPEGs são embutidos no PDF como estão (filtro DCT), sem decodificar a
+ * imagem: as dimensões vêm dos metadados lidos pelo ImageReader. PNGs são
+ * decodificados uma única vez, e a página assume o tamanho da imagem
+ * embutida.
+ */
+@Component
+public class ImageToPdfConverter implements Converter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageToPdfConverter.class);
+
+    private static final ConversionCost JPG_COST = ConversionCost.of(5, 15);
+    private static final ConversionCost PNG_COST = ConversionCost.of(10, 300);
+
+    private final PdfDocumentLoader pdfLoader;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param pdfLoader Carregador de PDFs, que define a memória do documento gerado
+     */
+    public ImageToPdfConverter(PdfDocumentLoader pdfLoader) {
+        this.pdfLoader = pdfLoader;
+    }
+
+    @Override
+    public String getName() {
+        return "pdfbox-image";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.JPG_TO_PDF, ConversionType.PNG_TO_PDF);
+    }
+
+    /**
+     * JPEGs passam direto para o PDF e PNGs são decodificados uma vez, com
+     * memória limitada pelo carregador: o limite é o número de núcleos.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        return type == ConversionType.JPG_TO_PDF ? JPG_COST : PNG_COST;
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File pdfFile,
+                        ConversionProgress progress) throws IOException {
+        try (PDDocument document = createPdf(type, input)) {
+            document.save(pdfFile);
+        }
+    }
+
+    /**
+     * O PDF é entregue aberto, como PDDocument, sem ser codificado.
+     */
+    @Override
+    public boolean supportsInMemoryOutput(ConversionType type) {
+        return true;
+    }
+
+    @Override
+    public ConversionInput convertInMemory(ConversionType type, ConversionInput input, ConversionOptions options,
+                                           ConversionProgress progress) throws IOException {
+        return ConversionInput.ofPdf(createPdf(type, input));
+    }
+
+    /**
+     * Cria o PDF com a imagem em uma página do tamanho da imagem.
+     *
+     * @param type  Tipo de conversão
+     * @param input Entrada de imagem
+     * @return Documento aberto, a ser fechado pelo chamador
+     * @throws IOException se houver erro na conversão
+     */
+    private PDDocument createPdf(ConversionType type, ConversionInput input) throws IOException {
+        logger.debug("Convertendo imagem para PDF");
+
+        PDDocument document = pdfLoader.createDocument(input.length());
+        try {
+            PDImageXObject pdImage;
+            if (type == ConversionType.JPG_TO_PDF) {
+                try (InputStream stream = input.openStream()) {
+                    pdImage = JPEGFactory.createFromStream(document, stream);
+                }
+            } else if (input.getFile() != null) {
+                pdImage = PDImageXObject.createFromFileByContent(input.getFile(), document);
+            } else {
+                pdImage = PDImageXObject.createFromByteArray(document, input.getBytes(), input.toString());
+            }
+
+            PDPage page = new PDPage(new PDRectangle(pdImage.getWidth(), pdImage.getHeight()));
+            document.addPage(page);
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.drawImage(pdImage, 0, 0);
+            }
+            return document;
+
+        } catch (IOException | RuntimeException ex) {
+            document.close();
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.ConversionMetrics;
+import com.conversor.service.PdfDocumentLoader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Base dos motores que leem PDFs, abertos pelo carregador com memória
+ * limitada ou recebidos já abertos de uma etapa anterior.
+ */
+abstract class PdfSourceConverter implements Converter {
+
+    private final PdfDocumentLoader pdfLoader;
+    private final ConversionMetrics conversionMetrics;
+
+    PdfSourceConverter(PdfDocumentLoader pdfLoader, ConversionMetrics conversionMetrics) {
+        this.pdfLoader = pdfLoader;
+        this.conversionMetrics = conversionMetrics;
+    }
+
+    /**
+     * Abre o PDF de uma entrada, registrando o tempo de abertura.
+     *
+     * Um PDF já aberto em memória é devolvido como está; o documento deve
+     * ser liberado com {@link #release}, que não fecha o documento da entrada.
+     *
+     * @param input Entrada PDF
+     * @param type  Tipo da etapa, usado nas métricas quando a entrada não informa o tipo da conversão
+     * @return Documento carregado
+     * @throws IOException se a entrada não for um PDF válido
+     */
+    PDDocument openPdf(ConversionInput input, ConversionType type) throws IOException {
+        if (input.getPdfDocument() != null) {
+            return input.getPdfDocument();
+        }
+
+        long loadStart = System.nanoTime();
+        PDDocument document = input.getBytes() != null
+                ? pdfLoader.load(input.getBytes())
+                : pdfLoader.load(input.getFile());
+        String metricsType = input.getMetricsType() != null ? input.getMetricsType() : type.name();
+        conversionMetrics.recordStage(ConversionMetrics.Stage.LOAD, metricsType, loadStart);
+        return document;
+    }
+
+    /**
+     * Fecha um documento aberto com {@link #openPdf}, exceto se ele pertencer
+     * à entrada.
+     *
+     * @param input    Entrada de onde o documento foi aberto
+     * @param document Documento
+     * @throws IOException se houver erro ao fechar o documento
+     */
+    static void release(ConversionInput input, PDDocument document) throws IOException {
+        if (document != input.getPdfDocument()) {
+            document.close();
+        }
+    }
+
+    /**
+     * Prepara a entrada para workers paralelos, cada um com sua própria
+     * instância do documento.
+     *
+     * Um PDF aberto em memória não pode ser compartilhado entre threads; ele
+     * é codificado uma vez em memória para que cada worker o carregue.
+     *
+     * @param input Entrada PDF
+     * @return Entrada que pode ser aberta várias vezes
+     * @throws IOException se houver erro ao codificar o documento
+     */
+    static ConversionInput shareable(ConversionInput input) throws IOException {
+        if (input.getPdfDocument() == null) {
+            return input;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        input.getPdfDocument().save(output);
+        ConversionInput shared = ConversionInput.ofBytes(output.toByteArray(), FileFormat.PDF);
+        shared.setMetricsType(input.getMetricsType());
+        return shared;
+    }
+}
@@ -0,0 +1,281 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.service.ConversionMetrics;
+import com.conversor.service.ImageTranscoder;
+import com.conversor.service.ParallelPageRenderer;
+import com.conversor.service.PdfDocumentLoader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Motor de renderização de páginas PDF em imagens (JPG ou PNG) com o PDFBox.
+ *
+ * Sem seleção de páginas, ou com uma única página, gera uma imagem. Com
+ * várias páginas, gera um ZIP com uma imagem por página, renderizadas em
+ * paralelo.
+ */
+@Component
+public class PdfToImageConverter extends PdfSourceConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfToImageConverter.class);
+
+    /** Abaixo desta resolução as imagens embutidas podem ser subamostradas. */
+    private static final int SUBSAMPLING_DPI_THRESHOLD = 150;
+
+    private static final ConversionCost JPG_COST = ConversionCost.of(300, 2000);
+    private static final ConversionCost PNG_COST = ConversionCost.of(700, 4000);
+
+    private final ParallelPageRenderer pageRenderer;
+    private final ImageTranscoder imageTranscoder;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param pdfLoader         Carregador de PDFs com memória limitada
+     * @param conversionMetrics Métricas das conversões
+     * @param pageRenderer      Renderizador paralelo de páginas
+     * @param imageTranscoder   Codificador de imagens
+     */
+    public PdfToImageConverter(PdfDocumentLoader pdfLoader, ConversionMetrics conversionMetrics,
+                               ParallelPageRenderer pageRenderer, ImageTranscoder imageTranscoder) {
+        super(pdfLoader, conversionMetrics);
+        this.pageRenderer = pageRenderer;
+        this.imageTranscoder = imageTranscoder;
+    }
+
+    @Override
+    public String getName() {
+        return "pdfbox-render";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.PDF_TO_JPG, ConversionType.PDF_TO_PNG);
+    }
+
+    /**
+     * Cada página renderizada a 300 DPI ocupa dezenas de megabytes, e os ZIPs
+     * de páginas já ocupam o pool de renderização: metade dos núcleos basta
+     * para mantê-lo ocupado.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        return type == ConversionType.PDF_TO_JPG ? JPG_COST : PNG_COST;
+    }
+
+    /**
+     * Com uma seleção de várias páginas, gera um ZIP com uma imagem por página.
+     */
+    @Override
+    public boolean producesArchive(ConversionType type, ConversionOptions options) {
+        return options.isPageArchive();
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File imageFile,
+                        ConversionProgress progress) throws IOException {
+        String imageFormat = type == ConversionType.PDF_TO_JPG ? "jpg" : "png";
+        logger.debug("Convertendo PDF para {}", imageFormat.toUpperCase());
+
+        if (options.isPageArchive()) {
+            convertPagesToZip(type, input, imageFormat, options, imageFile, progress);
+            return;
+        }
+
+        PDDocument document = openPdf(input, type);
+        try {
+            PDFRenderer renderer = newRenderer(document, options);
+            int pageIndex = options.resolvePageIndexes(document.getNumberOfPages()).get(0);
+
+            progress.pagesPlanned(1);
+            BufferedImage image = renderPage(document, renderer, pageIndex, imageFormat, options);
+
+            imageTranscoder.write(image, imageFormat, options, imageFile);
+            progress.pagesCompleted(1, imageFile.length());
+        } finally {
+            release(input, document);
+        }
+    }
+
+    /**
+     * Converte as páginas selecionadas de um PDF em imagens dentro de um ZIP.
+     *
+     * As páginas são renderizadas em paralelo, cada worker com seu próprio
+     * PDDocument, e cada imagem é gravada no ZIP assim que codificada.
+     *
+     * @param type        Tipo de conversão
+     * @param input       Entrada PDF
+     * @param imageFormat Formato das imagens (jpg ou png)
+     * @param options     Opções da conversão (seleção de páginas)
+     * @param zipFile     Arquivo ZIP de saída
+     * @param progress    Receptor do andamento, avisado a cada página gravada
+     * @throws IOException se houver erro na conversão
+     */
+    private void convertPagesToZip(ConversionType type, ConversionInput input, String imageFormat,
+                                   ConversionOptions options, File zipFile, ConversionProgress progress)
+            throws IOException {
+
+        List<Integer> pageIndexes;
+        ConversionInput workerInput;
+        PDDocument document = openPdf(input, type);
+        try {
+            pageIndexes = options.resolvePageIndexes(document.getNumberOfPages());
+            workerInput = shareable(input);
+        } finally {
+            release(input, document);
+        }
+
+        logger.debug("Renderizando {} páginas em paralelo", pageIndexes.size());
+        progress.pagesPlanned(pageIndexes.size());
+
+        try (ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+            pageRenderer.render(
+                    pageIndexes,
+                    () -> new PdfPageWorker(openPdf(workerInput, type), imageTranscoder, imageFormat, options),
+                    (pageIndex, data) -> {
+                        writeStoredZipEntry(zip, String.format("page-%04d.%s", pageIndex + 1, imageFormat), data);
+                        progress.pagesCompleted(1, data.length);
+                    });
+        }
+    }
+
+    /**
+     * Cria o renderizador de um documento conforme as opções da conversão.
+     *
+     * Em resoluções baixas (pré-visualizações), as imagens embutidas podem ser
+     * subamostradas antes do desenho, o que reduz bastante o tempo de CPU.
+     *
+     * @param document Documento PDF
+     * @param options  Opções da conversão
+     * @return PDFRenderer configurado
+     */
+    private static PDFRenderer newRenderer(PDDocument document, ConversionOptions options) {
+        PDFRenderer renderer = new PDFRenderer(document);
+        renderer.setSubsamplingAllowed(options.getDpi() < SUBSAMPLING_DPI_THRESHOLD
+                || options.getMaxDimension() != null);
+        return renderer;
+    }
+
+    /**
+     * Renderiza uma página com a resolução, o modo de cor e o tamanho máximo
+     * definidos nas opções.
+     *
+     * @param document    Documento PDF
+     * @param renderer    Renderizador do documento
+     * @param pageIndex   Índice da página (a partir de zero)
+     * @param imageFormat Formato da imagem (jpg ou png)
+     * @param options     Opções da conversão
+     * @return Imagem renderizada
+     * @throws IOException se houver erro na renderização
+     */
+    private static BufferedImage renderPage(PDDocument document, PDFRenderer renderer, int pageIndex,
+                                            String imageFormat, ConversionOptions options) throws IOException {
+        PDPage page = document.getPage(pageIndex);
+        PDRectangle cropBox = page.getCropBox();
+        float scale = options.renderScale(cropBox.getWidth(), cropBox.getHeight());
+
+        return renderer.renderImage(pageIndex, scale, imageTypeFor(options, imageFormat));
+    }
+
+    /**
+     * Mapeia o modo de cor das opções para o tipo de imagem do PDFBox.
+     *
+     * O codificador JPEG não aceita imagens de 1 bit, por isso o modo
+     * preto e branco em JPG é renderizado em tons de cinza.
+     *
+     * @param options     Opções da conversão
+     * @param imageFormat Formato da imagem (jpg ou png)
+     * @return ImageType correspondente
+     */
+    private static ImageType imageTypeFor(ConversionOptions options, String imageFormat) {
+        switch (options.getColorMode()) {
+            case GRAY:
+                return ImageType.GRAY;
+            case BINARY:
+                return "jpg".equals(imageFormat) ? ImageType.GRAY : ImageType.BINARY;
+            default:
+                return ImageType.RGB;
+        }
+    }
+
+    /**
+     * Grava uma entrada sem compressão no ZIP, já que PNG e JPEG já são comprimidos.
+     *
+     * @param zip  ZIP de saída
+     * @param name Nome da entrada
+     * @param data Conteúdo da entrada
+     * @throws IOException se houver erro de escrita
+     */
+    private static void writeStoredZipEntry(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        entry.setCrc(crc.getValue());
+
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+    /**
+     * Worker de renderização de páginas PDF com seu próprio PDDocument.
+     */
+    private static final class PdfPageWorker implements ParallelPageRenderer.Worker {
+
+        private final PDDocument document;
+        private final PDFRenderer renderer;
+        private final ImageTranscoder imageTranscoder;
+        private final String imageFormat;
+        private final ConversionOptions options;
+
+        private PdfPageWorker(PDDocument document, ImageTranscoder imageTranscoder, String imageFormat,
+                              ConversionOptions options) {
+            this.document = document;
+            this.renderer = newRenderer(document, options);
+            this.imageTranscoder = imageTranscoder;
+            this.imageFormat = imageFormat;
+            this.options = options;
+        }
+
+        @Override
+        public byte[] render(int pageIndex) throws IOException {
+            BufferedImage image = renderPage(document, renderer, pageIndex, imageFormat, options);
+            return imageTranscoder.encode(image, imageFormat, options);
+        }
+
+        @Override
+        public void close() throws IOException {
+            document.close();
+        }
+    }
+}
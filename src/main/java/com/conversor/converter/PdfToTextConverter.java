@@ -0,0 +1,205 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.ConversionMetrics;
+import com.conversor.service.IntermediateStorage;
+import com.conversor.service.ParallelPageRenderer;
+import com.conversor.service.PdfDocumentLoader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Motor de extração de texto de PDFs com o PDFBox.
+ *
+ * O texto é escrito em UTF-8 conforme é extraído, sem montar o documento
+ * inteiro em memória. Documentos grandes são divididos em intervalos de
+ * páginas extraídos em paralelo e concatenados na ordem original.
+ */
+@Component
+public class PdfToTextConverter extends PdfSourceConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfToTextConverter.class);
+
+    /** A partir deste número de páginas, o texto é extraído em paralelo. */
+    private static final int PARALLEL_TEXT_MIN_PAGES = 64;
+
+    /** Páginas por intervalo na extração de texto em paralelo. */
+    private static final int TEXT_CHUNK_PAGES = 16;
+
+    private static final ConversionCost COST = ConversionCost.of(10, 150);
+
+    private final ParallelPageRenderer pageRenderer;
+    private final IntermediateStorage intermediateStorage;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param pdfLoader           Carregador de PDFs com memória limitada
+     * @param conversionMetrics   Métricas das conversões
+     * @param pageRenderer        Executor paralelo dos intervalos de páginas
+     * @param intermediateStorage Armazenamento do texto entregue a outra etapa
+     */
+    public PdfToTextConverter(PdfDocumentLoader pdfLoader, ConversionMetrics conversionMetrics,
+                              ParallelPageRenderer pageRenderer, IntermediateStorage intermediateStorage) {
+        super(pdfLoader, conversionMetrics);
+        this.pageRenderer = pageRenderer;
+        this.intermediateStorage = intermediateStorage;
+    }
+
+    @Override
+    public String getName() {
+        return "pdfbox-text";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.PDF_TO_TXT);
+    }
+
+    /**
+     * A extração é leve em memória; documentos grandes já usam o pool de
+     * renderização, limitado pelos núcleos.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        return COST;
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File txtFile,
+                        ConversionProgress progress) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(txtFile))) {
+            extractText(type, input, output, progress);
+        }
+    }
+
+    @Override
+    public boolean supportsInMemoryOutput(ConversionType type) {
+        return true;
+    }
+
+    @Override
+    public ConversionInput convertInMemory(ConversionType type, ConversionInput input, ConversionOptions options,
+                                           ConversionProgress progress) throws IOException {
+        IntermediateStorage.Output output = intermediateStorage.newOutput(FileFormat.TXT);
+        try (OutputStream buffered = new BufferedOutputStream(output)) {
+            extractText(type, input, buffered, progress);
+        } catch (IOException | RuntimeException ex) {
+            output.discard();
+            throw ex;
+        }
+        return output.toInput();
+    }
+
+    /**
+     * Extrai o texto de um PDF em UTF-8.
+     *
+     * @param type     Tipo de conversão
+     * @param input    Entrada PDF
+     * @param output   Saída do texto
+     * @param progress Receptor do andamento, avisado a cada página (ou intervalo) extraído
+     * @throws IOException se houver erro na extração
+     */
+    private void extractText(ConversionType type, ConversionInput input, OutputStream output,
+                             ConversionProgress progress) throws IOException {
+        logger.debug("Convertendo PDF para TXT");
+
+        int pageCount;
+        ConversionInput workerInput;
+        PDDocument document = openPdf(input, type);
+        try {
+            pageCount = document.getNumberOfPages();
+            progress.pagesPlanned(pageCount);
+
+            if (pageCount < PARALLEL_TEXT_MIN_PAGES) {
+                Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+                PDFTextStripper stripper = new PDFTextStripper();
+                for (int page = 1; page <= pageCount; page++) {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    stripper.writeText(document, writer);
+                    progress.pagesCompleted(1, 0);
+                }
+                writer.flush();
+                return;
+            }
+
+            workerInput = shareable(input);
+        } finally {
+            release(input, document);
+        }
+
+        int chunkCount = (pageCount + TEXT_CHUNK_PAGES - 1) / TEXT_CHUNK_PAGES;
+        List<Integer> chunkIndexes = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            chunkIndexes.add(i);
+        }
+
+        logger.debug("Extraindo texto de {} páginas em {} intervalos paralelos", pageCount, chunkCount);
+
+        pageRenderer.renderInOrder(
+                chunkIndexes,
+                () -> new PdfTextWorker(openPdf(workerInput, type), pageCount),
+                (chunkIndex, data) -> {
+                    output.write(data);
+                    int firstPage = chunkIndex * TEXT_CHUNK_PAGES;
+                    progress.pagesCompleted(Math.min(TEXT_CHUNK_PAGES, pageCount - firstPage), data.length);
+                });
+    }
+
+    /**
+     * Worker de extração de texto por intervalos de páginas, com seu próprio PDDocument.
+     */
+    private static final class PdfTextWorker implements ParallelPageRenderer.Worker {
+
+        private final PDDocument document;
+        private final PDFTextStripper stripper;
+        private final int pageCount;
+
+        private PdfTextWorker(PDDocument document, int pageCount) {
+            this.document = document;
+            this.stripper = new PDFTextStripper();
+            this.pageCount = pageCount;
+        }
+
+        @Override
+        public byte[] render(int chunkIndex) throws IOException {
+            int firstPage = chunkIndex * TEXT_CHUNK_PAGES + 1;
+            stripper.setStartPage(firstPage);
+            stripper.setEndPage(Math.min(firstPage + TEXT_CHUNK_PAGES - 1, pageCount));
+
+            StringWriter writer = new StringWriter();
+            stripper.writeText(document, writer);
+            return writer.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            document.close();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.conversor.converter;
+
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.service.ImageTranscoder;
+import com.conversor.service.ParallelPageRenderer;
+import com.conversor.service.PdfDocumentLoader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Motor de renderização de apresentações PPTX em imagens (JPG ou PNG) e PDF,
+ * com o {@link XMLSlideShow} do POI.
+ *
+ * Os slides são renderizados em paralelo no pool de renderização, cada
+ * worker com sua própria instância da apresentação (o renderizador do POI
+ * não é thread-safe). Nas imagens, sem seleção de páginas o resultado é um
+ * ZIP com todos os slides, gravados à medida que ficam prontos; com um único
+ * slide selecionado, uma imagem. No PDF, cada slide vira uma página do
+ * tamanho do slide com a imagem renderizada (sem camada de texto), na ordem
+ * da apresentação.
+ *
+ * A escala de renderização vem de {@code conversion.pptx.scale} (1 equivale
+ * a 72 DPI), limitada pelo tamanho máximo das opções.
+ */
+@Component
+public class PptxConverter implements Converter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PptxConverter.class);
+
+    private static final ConversionCost JPG_COST = ConversionCost.of(400, 1500);
+    private static final ConversionCost PNG_COST = ConversionCost.of(400, 2500);
+    private static final ConversionCost PDF_COST = ConversionCost.of(400, 1800);
+
+    private final ParallelPageRenderer pageRenderer;
+    private final ImageTranscoder imageTranscoder;
+    private final PdfDocumentLoader pdfLoader;
+    private final float scale;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param pageRenderer    Renderizador paralelo de páginas
+     * @param imageTranscoder Codificador de imagens
+     * @param pdfLoader       Carregador de PDFs, que define a memória do PDF gerado
+     * @param scale           Escala de renderização dos slides (1 equivale a 72 DPI)
+     */
+    public PptxConverter(ParallelPageRenderer pageRenderer, ImageTranscoder imageTranscoder,
+                         PdfDocumentLoader pdfLoader, @Value("${conversion.pptx.scale:2.0}") float scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("conversion.pptx.scale deve ser positivo: " + scale);
+        }
+        this.pageRenderer = pageRenderer;
+        this.imageTranscoder = imageTranscoder;
+        this.pdfLoader = pdfLoader;
+        this.scale = scale;
+    }
+
+    @Override
+    public String getName() {
+        return "poi-slideshow";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.PPTX_TO_JPG, ConversionType.PPTX_TO_PNG, ConversionType.PPTX_TO_PDF);
+    }
+
+    /**
+     * Cada conversão abre uma cópia da apresentação por worker e já ocupa o
+     * pool de renderização: metade dos núcleos basta para mantê-lo ocupado.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        switch (type) {
+            case PPTX_TO_JPG:
+                return JPG_COST;
+            case PPTX_TO_PNG:
+                return PNG_COST;
+            default:
+                return PDF_COST;
+        }
+    }
+
+    /**
+     * Em imagens, sem seleção de páginas ou com uma seleção de vários slides,
+     * gera um ZIP com uma imagem por slide.
+     */
+    @Override
+    public boolean producesArchive(ConversionType type, ConversionOptions options) {
+        return type != ConversionType.PPTX_TO_PDF && (options.getPages() == null || options.isPageArchive());
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File outputFile,
+                        ConversionProgress progress) throws IOException {
+        long startTime = System.nanoTime();
+        String imageFormat = type == ConversionType.PPTX_TO_PNG ? "png" : "jpg";
+
+        List<Integer> slideIndexes;
+        Dimension slideSize;
+        try (SlideWorker probe = new SlideWorker(input, imageFormat, options)) {
+            slideIndexes = selectSlides(probe.slides.size(), options);
+            slideSize = probe.slideShow.getPageSize();
+
+            // Um único slide em imagem é renderizado na thread chamadora
+            if (type != ConversionType.PPTX_TO_PDF && !producesArchive(type, options)) {
+                progress.pagesPlanned(1);
+                imageTranscoder.write(probe.draw(slideIndexes.get(0)), imageFormat, options, outputFile);
+                progress.pagesCompleted(1, outputFile.length());
+                logger.info("{}: 1 slide em {} ms", type, (System.nanoTime() - startTime) / 1_000_000);
+                return;
+            }
+        }
+
+        logger.debug("Renderizando {} slides de PPTX para {}", slideIndexes.size(), type.getTargetFormat());
+        progress.pagesPlanned(slideIndexes.size());
+
+        if (type == ConversionType.PPTX_TO_PDF) {
+            writePdf(input, slideIndexes, slideSize, options, outputFile, progress);
+        } else {
+            writeZip(input, slideIndexes, imageFormat, options, outputFile, progress);
+        }
+
+        logger.info("{}: {} slide(s) em {} ms", type,
+                slideIndexes.size(), (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * Resolve os slides a renderizar.
+     *
+     * Sem seleção de páginas, todos os slides; caso contrário, os slides
+     * selecionados, na ordem solicitada.
+     */
+    private static List<Integer> selectSlides(int slideCount, ConversionOptions options) {
+        if (slideCount == 0) {
+            throw new FileConversionException("A apresentação não tem slides");
+        }
+        if (options.getPages() == null) {
+            List<Integer> all = new ArrayList<>(slideCount);
+            for (int i = 0; i < slideCount; i++) {
+                all.add(i);
+            }
+            return all;
+        }
+        return options.resolvePageIndexes(slideCount);
+    }
+
+    /**
+     * Grava os slides em um ZIP, na ordem em que ficam prontos.
+     */
+    private void writeZip(ConversionInput input, List<Integer> slideIndexes, String imageFormat,
+                          ConversionOptions options, File zipFile, ConversionProgress progress)
+            throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+            pageRenderer.render(
+                    slideIndexes,
+                    () -> new SlideWorker(input, imageFormat, options),
+                    (slideIndex, data) -> {
+                        writeStoredZipEntry(zip, String.format("slide-%04d.%s", slideIndex + 1, imageFormat), data);
+                        progress.pagesCompleted(1, data.length);
+                    });
+        }
+    }
+
+    /**
+     * Monta o PDF com uma página por slide, em ordem.
+     *
+     * Os slides são codificados em JPEG pelos workers e embutidos como estão
+     * (filtro DCT), sem nova decodificação na thread chamadora. O PDF só é
+     * gravado no fim, então o andamento informa os bytes de cada imagem.
+     */
+    private void writePdf(ConversionInput input, List<Integer> slideIndexes, Dimension slideSize,
+                          ConversionOptions options, File pdfFile, ConversionProgress progress)
+            throws IOException {
+        // O tamanho do slide já está em pontos, a unidade do PDF
+        PDRectangle pageSize = new PDRectangle(slideSize.width, slideSize.height);
+
+        try (PDDocument document = pdfLoader.createDocument(input.length())) {
+            pageRenderer.renderInOrder(
+                    slideIndexes,
+                    () -> new SlideWorker(input, "jpg", options),
+                    (slideIndex, data) -> {
+                        PDImageXObject image = JPEGFactory.createFromByteArray(document, data);
+                        PDPage page = new PDPage(pageSize);
+                        document.addPage(page);
+                        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                            content.drawImage(image, 0, 0, pageSize.getWidth(), pageSize.getHeight());
+                        }
+                        progress.pagesCompleted(1, data.length);
+                    });
+            document.save(pdfFile);
+        }
+    }
+
+    /**
+     * Grava uma entrada sem compressão no ZIP, já que PNG e JPEG já são comprimidos.
+     */
+    private static void writeStoredZipEntry(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        entry.setCrc(crc.getValue());
+
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+    /**
+     * Abre o pacote da apresentação somente para leitura.
+     */
+    private static OPCPackage openPackage(ConversionInput input) throws IOException {
+        try {
+            if (input.getFile() != null) {
+                return OPCPackage.open(input.getFile(), PackageAccess.READ);
+            }
+            try (InputStream stream = input.openStream()) {
+                return OPCPackage.open(stream);
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException ex) {
+            throw new FileConversionException("Apresentação PPTX inválida: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Worker de renderização de slides com sua própria instância da apresentação.
+     */
+    private final class SlideWorker implements ParallelPageRenderer.Worker {
+
+        private final OPCPackage pkg;
+        private final XMLSlideShow slideShow;
+        private final List<XSLFSlide> slides;
+        private final String imageFormat;
+        private final ConversionOptions options;
+
+        private SlideWorker(ConversionInput input, String imageFormat, ConversionOptions options)
+                throws IOException {
+            this.pkg = openPackage(input);
+            try {
+                this.slideShow = new XMLSlideShow(pkg);
+            } catch (RuntimeException ex) {
+                // POIXMLException e afins, para partes inválidas da apresentação
+                pkg.revert();
+                throw new FileConversionException("Apresentação PPTX inválida: " + ex.getMessage(), ex);
+            }
+            this.slides = slideShow.getSlides();
+            this.imageFormat = imageFormat;
+            this.options = options;
+        }
+
+        @Override
+        public byte[] render(int slideIndex) throws IOException {
+            return imageTranscoder.encode(draw(slideIndex), imageFormat, options);
+        }
+
+        /**
+         * Desenha um slide sobre fundo branco na escala configurada.
+         */
+        private BufferedImage draw(int slideIndex) {
+            Dimension size = slideShow.getPageSize();
+            double slideScale = scale;
+            if (options.getMaxDimension() != null) {
+                slideScale = Math.min(slideScale, options.getMaxDimension() / (double) Math.max(size.width, size.height));
+            }
+            int width = Math.max(1, (int) Math.round(size.width * slideScale));
+            int height = Math.max(1, (int) Math.round(size.height * slideScale));
+
+            BufferedImage image = new BufferedImage(width, height, imageTypeFor(options, imageFormat));
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+
+                graphics.setPaint(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.scale(width / (double) size.width, height / (double) size.height);
+
+                slides.get(slideIndex).draw(graphics);
+            } finally {
+                graphics.dispose();
+            }
+            return image;
+        }
+
+        /**
+         * Fecha o pacote sem gravá-lo (foi aberto somente para leitura).
+         */
+        @Override
+        public void close() {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Mapeia o modo de cor das opções para o tipo de imagem do Java2D.
+     *
+     * O codificador JPEG não aceita imagens de 1 bit, por isso o modo
+     * preto e branco em JPG é renderizado em tons de cinza.
+     */
+    private static int imageTypeFor(ConversionOptions options, String imageFormat) {
+        switch (options.getColorMode()) {
+            case GRAY:
+                return BufferedImage.TYPE_BYTE_GRAY;
+            case BINARY:
+                return "jpg".equals(imageFormat) ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_BYTE_BINARY;
+            default:
+                return BufferedImage.TYPE_INT_RGB;
+        }
+    }
+}
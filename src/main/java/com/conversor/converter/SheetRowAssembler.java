@@ -0,0 +1,72 @@
+package com.conversor.converter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Monta as linhas de uma aba a partir das células, na ordem em que os
+ * leitores em fluxo as encontram (por linha e, dentro da linha, por coluna).
+ *
+ * Apenas a linha atual fica em memória; ela é entregue ao
+ * {@link SheetRowHandler} assim que a primeira célula da linha seguinte
+ * aparece. Linhas e células ausentes são preenchidas com valores vazios.
+ */
+final class SheetRowAssembler {
+
+    private final SheetRowHandler handler;
+    private final List<String> cells = new ArrayList<>();
+
+    /** Índice da linha atual, ou -1 antes da primeira célula. */
+    private int currentRow = -1;
+
+    SheetRowAssembler(SheetRowHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Acrescenta uma célula.
+     *
+     * @param rowIndex    Índice da linha (a partir de zero)
+     * @param columnIndex Índice da coluna (a partir de zero)
+     * @param value       Valor formatado
+     * @throws IOException se o handler falhar ao gravar a linha anterior
+     */
+    void cell(int rowIndex, int columnIndex, String value) throws IOException {
+        if (rowIndex != currentRow) {
+            if (currentRow >= 0) {
+                handler.row(cells);
+                cells.clear();
+            }
+            // Linhas ausentes entre a anterior e a atual
+            for (int gap = currentRow + 1; gap < rowIndex; gap++) {
+                handler.row(Collections.emptyList());
+            }
+            currentRow = rowIndex;
+        }
+
+        while (cells.size() < columnIndex) {
+            cells.add("");
+        }
+        if (columnIndex < cells.size()) {
+            // Célula repetida (arquivo malformado): prevalece a última
+            cells.set(columnIndex, value);
+        } else {
+            cells.add(value);
+        }
+    }
+
+    /**
+     * Entrega a última linha, se houver.
+     *
+     * @throws IOException se o handler falhar ao gravar a linha
+     */
+    void finish() throws IOException {
+        if (currentRow >= 0) {
+            handler.row(cells);
+            cells.clear();
+        }
+        currentRow = -1;
+    }
+}
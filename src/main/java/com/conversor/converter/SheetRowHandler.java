@@ -0,0 +1,39 @@
+package com.conversor.converter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Recebe as linhas de uma aba de planilha à medida que são lidas.
+ *
+ * Linhas ausentes na planilha são entregues vazias, e células ausentes no
+ * meio de uma linha, como texto vazio, de modo que as posições são mantidas.
+ */
+interface SheetRowHandler {
+
+    /**
+     * Início de uma aba.
+     *
+     * @param sheetIndex Índice da aba (a partir de zero)
+     * @param sheetName  Nome da aba
+     * @throws IOException se houver erro de escrita
+     */
+    void startSheet(int sheetIndex, String sheetName) throws IOException;
+
+    /**
+     * Linha da aba, com os valores formatados como exibidos na planilha.
+     *
+     * A lista é reutilizada entre as linhas e não deve ser guardada.
+     *
+     * @param cells Valores das células
+     * @throws IOException se houver erro de escrita
+     */
+    void row(List<String> cells) throws IOException;
+
+    /**
+     * Fim da aba iniciada em {@link #startSheet}.
+     *
+     * @throws IOException se houver erro de escrita
+     */
+    void endSheet() throws IOException;
+}
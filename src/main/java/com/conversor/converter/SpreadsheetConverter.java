@@ -0,0 +1,448 @@
+package com.conversor.converter;
+
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.FileStorageService;
+import com.conversor.service.TextPdfWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Motor de exportação de planilhas (XLSX e XLS) para CSV e PDF.
+ *
+ * As planilhas são lidas em fluxo com as APIs de eventos do POI
+ * ({@link XlsxWorkbookReader}, {@link XlsWorkbookReader}), e cada linha é
+ * gravada assim que lida: nenhuma aba é carregada inteira em memória.
+ *
+ * A seleção de páginas ({@code pages}) seleciona as abas. Em CSV, sem
+ * seleção é exportada a primeira aba; com uma seleção de várias abas, o
+ * resultado é um ZIP com um CSV por aba. Em PDF, sem seleção são
+ * exportadas todas as abas. Com várias abas de um XLSX, as abas são lidas
+ * em paralelo no pool de renderização, cada uma para um arquivo temporário,
+ * e reunidas na ordem da planilha.
+ */
+@Component
+public class SpreadsheetConverter implements Converter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpreadsheetConverter.class);
+
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+    private static final String PDF_CELL_SEPARATOR = " | ";
+
+    private static final int WRITE_BUFFER_SIZE = 65536;
+
+    private static final ConversionCost XLSX_CSV_COST = ConversionCost.of(30, 300);
+    private static final ConversionCost XLSX_PDF_COST = ConversionCost.of(30, 450);
+    private static final ConversionCost XLS_CSV_COST = ConversionCost.of(20, 120);
+    private static final ConversionCost XLS_PDF_COST = ConversionCost.of(20, 250);
+
+    private final ThreadPoolTaskExecutor sheetExecutor;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param sheetExecutor Pool de threads de renderização, usado para ler abas em paralelo
+     */
+    public SpreadsheetConverter(@Qualifier("renderExecutor") ThreadPoolTaskExecutor sheetExecutor) {
+        this.sheetExecutor = sheetExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return "poi-event-sheets";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.XLSX_TO_CSV, ConversionType.XLSX_TO_PDF,
+                ConversionType.XLS_TO_CSV, ConversionType.XLS_TO_PDF);
+    }
+
+    /**
+     * Memória constante por aba lida: o limite é o número de núcleos.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        switch (type) {
+            case XLSX_TO_CSV:
+                return XLSX_CSV_COST;
+            case XLSX_TO_PDF:
+                return XLSX_PDF_COST;
+            case XLS_TO_CSV:
+                return XLS_CSV_COST;
+            default:
+                return XLS_PDF_COST;
+        }
+    }
+
+    /**
+     * Em CSV, uma seleção de várias abas gera um ZIP com um CSV por aba.
+     */
+    @Override
+    public boolean producesArchive(ConversionType type, ConversionOptions options) {
+        return type.getTargetFormat() == FileFormat.CSV && options.isPageArchive();
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File outputFile,
+                        ConversionProgress progress) throws IOException {
+        logger.debug("Convertendo {} para {}", type.getSourceFormat(), type.getTargetFormat());
+
+        long startTime = System.nanoTime();
+        List<Integer> sheetIndexes;
+
+        try (WorkbookReader workbook = type.getSourceFormat() == FileFormat.XLSX
+                ? XlsxWorkbookReader.open(input)
+                : XlsWorkbookReader.open(input)) {
+
+            sheetIndexes = selectSheets(type, workbook, options);
+            progress.pagesPlanned(sheetIndexes.size());
+
+            if (type.getTargetFormat() == FileFormat.PDF) {
+                writePdf(workbook, sheetIndexes, outputFile, progress);
+            } else if (producesArchive(type, options)) {
+                writeCsvArchive(workbook, sheetIndexes, outputFile, progress);
+            } else {
+                try (Writer writer = newWriter(new FileOutputStream(outputFile))) {
+                    workbook.read(sheetIndexes, new SheetLineWriter(csvLines(writer), false, progress));
+                }
+            }
+        }
+
+        logger.info("{}: {} aba(s) em {} ms", type,
+                sheetIndexes.size(), (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * Resolve as abas a exportar, em ordem crescente.
+     *
+     * @param type     Tipo de conversão
+     * @param workbook Planilha
+     * @param options  Opções da conversão (seleção de abas em {@code pages})
+     * @return Índices das abas (a partir de zero)
+     * @throws FileConversionException se a planilha não tiver abas ou a seleção for inválida
+     */
+    private static List<Integer> selectSheets(ConversionType type, WorkbookReader workbook,
+                                              ConversionOptions options) {
+        int sheetCount = workbook.getSheetNames().size();
+        if (sheetCount == 0) {
+            throw new FileConversionException("A planilha não tem abas");
+        }
+
+        // Em PDF, sem seleção, todas as abas
+        if (type.getTargetFormat() == FileFormat.PDF && options.getPages() == null) {
+            List<Integer> all = new ArrayList<>(sheetCount);
+            for (int i = 0; i < sheetCount; i++) {
+                all.add(i);
+            }
+            return all;
+        }
+
+        // As abas são lidas na ordem da planilha, sem repetições
+        return new ArrayList<>(new TreeSet<>(options.resolvePageIndexes(sheetCount)));
+    }
+
+    /**
+     * Gera um PDF de texto com as abas selecionadas, uma após a outra.
+     */
+    private void writePdf(WorkbookReader workbook, List<Integer> sheetIndexes, File pdfFile,
+                          ConversionProgress progress) throws IOException {
+        try (TextPdfWriter writer = new TextPdfWriter(new FileOutputStream(pdfFile))) {
+            LineSink pdfLines = line -> writer.writeLine(line.toString());
+
+            if (readsInParallel(workbook, sheetIndexes)) {
+                List<Path> sheetFiles = readSheetsInParallel(workbook, sheetIndexes, pdfFile, true, progress);
+                try {
+                    for (Path sheetFile : sheetFiles) {
+                        try (BufferedReader reader = Files.newBufferedReader(sheetFile, StandardCharsets.UTF_8)) {
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                writer.writeLine(line);
+                            }
+                        }
+                    }
+                } finally {
+                    deleteAll(sheetFiles);
+                }
+            } else {
+                workbook.read(sheetIndexes, new SheetLineWriter(pdfLines, true, progress));
+            }
+
+            writer.finish();
+        }
+    }
+
+    /**
+     * Gera um ZIP com um CSV por aba selecionada.
+     */
+    private void writeCsvArchive(WorkbookReader workbook, List<Integer> sheetIndexes, File zipFile,
+                                 ConversionProgress progress) throws IOException {
+        List<String> sheetNames = workbook.getSheetNames();
+
+        try (ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(zipFile), WRITE_BUFFER_SIZE))) {
+
+            if (readsInParallel(workbook, sheetIndexes)) {
+                List<Path> sheetFiles = readSheetsInParallel(workbook, sheetIndexes, zipFile, false, progress);
+                try {
+                    for (int i = 0; i < sheetIndexes.size(); i++) {
+                        int sheetIndex = sheetIndexes.get(i);
+                        zip.putNextEntry(new ZipEntry(csvEntryName(sheetIndex, sheetNames.get(sheetIndex))));
+                        Files.copy(sheetFiles.get(i), zip);
+                        zip.closeEntry();
+                    }
+                } finally {
+                    deleteAll(sheetFiles);
+                }
+                return;
+            }
+
+            // Leitura sequencial: cada aba vai direto para a sua entrada. O
+            // writer não é fechado (fecharia o ZIP); ele é esvaziado a cada aba.
+            Writer writer = newWriter(zip);
+            workbook.read(sheetIndexes, new SheetRowHandler() {
+                private final SheetLineWriter lines = new SheetLineWriter(csvLines(writer), false, progress);
+
+                @Override
+                public void startSheet(int sheetIndex, String sheetName) throws IOException {
+                    zip.putNextEntry(new ZipEntry(csvEntryName(sheetIndex, sheetName)));
+                }
+
+                @Override
+                public void row(List<String> cells) throws IOException {
+                    lines.row(cells);
+                }
+
+                @Override
+                public void endSheet() throws IOException {
+                    writer.flush();
+                    zip.closeEntry();
+                    lines.endSheet();
+                }
+            });
+        }
+    }
+
+    private static boolean readsInParallel(WorkbookReader workbook, List<Integer> sheetIndexes) {
+        return sheetIndexes.size() > 1 && workbook.supportsConcurrentReads();
+    }
+
+    /**
+     * Lê as abas em paralelo, cada uma para um arquivo temporário ao lado do
+     * arquivo de saída.
+     *
+     * @param workbook     Planilha que suporta leituras simultâneas
+     * @param sheetIndexes Índices das abas
+     * @param outputFile   Arquivo de saída, cujo diretório recebe os temporários
+     * @param pdf          true para linhas de PDF, false para CSV
+     * @param progress     Receptor do andamento, avisado pelos workers a cada aba lida
+     * @return Arquivos temporários, na ordem das abas
+     * @throws IOException se a leitura de alguma aba falhar
+     */
+    private List<Path> readSheetsInParallel(WorkbookReader workbook, List<Integer> sheetIndexes,
+                                            File outputFile, boolean pdf, ConversionProgress progress)
+            throws IOException {
+        Path directory = outputFile.getAbsoluteFile().toPath().getParent();
+        List<Path> sheetFiles = new ArrayList<>(sheetIndexes.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(sheetIndexes.size());
+
+        try {
+            for (int sheetIndex : sheetIndexes) {
+                Path sheetFile = Files.createTempFile(directory, "sheet-", FileStorageService.PARTIAL_SUFFIX);
+                sheetFiles.add(sheetFile);
+                futures.add(CompletableFuture.runAsync(
+                        () -> readSheetToFile(workbook, sheetIndex, sheetFile, pdf, progress), sheetExecutor));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+            return sheetFiles;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cleanUp(futures, sheetFiles);
+            throw new InterruptedIOException("Leitura das abas interrompida");
+        } catch (ExecutionException ex) {
+            cleanUp(futures, sheetFiles);
+            Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Erro ao ler aba da planilha", cause);
+        } catch (IOException | RuntimeException ex) {
+            cleanUp(futures, sheetFiles);
+            throw ex;
+        }
+    }
+
+    private static void readSheetToFile(WorkbookReader workbook, int sheetIndex, Path sheetFile, boolean pdf,
+                                        ConversionProgress progress) {
+        try (Writer writer = newWriter(Files.newOutputStream(sheetFile))) {
+            LineSink lines = pdf
+                    ? line -> writer.append(line).append('\n')
+                    : csvLines(writer);
+            workbook.read(List.of(sheetIndex), new SheetLineWriter(lines, pdf, progress));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Aguarda as leituras em andamento e apaga os arquivos temporários.
+     */
+    private static void cleanUp(List<CompletableFuture<Void>> futures, List<Path> sheetFiles) {
+        for (CompletableFuture<Void> future : futures) {
+            future.cancel(false);
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(ex -> null)
+                .join();
+        deleteAll(sheetFiles);
+    }
+
+    private static void deleteAll(List<Path> sheetFiles) {
+        for (Path sheetFile : sheetFiles) {
+            try {
+                Files.deleteIfExists(sheetFile);
+            } catch (IOException ex) {
+                logger.warn("Não foi possível apagar o arquivo temporário {}", sheetFile, ex);
+            }
+        }
+    }
+
+    private static Writer newWriter(OutputStream output) {
+        return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    }
+
+    private static LineSink csvLines(Writer writer) {
+        return line -> writer.append(line).append(CSV_LINE_SEPARATOR);
+    }
+
+    /**
+     * Nome da entrada do ZIP para uma aba, com o índice e o nome da aba sem
+     * caracteres problemáticos em nomes de arquivo.
+     */
+    private static String csvEntryName(int sheetIndex, String sheetName) {
+        String safeName = sheetName.replaceAll("[^\\p{L}\\p{N} ._-]", "_").trim();
+        return String.format("sheet-%02d-%s.csv", sheetIndex + 1, safeName.isEmpty() ? "aba" : safeName);
+    }
+
+    /**
+     * Destino das linhas de texto formatadas.
+     */
+    @FunctionalInterface
+    private interface LineSink {
+        void line(CharSequence line) throws IOException;
+    }
+
+    /**
+     * Formata as linhas de uma aba como CSV (RFC 4180) ou como linhas de
+     * texto para o PDF, com o nome da aba como título, e avisa o fim de cada
+     * aba ao receptor do andamento.
+     */
+    private static final class SheetLineWriter implements SheetRowHandler {
+
+        private final LineSink sink;
+        private final boolean pdf;
+        private final ConversionProgress progress;
+        private final StringBuilder line = new StringBuilder();
+
+        private SheetLineWriter(LineSink sink, boolean pdf, ConversionProgress progress) {
+            this.sink = sink;
+            this.pdf = pdf;
+            this.progress = progress;
+        }
+
+        @Override
+        public void startSheet(int sheetIndex, String sheetName) throws IOException {
+            if (pdf) {
+                sink.line("Aba: " + sheetName);
+                sink.line("");
+            }
+        }
+
+        @Override
+        public void row(List<String> cells) throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < cells.size(); i++) {
+                if (pdf) {
+                    if (i > 0) {
+                        line.append(PDF_CELL_SEPARATOR);
+                    }
+                    // Quebras de linha dentro da célula viram espaços no PDF
+                    line.append(cells.get(i).replace('\r', ' ').replace('\n', ' '));
+                } else {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendCsvField(line, cells.get(i));
+                }
+            }
+            sink.line(line);
+        }
+
+        @Override
+        public void endSheet() throws IOException {
+            if (pdf) {
+                sink.line("");
+            }
+            progress.pagesCompleted(1, 0);
+        }
+
+        private static void appendCsvField(StringBuilder line, String value) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.conversor.converter;
+
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import com.conversor.service.IntermediateStorage;
+import com.conversor.service.TextPdfWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Motor de conversão de texto para PDF com o {@link TextPdfWriter}.
+ *
+ * O texto é lido em fluxo e as páginas são gravadas assim que ficam
+ * cheias, com quebra de linha por palavras, de modo que o consumo de
+ * memória não depende do tamanho do arquivo. Cada página é informada ao
+ * receptor do andamento assim que é gravada; o total, só conhecido no fim do
+ * texto, é informado ao final.
+ */
+@Component
+public class TextToPdfConverter implements Converter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TextToPdfConverter.class);
+
+    private static final int TEXT_READ_BUFFER_SIZE = 65536;
+
+    private static final ConversionCost COST = ConversionCost.of(5, 90);
+
+    private final IntermediateStorage intermediateStorage;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param intermediateStorage Armazenamento do PDF entregue a outra etapa
+     */
+    public TextToPdfConverter(IntermediateStorage intermediateStorage) {
+        this.intermediateStorage = intermediateStorage;
+    }
+
+    @Override
+    public String getName() {
+        return "text-pdf-writer";
+    }
+
+    @Override
+    public Set<ConversionType> getSupportedTypes() {
+        return EnumSet.of(ConversionType.TXT_TO_PDF);
+    }
+
+    /**
+     * Memória constante por conversão: o limite é o número de núcleos.
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ConversionCost getCost(ConversionType type) {
+        return COST;
+    }
+
+    @Override
+    public void convert(ConversionType type, ConversionInput input, ConversionOptions options, File pdfFile,
+                        ConversionProgress progress) throws IOException {
+        try (OutputStream output = new FileOutputStream(pdfFile)) {
+            writePdf(input, output, progress);
+        }
+    }
+
+    /**
+     * O PDF gerado fica em memória já codificado (em arquivo temporário, se
+     * passar do limite de memória); a próxima etapa o carrega uma única vez.
+     */
+    @Override
+    public boolean supportsInMemoryOutput(ConversionType type) {
+        return true;
+    }
+
+    @Override
+    public ConversionInput convertInMemory(ConversionType type, ConversionInput input, ConversionOptions options,
+                                           ConversionProgress progress) throws IOException {
+        IntermediateStorage.Output output = intermediateStorage.newOutput(FileFormat.PDF);
+        try {
+            writePdf(input, output, progress);
+        } catch (IOException | RuntimeException ex) {
+            output.discard();
+            throw ex;
+        }
+        return output.toInput();
+    }
+
+    /**
+     * Gera o PDF do texto na saída informada, que é fechada ao final.
+     *
+     * @param input    Entrada de texto
+     * @param output   Saída do PDF
+     * @param progress Receptor do andamento, avisado a cada página gravada
+     * @throws IOException se houver erro na conversão
+     */
+    private void writePdf(ConversionInput input, OutputStream output, ConversionProgress progress)
+            throws IOException {
+        logger.debug("Convertendo TXT para PDF");
+
+        long startTime = System.nanoTime();
+        int pageCount;
+
+        try (TextPdfWriter writer = new TextPdfWriter(output, progress);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     input.openStream(), StandardCharsets.UTF_8), TEXT_READ_BUFFER_SIZE)) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.writeLine(line);
+            }
+            pageCount = writer.finish();
+        }
+        progress.pagesPlanned(pageCount);
+
+        logger.debug("TXT para PDF: {} bytes em {} ms, {} páginas",
+                input.length(), (System.nanoTime() - startTime) / 1_000_000, pageCount);
+    }
+}
@@ -0,0 +1,38 @@
+package com.conversor.converter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Leitor em fluxo de uma pasta de trabalho (XLSX ou XLS).
+ *
+ * As células são entregues ao handler à medida que são lidas; nenhuma aba
+ * é carregada inteira em memória.
+ */
+interface WorkbookReader extends Closeable {
+
+    /**
+     * Nomes das abas, na ordem da pasta de trabalho.
+     *
+     * @return Nomes das abas
+     */
+    List<String> getSheetNames();
+
+    /**
+     * Indica se abas diferentes podem ser lidas ao mesmo tempo, em threads
+     * diferentes, com chamadas a {@link #read}.
+     *
+     * @return true se as abas podem ser lidas em paralelo
+     */
+    boolean supportsConcurrentReads();
+
+    /**
+     * Lê as abas informadas, na ordem da pasta de trabalho.
+     *
+     * @param sheetIndexes Índices das abas (a partir de zero), em ordem crescente
+     * @param handler      Destino das linhas
+     * @throws IOException se houver erro de leitura ou se o handler falhar
+     */
+    void read(List<Integer> sheetIndexes, SheetRowHandler handler) throws IOException;
+}
@@ -0,0 +1,290 @@
+package com.conversor.converter;
+
+import com.conversor.exception.FileConversionException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Leitor em fluxo de planilhas XLS (BIFF8), com a API de eventos do HSSF.
+ *
+ * Os registros da pasta de trabalho são processados um a um, sem montar o
+ * HSSFWorkbook. Como todas as abas estão no mesmo fluxo, elas são lidas em
+ * sequência, em uma única passada; os nomes das abas vêm de uma passada
+ * inicial que para no fim dos registros globais.
+ */
+final class XlsWorkbookReader implements WorkbookReader {
+
+    private final POIFSFileSystem fileSystem;
+    private final List<String> sheetNames;
+
+    private XlsWorkbookReader(POIFSFileSystem fileSystem) throws IOException {
+        this.fileSystem = fileSystem;
+        this.sheetNames = readSheetNames(fileSystem);
+    }
+
+    /**
+     * Abre uma planilha XLS somente para leitura.
+     *
+     * @param input Entrada XLS
+     * @return Leitor da planilha
+     * @throws IOException             se houver erro de leitura
+     * @throws FileConversionException se a entrada não for uma planilha XLS válida
+     */
+    static XlsWorkbookReader open(ConversionInput input) throws IOException {
+        POIFSFileSystem fileSystem = null;
+        try {
+            if (input.getFile() != null) {
+                fileSystem = new POIFSFileSystem(input.getFile(), true);
+            } else {
+                try (InputStream stream = input.openStream()) {
+                    fileSystem = new POIFSFileSystem(stream);
+                }
+            }
+            return new XlsWorkbookReader(fileSystem);
+        } catch (IllegalArgumentException ex) {
+            // Inclui UnsupportedFileFormatException (por exemplo, XLS anteriores ao Excel 97)
+            if (fileSystem != null) {
+                fileSystem.close();
+            }
+            throw new FileConversionException("Planilha XLS inválida: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    /**
+     * As abas compartilham o mesmo fluxo de registros e são lidas em sequência.
+     */
+    @Override
+    public boolean supportsConcurrentReads() {
+        return false;
+    }
+
+    @Override
+    public void read(List<Integer> sheetIndexes, SheetRowHandler handler) throws IOException {
+        SheetRecordListener listener = new SheetRecordListener(new HashSet<>(sheetIndexes), handler);
+        FormatTrackingHSSFListener formats = new FormatTrackingHSSFListener(listener);
+        listener.formats = formats;
+
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(formats);
+
+        try {
+            new HSSFEventFactory().processWorkbookEvents(request, fileSystem);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } catch (UnsupportedFileFormatException ex) {
+            throw new FileConversionException("Planilha XLS inválida: " + ex.getMessage(), ex);
+        }
+        listener.finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileSystem.close();
+    }
+
+    /**
+     * Lê os nomes das abas nos registros globais, parando no início da
+     * primeira aba.
+     */
+    private static List<String> readSheetNames(POIFSFileSystem fileSystem) throws IOException {
+        List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(new AbortableHSSFListener() {
+            @Override
+            public short abortableProcessRecord(Record record) {
+                if (record instanceof BoundSheetRecord) {
+                    boundSheets.add((BoundSheetRecord) record);
+                }
+                // Os registros globais terminam no primeiro EOF
+                return record instanceof EOFRecord ? (short) 1 : 0;
+            }
+        });
+
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (HSSFUserException ex) {
+            throw new IOException(ex);
+        }
+
+        List<String> names = new ArrayList<>(boundSheets.size());
+        for (BoundSheetRecord sheet : BoundSheetRecord.orderByBofPosition(boundSheets)) {
+            names.add(sheet.getSheetname());
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Listener que converte os registros de células das abas selecionadas
+     * em linhas.
+     *
+     * Subfluxos aninhados (como gráficos embutidos em uma aba) são ignorados
+     * pelo controle de profundidade dos pares BOF/EOF.
+     */
+    private final class SheetRecordListener implements HSSFListener {
+
+        private final Set<Integer> selected;
+        private final SheetRowHandler handler;
+        private FormatTrackingHSSFListener formats;
+
+        private SSTRecord sharedStrings;
+        private SheetRowAssembler rows;
+        private int depth;
+        private int sheetIndex = -1;
+
+        /** Fórmula com resultado texto, que vem no registro seguinte. */
+        private FormulaRecord pendingFormula;
+
+        private SheetRecordListener(Set<Integer> selected, SheetRowHandler handler) {
+            this.selected = selected;
+            this.handler = handler;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            try {
+                process(record);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void process(Record record) throws IOException {
+            if (record instanceof BOFRecord) {
+                // Toda aba (inclusive de gráfico ou macro) tem um subfluxo e um BoundSheetRecord,
+                // então conta cada subfluxo de primeiro nível para manter índices e nomes alinhados
+                if (depth == 0 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    startSheet();
+                }
+                depth++;
+                return;
+            }
+            if (record instanceof EOFRecord) {
+                depth--;
+                if (depth == 0) {
+                    endSheet();
+                }
+                return;
+            }
+            if (record instanceof SSTRecord) {
+                sharedStrings = (SSTRecord) record;
+                return;
+            }
+            if (rows == null || depth != 1) {
+                return;
+            }
+
+            if (record instanceof StringRecord) {
+                if (pendingFormula != null) {
+                    cell(pendingFormula.getRow(), pendingFormula.getColumn(), ((StringRecord) record).getString());
+                    pendingFormula = null;
+                }
+            } else if (record instanceof NumberRecord) {
+                NumberRecord number = (NumberRecord) record;
+                cell(number.getRow(), number.getColumn(), formats.formatNumberDateCell(number));
+            } else if (record instanceof LabelSSTRecord) {
+                LabelSSTRecord label = (LabelSSTRecord) record;
+                String value = sharedStrings != null ? sharedStrings.getString(label.getSSTIndex()).getString() : "";
+                cell(label.getRow(), label.getColumn(), value);
+            } else if (record instanceof LabelRecord) {
+                LabelRecord label = (LabelRecord) record;
+                cell(label.getRow(), label.getColumn(), label.getValue());
+            } else if (record instanceof BoolErrRecord) {
+                BoolErrRecord boolErr = (BoolErrRecord) record;
+                cell(boolErr.getRow(), boolErr.getColumn(), boolErr.isBoolean()
+                        ? booleanText(boolErr.getBooleanValue())
+                        : FormulaError.forInt(boolErr.getErrorValue()).getString());
+            } else if (record instanceof FormulaRecord) {
+                formula((FormulaRecord) record);
+            }
+        }
+
+        private void formula(FormulaRecord formula) throws IOException {
+            if (formula.hasCachedResultString()) {
+                pendingFormula = formula;
+                return;
+            }
+
+            CellType resultType = formula.getCachedResultTypeEnum();
+            String value;
+            switch (resultType) {
+                case BOOLEAN:
+                    value = booleanText(formula.getCachedBooleanValue());
+                    break;
+                case ERROR:
+                    value = FormulaError.forInt(formula.getCachedErrorValue()).getString();
+                    break;
+                default:
+                    value = formats.formatNumberDateCell(formula);
+                    break;
+            }
+            cell(formula.getRow(), formula.getColumn(), value);
+        }
+
+        private void startSheet() throws IOException {
+            sheetIndex++;
+            pendingFormula = null;
+            if (selected.contains(sheetIndex)) {
+                String name = sheetIndex < sheetNames.size() ? sheetNames.get(sheetIndex) : "Sheet" + (sheetIndex + 1);
+                handler.startSheet(sheetIndex, name);
+                rows = new SheetRowAssembler(handler);
+            }
+        }
+
+        private void endSheet() throws IOException {
+            if (rows != null) {
+                rows.finish();
+                handler.endSheet();
+                rows = null;
+            }
+        }
+
+        private void cell(int row, int column, String value) throws IOException {
+            rows.cell(row, column, value == null ? "" : value);
+        }
+
+        /**
+         * Garante que a última aba seja encerrada em arquivos sem o EOF final.
+         */
+        private void finish() throws IOException {
+            endSheet();
+        }
+    }
+
+    private static String booleanText(boolean value) {
+        return value ? "TRUE" : "FALSE";
+    }
+}
@@ -0,0 +1,169 @@
+package com.conversor.converter;
+
+import com.conversor.exception.FileConversionException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Leitor em fluxo de planilhas XLSX, com o {@link XSSFReader} do POI.
+ *
+ * Cada aba é lida com SAX direto do ZIP. A tabela de textos compartilhados é
+ * lida uma vez, em fluxo e somente leitura ({@link ReadOnlySharedStringsTable}),
+ * e compartilhada entre as abas, que podem ser lidas em paralelo: cada
+ * leitura tem seu próprio parser e formatador.
+ */
+final class XlsxWorkbookReader implements WorkbookReader {
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<PackagePart> sheetParts = new ArrayList<>();
+
+    private XlsxWorkbookReader(OPCPackage pkg) throws IOException, OpenXML4JException, SAXException {
+        this.pkg = pkg;
+
+        XSSFReader reader = new XSSFReader(pkg);
+        this.sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+        this.styles = reader.getStylesTable();
+
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            // O iterador abre o fluxo de cada aba; ele é reaberto na leitura
+            sheets.next().close();
+            sheetNames.add(sheets.getSheetName());
+            sheetParts.add(sheets.getSheetPart());
+        }
+    }
+
+    /**
+     * Abre uma planilha XLSX somente para leitura.
+     *
+     * @param input Entrada XLSX
+     * @return Leitor da planilha
+     * @throws IOException             se houver erro de leitura
+     * @throws FileConversionException se a entrada não for uma planilha XLSX válida
+     */
+    static XlsxWorkbookReader open(ConversionInput input) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            if (input.getFile() != null) {
+                pkg = OPCPackage.open(input.getFile(), PackageAccess.READ);
+            } else {
+                try (InputStream stream = input.openStream()) {
+                    pkg = OPCPackage.open(stream);
+                }
+            }
+            return new XlsxWorkbookReader(pkg);
+        } catch (OpenXML4JException | SAXException | UnsupportedFileFormatException ex) {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            throw new FileConversionException("Planilha XLSX inválida: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return Collections.unmodifiableList(sheetNames);
+    }
+
+    @Override
+    public boolean supportsConcurrentReads() {
+        return true;
+    }
+
+    @Override
+    public void read(List<Integer> sheetIndexes, SheetRowHandler handler) throws IOException {
+        for (int sheetIndex : sheetIndexes) {
+            handler.startSheet(sheetIndex, sheetNames.get(sheetIndex));
+            readSheet(sheetParts.get(sheetIndex), handler);
+            handler.endSheet();
+        }
+    }
+
+    private void readSheet(PackagePart sheetPart, SheetRowHandler handler) throws IOException {
+        SheetRowAssembler rows = new SheetRowAssembler(handler);
+        // DataFormatter não é thread-safe: um por leitura
+        DataFormatter formatter = new DataFormatter();
+
+        try (InputStream sheet = sheetPart.getInputStream()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, null, sharedStrings, new SheetContents(rows), formatter, false));
+            parser.parse(new InputSource(sheet));
+            rows.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } catch (SAXException | ParserConfigurationException ex) {
+            throw new FileConversionException("Aba XLSX inválida: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Fecha o pacote sem gravá-lo (foi aberto somente para leitura).
+     */
+    @Override
+    public void close() {
+        pkg.revert();
+    }
+
+    /**
+     * Repassa as células lidas pelo POI ao montador de linhas.
+     */
+    private static final class SheetContents implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final SheetRowAssembler rows;
+        private int rowIndex;
+        private int nextColumn;
+
+        private SheetContents(SheetRowAssembler rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            rowIndex = rowNum;
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // A linha é entregue quando a próxima começa, ou no fim da aba
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Algumas ferramentas omitem a referência das células em sequência
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            try {
+                rows.cell(rowIndex, column, formattedValue == null ? "" : formattedValue);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.conversor.dto;
+
+/**
+ * DTO com o resultado de um arquivo de uma conversão em lote.
+ *
+ * Cada arquivo do lote gera um item no manifesto do ZIP, com a entrada
+ * correspondente no ZIP (se a conversão foi concluída) ou o erro.
+ */
+public class BatchItemResult {
+
+    private String originalFilename;
+    private String targetFormat;
+    private String status;
+    private String fileId;
+    private String entry;
+    private long size;
+    private String error;
+
+    /**
+     * Construtor padrão.
+     */
+    public BatchItemResult() {
+    }
+
+    /**
+     * Construtor com o arquivo e o formato de destino.
+     *
+     * @param originalFilename Nome do arquivo original
+     * @param targetFormat     Formato de destino solicitado
+     */
+    public BatchItemResult(String originalFilename, String targetFormat) {
+        this.originalFilename = originalFilename;
+        this.targetFormat = targetFormat;
+    }
+
+    // Getters e Setters
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public String getTargetFormat() {
+        return targetFormat;
+    }
+
+    public void setTargetFormat(String targetFormat) {
+        this.targetFormat = targetFormat;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getEntry() {
+        return entry;
+    }
+
+    public void setEntry(String entry) {
+        this.entry = entry;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
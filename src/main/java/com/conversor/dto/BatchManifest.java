@@ -0,0 +1,77 @@
+package com.conversor.dto;
+
+import com.conversor.model.ConvertedFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO do manifesto de uma conversão em lote.
+ *
+ * Gravado como a última entrada do ZIP, lista o resultado de cada arquivo
+ * na ordem em que foram enviados.
+ */
+public class BatchManifest {
+
+    private int total;
+    private int completed;
+    private int failed;
+    private List<BatchItemResult> files = new ArrayList<>();
+
+    /**
+     * Construtor padrão.
+     */
+    public BatchManifest() {
+    }
+
+    /**
+     * Construtor a partir dos resultados dos arquivos.
+     *
+     * @param files Resultados dos arquivos, na ordem de envio
+     */
+    public BatchManifest(List<BatchItemResult> files) {
+        this.files = files;
+        this.total = files.size();
+        for (BatchItemResult file : files) {
+            if (ConvertedFile.ConversionStatus.COMPLETED.name().equals(file.getStatus())) {
+                completed++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    // Getters e Setters
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<BatchItemResult> files) {
+        this.files = files;
+    }
+}
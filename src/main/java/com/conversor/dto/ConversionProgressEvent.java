@@ -0,0 +1,104 @@
+package com.conversor.dto;
+
+/**
+ * DTO do evento de andamento de uma conversão, enviado pelo fluxo SSE.
+ *
+ * Leve de propósito: as mudanças de status são enviadas à parte, com a
+ * {@link ConversionResponse} completa.
+ */
+public class ConversionProgressEvent {
+
+    private String fileId;
+    private int step;
+    private int steps;
+    private String conversionType;
+    private int pagesCompleted;
+    private int pagesTotal;
+    private long bytesWritten;
+
+    /**
+     * Construtor padrão.
+     */
+    public ConversionProgressEvent() {
+    }
+
+    /**
+     * Construtor com o andamento da etapa atual.
+     *
+     * @param fileId         ID da conversão
+     * @param step           Etapa atual do plano (a partir de 1)
+     * @param steps          Número de etapas do plano
+     * @param conversionType Tipo de conversão da etapa atual
+     * @param pagesCompleted Páginas concluídas na etapa
+     * @param pagesTotal     Páginas da etapa (0 se o motor não divide o documento em páginas ou se o total ainda não é conhecido)
+     * @param bytesWritten   Bytes gravados pela etapa
+     */
+    public ConversionProgressEvent(String fileId, int step, int steps, String conversionType,
+                                   int pagesCompleted, int pagesTotal, long bytesWritten) {
+        this.fileId = fileId;
+        this.step = step;
+        this.steps = steps;
+        this.conversionType = conversionType;
+        this.pagesCompleted = pagesCompleted;
+        this.pagesTotal = pagesTotal;
+        this.bytesWritten = bytesWritten;
+    }
+
+    // Getters e Setters
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public void setSteps(int steps) {
+        this.steps = steps;
+    }
+
+    public String getConversionType() {
+        return conversionType;
+    }
+
+    public void setConversionType(String conversionType) {
+        this.conversionType = conversionType;
+    }
+
+    public int getPagesCompleted() {
+        return pagesCompleted;
+    }
+
+    public void setPagesCompleted(int pagesCompleted) {
+        this.pagesCompleted = pagesCompleted;
+    }
+
+    public int getPagesTotal() {
+        return pagesTotal;
+    }
+
+    public void setPagesTotal(int pagesTotal) {
+        this.pagesTotal = pagesTotal;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+}
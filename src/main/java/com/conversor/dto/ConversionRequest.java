@@ -1,6 +1,10 @@
 package com.conversor.dto;
 
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
 import com.conversor.model.FileFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 /**
@@ -10,11 +14,40 @@ import jakarta.validation.constraints.NotNull;
  */
 public class ConversionRequest {
 
+    /** Perfil de conversão rápida para pré-visualização. */
+    public static final String THUMBNAIL_PROFILE = "thumbnail";
+
     @NotNull(message = "O formato de destino é obrigatório")
     private String targetFormat;
 
     private String sourceFormat;
 
+    private boolean async;
+
+    private String pages;
+
+    @Min(value = 36, message = "A resolução mínima é 36 DPI")
+    @Max(value = 600, message = "A resolução máxima é 600 DPI")
+    private Integer dpi;
+
+    private String colorMode;
+
+    @Min(value = 16, message = "A dimensão máxima deve ser de pelo menos 16 pixels")
+    @Max(value = 10000, message = "A dimensão máxima deve ser de no máximo 10000 pixels")
+    private Integer maxDimension;
+
+    private String profile;
+
+    @Min(value = 1, message = "A qualidade mínima é 1")
+    @Max(value = 100, message = "A qualidade máxima é 100")
+    private Integer quality;
+
+    @Min(value = 0, message = "O nível de compressão mínimo é 0")
+    @Max(value = 9, message = "O nível de compressão máximo é 9")
+    private Integer compressionLevel;
+
+    private boolean progressive;
+
     /**
      * Construtor padrão.
      */
@@ -50,6 +83,117 @@ public class ConversionRequest {
         this.sourceFormat = sourceFormat;
     }
 
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public String getPages() {
+        return pages;
+    }
+
+    public void setPages(String pages) {
+        this.pages = pages;
+    }
+
+    public Integer getDpi() {
+        return dpi;
+    }
+
+    public void setDpi(Integer dpi) {
+        this.dpi = dpi;
+    }
+
+    public String getColorMode() {
+        return colorMode;
+    }
+
+    public void setColorMode(String colorMode) {
+        this.colorMode = colorMode;
+    }
+
+    public Integer getMaxDimension() {
+        return maxDimension;
+    }
+
+    public void setMaxDimension(Integer maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public Integer getQuality() {
+        return quality;
+    }
+
+    public void setQuality(Integer quality) {
+        this.quality = quality;
+    }
+
+    public Integer getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(Integer compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public boolean isProgressive() {
+        return progressive;
+    }
+
+    public void setProgressive(boolean progressive) {
+        this.progressive = progressive;
+    }
+
+    /**
+     * Monta as opções da conversão a partir dos dados da requisição.
+     *
+     * O perfil {@code thumbnail} define baixa resolução e tamanho máximo
+     * reduzido; valores informados explicitamente prevalecem sobre o perfil.
+     *
+     * @return ConversionOptions da requisição
+     * @throws FileConversionException se o perfil ou o modo de cor forem inválidos
+     */
+    public ConversionOptions toConversionOptions() {
+        ConversionOptions options = ConversionOptions.defaults();
+        options.setPages(pages);
+        options.setQuality(quality);
+        options.setCompressionLevel(compressionLevel);
+        options.setProgressive(progressive);
+
+        if (profile != null && !profile.isBlank()) {
+            if (!THUMBNAIL_PROFILE.equalsIgnoreCase(profile.trim())) {
+                throw new FileConversionException("Perfil de conversão inválido: " + profile);
+            }
+            options.applyThumbnailProfile();
+        }
+        if (dpi != null) {
+            options.setDpi(dpi);
+        }
+        if (maxDimension != null) {
+            options.setMaxDimension(maxDimension);
+        }
+        if (colorMode != null && !colorMode.isBlank()) {
+            try {
+                options.setColorMode(ConversionOptions.ColorMode.valueOf(colorMode.trim().toUpperCase()));
+            } catch (IllegalArgumentException ex) {
+                throw new FileConversionException("Modo de cor inválido: " + colorMode);
+            }
+        }
+
+        return options;
+    }
+
     /**
      * Converte a string do formato de destino para o enum FileFormat.
      *
@@ -18,6 +18,7 @@ public class ConversionResponse {
     private long originalSize;
     private long convertedSize;
     private String conversionType;
+    private String status;
 
     /**
      * Construtor padrão.
@@ -26,20 +27,43 @@ public class ConversionResponse {
     }
 
     /**
-     * Construtor para resposta de sucesso.
+     * Construtor a partir do estado atual de uma conversão.
+     *
+     * O status é lido primeiro para que os demais campos reflitam ao menos
+     * o estado publicado por ele. A URL de download só é informada para
+     * conversões concluídas.
      *
      * @param convertedFile Arquivo convertido
      */
     public ConversionResponse(ConvertedFile convertedFile) {
-        this.success = true;
-        this.message = "Conversão realizada com sucesso!";
+        ConvertedFile.ConversionStatus currentStatus = convertedFile.getStatus();
+
+        this.status = currentStatus.name();
         this.fileId = convertedFile.getId();
         this.originalFilename = convertedFile.getOriginalFilename();
-        this.convertedFilename = convertedFile.getConvertedFilename();
-        this.downloadUrl = "/api/files/download/" + convertedFile.getId();
         this.originalSize = convertedFile.getOriginalSize();
-        this.convertedSize = convertedFile.getConvertedSize();
-        this.conversionType = convertedFile.getConversionType().getDescription();
+        // Conversões encadeadas não têm um tipo de conversão próprio
+        this.conversionType = convertedFile.getConversionType() != null
+                ? convertedFile.getConversionType().getDescription()
+                : convertedFile.getSourceFormat() + " para " + convertedFile.getTargetFormat();
+
+        switch (currentStatus) {
+            case COMPLETED:
+                this.success = true;
+                this.message = "Conversão realizada com sucesso!";
+                this.convertedFilename = convertedFile.getConvertedFilename();
+                this.downloadUrl = "/api/files/download/" + convertedFile.getId();
+                this.convertedSize = convertedFile.getConvertedSize();
+                break;
+            case FAILED:
+                this.success = false;
+                this.message = "Erro ao converter arquivo: " + convertedFile.getErrorMessage();
+                break;
+            default:
+                this.success = true;
+                this.message = "Conversão em andamento: " + currentStatus.getDescription();
+                break;
+        }
     }
 
     /**
@@ -136,4 +160,12 @@ public class ConversionResponse {
     public void setConversionType(String conversionType) {
         this.conversionType = conversionType;
     }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
 }
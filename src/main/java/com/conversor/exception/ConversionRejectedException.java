@@ -0,0 +1,39 @@
+package com.conversor.exception;
+
+/**
+ * Exceção lançada quando uma conversão não pode ser aceita no momento.
+ *
+ * Indica sobrecarga temporária (por exemplo, fila de conversões cheia);
+ * o cliente pode tentar novamente após o intervalo sugerido.
+ */
+public class ConversionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Construtor com mensagem e intervalo sugerido para nova tentativa.
+     *
+     * @param message           Mensagem descritiva do erro
+     * @param retryAfterSeconds Segundos sugeridos antes de tentar novamente
+     */
+    public ConversionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Construtor com mensagem, intervalo sugerido e causa.
+     *
+     * @param message           Mensagem descritiva do erro
+     * @param retryAfterSeconds Segundos sugeridos antes de tentar novamente
+     * @param cause             Causa raiz da exceção
+     */
+    public ConversionRejectedException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,21 @@
+package com.conversor.exception;
+
+/**
+ * Exceção lançada quando o limite de conversões simultâneas de um tipo foi
+ * atingido.
+ *
+ * Diferente da fila cheia, indica que o cliente está pedindo mais conversões
+ * pesadas do que o servidor admite ao mesmo tempo; a resposta é 429.
+ */
+public class ConversionThrottledException extends ConversionRejectedException {
+
+    /**
+     * Construtor com mensagem e intervalo sugerido para nova tentativa.
+     *
+     * @param message           Mensagem descritiva do erro
+     * @param retryAfterSeconds Segundos sugeridos antes de tentar novamente
+     */
+    public ConversionThrottledException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
@@ -3,6 +3,7 @@ package com.conversor.exception;
 import com.conversor.dto.ConversionResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
@@ -45,6 +46,22 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    /**
+     * Trata erros de validação dos dados da requisição.
+     *
+     * @param ex Exceção de validação
+     * @return ResponseEntity com a primeira mensagem de erro
+     */
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<ConversionResponse> handleBindException(BindException ex) {
+        String message = ex.getBindingResult().getAllErrors().isEmpty()
+                ? "Dados da requisição inválidos"
+                : ex.getBindingResult().getAllErrors().get(0).getDefaultMessage();
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ConversionResponse.error(message));
+    }
+
     /**
      * Trata exceções de tamanho de arquivo excedido.
      *
@@ -0,0 +1,234 @@
+package com.conversor.model;
+
+import com.conversor.exception.FileConversionException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classe que representa as opções de uma conversão.
+ *
+ * As opções fazem parte da chave do cache de resultados, por isso cada
+ * opção deve estar refletida em {@link #fingerprint()}.
+ */
+public class ConversionOptions {
+
+    /** Seleção de todas as páginas do documento. */
+    public static final String ALL_PAGES = "all";
+
+    /** Resolução padrão de renderização de páginas. */
+    public static final int DEFAULT_DPI = 300;
+
+    /** Resolução do perfil de miniatura. */
+    public static final int THUMBNAIL_DPI = 72;
+
+    /** Maior dimensão, em pixels, das imagens do perfil de miniatura. */
+    public static final int THUMBNAIL_MAX_DIMENSION = 256;
+
+    private String pages;
+    private int dpi = DEFAULT_DPI;
+    private ColorMode colorMode = ColorMode.RGB;
+    private Integer maxDimension;
+    private Integer quality;
+    private Integer compressionLevel;
+    private boolean progressive;
+
+    /**
+     * Construtor padrão, com as opções padrão.
+     */
+    public ConversionOptions() {
+    }
+
+    /**
+     * Cria as opções padrão de conversão.
+     *
+     * @return ConversionOptions padrão
+     */
+    public static ConversionOptions defaults() {
+        return new ConversionOptions();
+    }
+
+    // Getters e Setters
+
+    public String getPages() {
+        return pages;
+    }
+
+    public void setPages(String pages) {
+        this.pages = pages == null || pages.isBlank() ? null : pages.trim().toLowerCase();
+    }
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    public void setDpi(int dpi) {
+        this.dpi = dpi;
+    }
+
+    public ColorMode getColorMode() {
+        return colorMode;
+    }
+
+    public void setColorMode(ColorMode colorMode) {
+        this.colorMode = colorMode;
+    }
+
+    public Integer getMaxDimension() {
+        return maxDimension;
+    }
+
+    public void setMaxDimension(Integer maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public Integer getQuality() {
+        return quality;
+    }
+
+    public void setQuality(Integer quality) {
+        this.quality = quality;
+    }
+
+    public Integer getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(Integer compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public boolean isProgressive() {
+        return progressive;
+    }
+
+    public void setProgressive(boolean progressive) {
+        this.progressive = progressive;
+    }
+
+    /**
+     * Aplica o perfil de miniatura: baixa resolução e tamanho máximo reduzido.
+     */
+    public void applyThumbnailProfile() {
+        this.dpi = THUMBNAIL_DPI;
+        this.maxDimension = THUMBNAIL_MAX_DIMENSION;
+    }
+
+    /**
+     * Calcula a escala de renderização de uma página, respeitando a
+     * resolução e a maior dimensão permitida.
+     *
+     * @param pageWidth  Largura da página em pontos
+     * @param pageHeight Altura da página em pontos
+     * @return Escala (1 equivale a 72 DPI)
+     */
+    public float renderScale(float pageWidth, float pageHeight) {
+        float scale = dpi / 72f;
+        if (maxDimension != null) {
+            float largest = Math.max(pageWidth, pageHeight);
+            scale = Math.min(scale, maxDimension / largest);
+        }
+        return scale;
+    }
+
+    /**
+     * Indica se o resultado é um arquivo ZIP com uma entrada por página.
+     *
+     * Isso ocorre quando a seleção de páginas pode abranger mais de uma página
+     * ({@code all}, intervalos ou listas). Sem seleção, ou com uma única
+     * página, o resultado é um único arquivo.
+     *
+     * @return true se o resultado for um arquivo de páginas
+     */
+    public boolean isPageArchive() {
+        return pages != null && !pages.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Resolve a seleção de páginas para índices (a partir de zero).
+     *
+     * Aceita {@code all}, números e intervalos separados por vírgula, com
+     * páginas numeradas a partir de 1 (por exemplo, {@code 1-3,5}). Sem
+     * seleção, retorna apenas a primeira página. Páginas repetidas em
+     * intervalos sobrepostos (como {@code 1-3,2}) aparecem uma única vez, na
+     * posição da primeira ocorrência, já que cada página gera um arquivo.
+     *
+     * @param pageCount Número de páginas do documento
+     * @return Lista de índices de página distintos, na ordem solicitada
+     * @throws FileConversionException se a seleção for inválida
+     */
+    public List<Integer> resolvePageIndexes(int pageCount) {
+        List<Integer> indexes = new ArrayList<>();
+
+        if (pages == null) {
+            indexes.add(0);
+            return indexes;
+        }
+
+        if (ALL_PAGES.equals(pages)) {
+            for (int i = 0; i < pageCount; i++) {
+                indexes.add(i);
+            }
+            return indexes;
+        }
+
+        Set<Integer> selected = new LinkedHashSet<>();
+        try {
+            for (String part : pages.split(",")) {
+                String[] bounds = part.trim().split("-", 2);
+                int first = Integer.parseInt(bounds[0].trim());
+                int last = bounds.length == 2 ? Integer.parseInt(bounds[1].trim()) : first;
+
+                if (first < 1 || last < first || last > pageCount) {
+                    throw new FileConversionException(
+                            String.format("Intervalo de páginas inválido: %s (o documento tem %d páginas)",
+                                    part.trim(), pageCount));
+                }
+                for (int page = first; page <= last; page++) {
+                    selected.add(page - 1);
+                }
+            }
+        } catch (NumberFormatException ex) {
+            throw new FileConversionException("Seleção de páginas inválida: " + pages, ex);
+        }
+
+        indexes.addAll(selected);
+        return indexes;
+    }
+
+    /**
+     * Representação canônica das opções, usada na chave do cache.
+     *
+     * @return String que identifica as opções
+     */
+    public String fingerprint() {
+        return "pages=" + (pages == null ? "" : pages)
+                + ";dpi=" + dpi
+                + ";color=" + colorMode
+                + ";max=" + (maxDimension == null ? "" : maxDimension)
+                + ";quality=" + (quality == null ? "" : quality)
+                + ";compression=" + (compressionLevel == null ? "" : compressionLevel)
+                + ";progressive=" + progressive;
+    }
+
+    /**
+     * Enum que representa o modo de cor das imagens renderizadas.
+     */
+    public enum ColorMode {
+        RGB("Colorido"),
+        GRAY("Tons de cinza"),
+        BINARY("Preto e branco");
+
+        private final String description;
+
+        ColorMode(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -22,9 +22,30 @@ public enum ConversionType {
     JPG_TO_PNG("JPEG para PNG", FileFormat.JPG, FileFormat.PNG),
     PNG_TO_JPG("PNG para JPEG", FileFormat.PNG, FileFormat.JPG),
 
+    // Conversões de planilhas
+    XLSX_TO_CSV("Excel para CSV", FileFormat.XLSX, FileFormat.CSV),
+    XLSX_TO_PDF("Excel para PDF", FileFormat.XLSX, FileFormat.PDF),
+    XLS_TO_CSV("Excel (Legacy) para CSV", FileFormat.XLS, FileFormat.CSV),
+    XLS_TO_PDF("Excel (Legacy) para PDF", FileFormat.XLS, FileFormat.PDF),
+
+    // Conversões de apresentações
+    PPTX_TO_PDF("PowerPoint para PDF", FileFormat.PPTX, FileFormat.PDF),
+    PPTX_TO_JPG("PowerPoint para JPEG", FileFormat.PPTX, FileFormat.JPG),
+    PPTX_TO_PNG("PowerPoint para PNG", FileFormat.PPTX, FileFormat.PNG),
+
     // Outras conversões
     DOCX_TO_TXT("Word para Texto", FileFormat.DOCX, FileFormat.TXT);
 
+    /** Tipos de conversão indexados por formato de origem e destino. */
+    private static final ConversionType[][] BY_FORMATS =
+            new ConversionType[FileFormat.values().length][FileFormat.values().length];
+
+    static {
+        for (ConversionType type : values()) {
+            BY_FORMATS[type.sourceFormat.ordinal()][type.targetFormat.ordinal()] = type;
+        }
+    }
+
     private final String description;
     private final FileFormat sourceFormat;
     private final FileFormat targetFormat;
@@ -62,17 +83,18 @@ public enum ConversionType {
      * @return ConversionType correspondente ou null se não encontrado
      */
     public static ConversionType findByFormats(FileFormat source, FileFormat target) {
-        for (ConversionType type : ConversionType.values()) {
-            if (type.getSourceFormat() == source && type.getTargetFormat() == target) {
-                return type;
-            }
+        if (source == null || target == null) {
+            return null;
         }
-        return null;
+        return BY_FORMATS[source.ordinal()][target.ordinal()];
     }
 
     /**
      * Verifica se a conversão entre os formatos é suportada.
      *
+     * Indica apenas se o tipo de conversão existe; se há motor que o
+     * implemente é decidido pelo registro de motores de conversão.
+     *
      * @param source Formato de origem
      * @param target Formato de destino
      * @return true se a conversão é suportada, false caso contrário
@@ -18,11 +18,14 @@ public class ConvertedFile {
     private FileFormat sourceFormat;
     private FileFormat targetFormat;
     private ConversionType conversionType;
+    private String contentHash;
+    private volatile String convertedContentHash;
     private long originalSize;
     private long convertedSize;
+    private boolean archive;
     private LocalDateTime conversionDate;
-    private ConversionStatus status;
-    private String errorMessage;
+    private volatile ConversionStatus status;
+    private volatile String errorMessage;
 
     /**
      * Construtor padrão.
@@ -33,6 +36,18 @@ public class ConvertedFile {
         this.status = ConversionStatus.PENDING;
     }
 
+    /**
+     * Construtor de uma conversão já registrada, com ID e data conhecidos.
+     *
+     * @param id             ID da conversão
+     * @param conversionDate Data da conversão
+     */
+    public ConvertedFile(String id, LocalDateTime conversionDate) {
+        this.id = id;
+        this.conversionDate = conversionDate;
+        this.status = ConversionStatus.PENDING;
+    }
+
     /**
      * Construtor com parâmetros principais.
      *
@@ -114,6 +129,22 @@ public class ConvertedFile {
         this.conversionType = conversionType;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getConvertedContentHash() {
+        return convertedContentHash;
+    }
+
+    public void setConvertedContentHash(String convertedContentHash) {
+        this.convertedContentHash = convertedContentHash;
+    }
+
     public long getOriginalSize() {
         return originalSize;
     }
@@ -130,6 +161,14 @@ public class ConvertedFile {
         this.convertedSize = convertedSize;
     }
 
+    public boolean isArchive() {
+        return archive;
+    }
+
+    public void setArchive(boolean archive) {
+        this.archive = archive;
+    }
+
     public LocalDateTime getConversionDate() {
         return conversionDate;
     }
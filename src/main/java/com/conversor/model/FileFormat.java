@@ -13,6 +13,7 @@ public enum FileFormat {
     XLS("Excel Spreadsheet (Legacy)", "application/vnd.ms-excel", ".xls"),
     PPTX("PowerPoint Presentation", "application/vnd.openxmlformats-officedocument.presentationml.presentation", ".pptx"),
     TXT("Text File", "text/plain", ".txt"),
+    CSV("Comma-Separated Values", "text/csv", ".csv"),
     JPG("JPEG Image", "image/jpeg", ".jpg"),
     PNG("PNG Image", "image/png", ".png");
 
@@ -0,0 +1,41 @@
+package com.conversor.model;
+
+import java.nio.file.Path;
+
+/**
+ * Classe que representa um arquivo enviado já armazenado em disco.
+ *
+ * Guarda, além do caminho, o tamanho e o hash SHA-256 do conteúdo,
+ * calculado no armazenamento do upload.
+ */
+public class StoredUpload {
+
+    private final Path path;
+    private final long size;
+    private final String contentHash;
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param path        Caminho do arquivo armazenado
+     * @param size        Tamanho em bytes
+     * @param contentHash Hash SHA-256 do conteúdo, em hexadecimal
+     */
+    public StoredUpload(Path path, long size, String contentHash) {
+        this.path = path;
+        this.size = size;
+        this.contentHash = contentHash;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+}
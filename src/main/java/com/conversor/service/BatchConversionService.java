@@ -0,0 +1,327 @@
+package com.conversor.service;
+
+import com.conversor.dto.BatchItemResult;
+import com.conversor.dto.BatchManifest;
+import com.conversor.exception.FileConversionException;
+import com.conversor.exception.FileStorageException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Serviço de conversões em lote.
+ *
+ * Os arquivos do lote são validados e armazenados na thread da requisição;
+ * as conversões rodam em paralelo em um pool limitado e cada resultado é
+ * gravado no ZIP de resposta assim que fica pronto. Falhas de arquivos
+ * individuais não interrompem o lote: ficam registradas no manifesto,
+ * gravado como última entrada do ZIP.
+ */
+@Service
+public class BatchConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchConversionService.class);
+
+    /** Nome da entrada do manifesto no ZIP. */
+    public static final String MANIFEST_ENTRY = "manifest.json";
+
+    private static final int COPY_BUFFER_SIZE = 65536;
+
+    private final FileConversionService conversionService;
+    private final ThreadPoolTaskExecutor batchExecutor;
+    private final ObjectMapper objectMapper;
+    private final int maxFiles;
+
+    /**
+     * Construtor do serviço de lotes.
+     *
+     * @param conversionService Serviço de conversão
+     * @param batchExecutor     Pool das conversões em lote
+     * @param objectMapper      Serializador do manifesto
+     * @param maxFiles          Número máximo de arquivos por lote
+     */
+    public BatchConversionService(FileConversionService conversionService,
+                                  @Qualifier("batchExecutor") ThreadPoolTaskExecutor batchExecutor,
+                                  ObjectMapper objectMapper,
+                                  @Value("${conversion.batch.max-files:200}") int maxFiles) {
+        this.conversionService = conversionService;
+        this.batchExecutor = batchExecutor;
+        this.objectMapper = objectMapper;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Valida e armazena os arquivos de um lote.
+     *
+     * Arquivos vazios, com formato de destino inválido ou com conversão não
+     * suportada não interrompem o lote: são registrados como falhas.
+     *
+     * @param files         Arquivos do lote
+     * @param defaultFormat Formato de destino dos arquivos sem formato próprio
+     * @param targetFormats Formatos de destino por arquivo, na ordem dos arquivos (opcional)
+     * @param options       Opções aplicadas a todas as conversões
+     * @return Lote pronto para conversão
+     * @throws FileConversionException se o lote for inválido como um todo
+     */
+    public BatchJob prepare(MultipartFile[] files, FileFormat defaultFormat, List<String> targetFormats,
+                            ConversionOptions options) {
+        if (files == null || files.length == 0) {
+            throw new FileConversionException("Nenhum arquivo enviado");
+        }
+        if (files.length > maxFiles) {
+            throw new FileConversionException(
+                    String.format("O lote tem %d arquivos; o máximo é %d", files.length, maxFiles));
+        }
+        if (targetFormats != null && !targetFormats.isEmpty() && targetFormats.size() != files.length) {
+            throw new FileConversionException(
+                    "Informe um formato de destino por arquivo ou nenhum (usa o formato padrão)");
+        }
+
+        List<BatchItem> items = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++) {
+            MultipartFile file = files[i];
+            String requestedFormat = targetFormats == null || targetFormats.isEmpty()
+                    ? defaultFormat.name()
+                    : targetFormats.get(i).trim().toUpperCase();
+
+            BatchItemResult result = new BatchItemResult(file.getOriginalFilename(), requestedFormat);
+            BatchItem item = new BatchItem(result);
+            items.add(item);
+
+            if (file.isEmpty()) {
+                item.fail("O arquivo não pode estar vazio");
+                continue;
+            }
+
+            try {
+                FileFormat targetFormat = FileFormat.valueOf(requestedFormat);
+                item.convertedFile = conversionService.registerConversion(file, targetFormat);
+                result.setFileId(item.convertedFile.getId());
+            } catch (IllegalArgumentException ex) {
+                item.fail("Formato de destino inválido: " + requestedFormat);
+            } catch (FileConversionException | FileStorageException ex) {
+                item.fail(ex.getMessage());
+            }
+        }
+
+        return new BatchJob(items, options);
+    }
+
+    /**
+     * Converte os arquivos do lote em paralelo e grava os resultados em um ZIP.
+     *
+     * No máximo um arquivo por thread do pool fica em conversão ao mesmo
+     * tempo; cada resultado é gravado no ZIP assim que fica pronto, seguido
+     * do manifesto ao final.
+     *
+     * @param job    Lote preparado
+     * @param output Saída do ZIP
+     * @throws IOException se houver erro de escrita
+     */
+    public void writeZip(BatchJob job, OutputStream output) throws IOException {
+        CompletionService<BatchItem> completion = new ExecutorCompletionService<>(batchExecutor);
+        Iterator<BatchItem> pending = job.items.stream()
+                .filter(item -> item.convertedFile != null)
+                .iterator();
+        int window = Math.max(1, batchExecutor.getMaxPoolSize());
+
+        List<Future<BatchItem>> futures = new ArrayList<>();
+        Set<String> entryNames = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(output, COPY_BUFFER_SIZE));
+
+        try {
+            int inFlight = 0;
+            while (inFlight < window && pending.hasNext()) {
+                futures.add(completion.submit(conversionTask(pending.next(), job.options)));
+                inFlight++;
+            }
+
+            while (inFlight > 0) {
+                BatchItem item = completion.take().get();
+                inFlight--;
+
+                if (pending.hasNext()) {
+                    futures.add(completion.submit(conversionTask(pending.next(), job.options)));
+                    inFlight++;
+                }
+
+                writeResult(zip, item, entryNames);
+            }
+
+            writeManifest(zip, job);
+            zip.finish();
+            zip.flush();
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Conversão em lote interrompida");
+        } catch (ExecutionException ex) {
+            throw new IOException("Erro na conversão em lote", ex.getCause());
+        } finally {
+            // Cliente desconectado ou erro de escrita: descarta o restante do lote
+            futures.forEach(future -> future.cancel(true));
+            for (BatchItem item : job.items) {
+                if (item.convertedFile != null
+                        && item.convertedFile.getStatus() == ConvertedFile.ConversionStatus.PENDING) {
+                    conversionService.abandonConversion(item.convertedFile, "Conversão em lote interrompida");
+                }
+            }
+        }
+    }
+
+    private Callable<BatchItem> conversionTask(BatchItem item, ConversionOptions options) {
+        return () -> {
+            try {
+                conversionService.runConversion(item.convertedFile, options);
+            } catch (RuntimeException ex) {
+                // O erro fica registrado no ConvertedFile e vai para o manifesto
+                logger.debug("Conversão em lote de {} falhou", item.result.getOriginalFilename());
+            }
+            return item;
+        };
+    }
+
+    /**
+     * Grava o resultado de uma conversão no ZIP, ou registra a falha.
+     */
+    private void writeResult(ZipOutputStream zip, BatchItem item, Set<String> entryNames) throws IOException {
+        ConvertedFile convertedFile = item.convertedFile;
+
+        if (convertedFile.getStatus() != ConvertedFile.ConversionStatus.COMPLETED) {
+            item.fail(convertedFile.getErrorMessage());
+            return;
+        }
+
+        String entryName = uniqueEntryName(convertedFile, entryNames);
+        Path convertedPath = Path.of(convertedFile.getConvertedFilePath());
+
+        // Formatos já comprimidos são gravados sem nova compressão
+        boolean stored = convertedFile.isArchive()
+                || convertedFile.getTargetFormat() == FileFormat.JPG
+                || convertedFile.getTargetFormat() == FileFormat.PNG;
+
+        try (FileChannel channel = FileChannel.open(convertedPath)) {
+            ZipEntry entry = new ZipEntry(entryName);
+            if (stored) {
+                long size = channel.size();
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(size);
+                entry.setCompressedSize(size);
+                entry.setCrc(crc(channel));
+                channel.position(0);
+            }
+
+            zip.putNextEntry(entry);
+            InputStream input = Channels.newInputStream(channel);
+            input.transferTo(zip);
+            zip.closeEntry();
+        }
+
+        item.result.setStatus(ConvertedFile.ConversionStatus.COMPLETED.name());
+        item.result.setEntry(entryName);
+        item.result.setSize(convertedFile.getConvertedSize());
+    }
+
+    private void writeManifest(ZipOutputStream zip, BatchJob job) throws IOException {
+        List<BatchItemResult> results = new ArrayList<>(job.items.size());
+        for (BatchItem item : job.items) {
+            results.add(item.result);
+        }
+
+        zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+        zip.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(new BatchManifest(results)));
+        zip.closeEntry();
+    }
+
+    /**
+     * Gera o nome da entrada no ZIP a partir do nome original, sem repetir
+     * nomes dentro do lote.
+     */
+    private static String uniqueEntryName(ConvertedFile convertedFile, Set<String> entryNames) {
+        String baseName = StringUtils.getFilename(StringUtils.cleanPath(convertedFile.getOriginalFilename()));
+        String stripped = StringUtils.stripFilenameExtension(baseName);
+        if (StringUtils.hasText(stripped)) {
+            baseName = stripped;
+        }
+
+        String extension = convertedFile.isArchive() ? ".zip" : convertedFile.getTargetFormat().getExtension();
+
+        String entryName = baseName + extension;
+        for (int copy = 2; !entryNames.add(entryName); copy++) {
+            entryName = baseName + "-" + copy + extension;
+        }
+        return entryName;
+    }
+
+    private static long crc(FileChannel channel) throws IOException {
+        CRC32 crc = new CRC32();
+        InputStream input = Channels.newInputStream(channel);
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            crc.update(buffer, 0, read);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Lote de conversões validado e armazenado.
+     */
+    public static final class BatchJob {
+        private final List<BatchItem> items;
+        private final ConversionOptions options;
+
+        private BatchJob(List<BatchItem> items, ConversionOptions options) {
+            this.items = items;
+            this.options = options;
+        }
+    }
+
+    /**
+     * Arquivo de um lote, com seu resultado no manifesto.
+     */
+    private static final class BatchItem {
+        private final BatchItemResult result;
+        private ConvertedFile convertedFile;
+
+        private BatchItem(BatchItemResult result) {
+            this.result = result;
+        }
+
+        private void fail(String error) {
+            result.setStatus(ConvertedFile.ConversionStatus.FAILED.name());
+            result.setError(error);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionPlan;
+import com.conversor.exception.ConversionThrottledException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Controle de admissão das conversões síncronas, ponderado pelo custo.
+ *
+ * Cada tipo de conversão tem um semáforo próprio com a mesma capacidade, e
+ * cada conversão ocupa tantas permissões quanto o peso configurado para o
+ * seu tipo; na renderização de PDFs em imagens, o peso cresce com a área da
+ * página na resolução pedida. Assim, conversões pesadas de um tipo esgotam
+ * só o semáforo desse tipo, e as baratas continuam sendo atendidas.
+ *
+ * A admissão não espera: sem permissões livres, a conversão é recusada na
+ * hora com {@link ConversionThrottledException}, antes mesmo de o upload ser
+ * armazenado, em vez de acumular threads do Tomcat.
+ */
+@Component
+public class ConversionAdmission {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionAdmission.class);
+
+    private static final long MIN_RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final ConversionMetrics conversionMetrics;
+    private final boolean enabled;
+    private final int capacity;
+    private final Map<ConversionType, Integer> weights = new EnumMap<>(ConversionType.class);
+    private final Map<ConversionType, Semaphore> permits = new EnumMap<>(ConversionType.class);
+
+    /**
+     * Permissões obtidas por uma conversão, devolvidas no {@link #close()}.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private static final Permit NONE = new Permit(new Semaphore[0], new int[0]);
+
+        private final Semaphore[] semaphores;
+        private final int[] amounts;
+
+        private Permit(Semaphore[] semaphores, int[] amounts) {
+            this.semaphores = semaphores;
+            this.amounts = amounts;
+        }
+
+        @Override
+        public void close() {
+            for (int i = 0; i < semaphores.length; i++) {
+                semaphores[i].release(amounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Construtor do controle de admissão.
+     *
+     * @param conversionMetrics Métricas das conversões recusadas
+     * @param enabled           Se false, todas as conversões são admitidas
+     * @param capacity          Permissões de cada tipo de conversão
+     * @param weights           Peso de cada tipo (nome do ConversionType → permissões); os demais pesam 1
+     */
+    public ConversionAdmission(
+            ConversionMetrics conversionMetrics,
+            @Value("${conversion.admission.enabled:true}") boolean enabled,
+            @Value("${conversion.admission.capacity:16}") int capacity,
+            @Value("#{${conversion.admission.weights:{:}}}") Map<String, Integer> weights) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("conversion.admission.capacity deve ser positivo");
+        }
+
+        this.conversionMetrics = conversionMetrics;
+        this.enabled = enabled;
+        this.capacity = capacity;
+
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            ConversionType type;
+            try {
+                type = ConversionType.valueOf(weight.getKey().trim());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(
+                        "Tipo de conversão desconhecido em conversion.admission.weights: " + weight.getKey(), ex);
+            }
+            if (weight.getValue() <= 0 || weight.getValue() > capacity) {
+                throw new IllegalArgumentException(String.format(
+                        "Peso de %s deve estar entre 1 e %d", type, capacity));
+            }
+            this.weights.put(type, weight.getValue());
+        }
+        for (ConversionType type : ConversionType.values()) {
+            permits.put(type, new Semaphore(capacity));
+        }
+
+        if (enabled) {
+            logger.info("Admissão de conversões: {} permissões por tipo, pesos {}", capacity, this.weights);
+        }
+    }
+
+    /**
+     * Admite uma conversão, obtendo as permissões de cada etapa do plano.
+     *
+     * @param plan    Plano da conversão (null quando não há caminho; a validação fica com o chamador)
+     * @param options Opções da conversão
+     * @return Permissões a devolver quando a conversão terminar
+     * @throws ConversionThrottledException se algum tipo do plano estiver no limite
+     */
+    public Permit admit(ConversionPlan plan, ConversionOptions options) {
+        if (!enabled || plan == null) {
+            return Permit.NONE;
+        }
+
+        Semaphore[] semaphores = new Semaphore[plan.getSteps().size()];
+        int[] amounts = new int[semaphores.length];
+        for (int i = 0; i < semaphores.length; i++) {
+            ConversionType type = plan.getSteps().get(i);
+            Semaphore semaphore = permits.get(type);
+            int weight = weightOf(type, options);
+
+            if (!semaphore.tryAcquire(weight)) {
+                for (int acquired = 0; acquired < i; acquired++) {
+                    semaphores[acquired].release(amounts[acquired]);
+                }
+                conversionMetrics.recordAdmissionRejected(type.name());
+                logger.debug("Conversão {} recusada: {} permissões livres, {} necessárias",
+                        type, semaphore.availablePermits(), weight);
+                throw new ConversionThrottledException(
+                        "Muitas conversões " + type.getDescription() + " em andamento, tente novamente mais tarde",
+                        retryAfterSeconds(plan));
+            }
+            semaphores[i] = semaphore;
+            amounts[i] = weight;
+        }
+        return new Permit(semaphores, amounts);
+    }
+
+    /**
+     * Peso de uma conversão do tipo com as opções informadas.
+     *
+     * A renderização de páginas de PDF custa proporcionalmente à área da
+     * imagem, ou seja, ao quadrado da resolução.
+     *
+     * @param type    Tipo de conversão
+     * @param options Opções da conversão
+     * @return Permissões necessárias, entre 1 e a capacidade
+     */
+    int weightOf(ConversionType type, ConversionOptions options) {
+        double weight = weights.getOrDefault(type, 1);
+        if (type.getSourceFormat() == FileFormat.PDF
+                && (type.getTargetFormat() == FileFormat.JPG || type.getTargetFormat() == FileFormat.PNG)) {
+            double scale = (double) options.getDpi() / ConversionOptions.DEFAULT_DPI;
+            weight *= scale * scale;
+        }
+        return (int) Math.max(1, Math.min(capacity, Math.ceil(weight)));
+    }
+
+    /**
+     * Sugere esperar aproximadamente a duração estimada da conversão.
+     */
+    private static long retryAfterSeconds(ConversionPlan plan) {
+        long seconds = (long) Math.ceil(plan.getEstimatedMillis() / 1000);
+        return Math.max(MIN_RETRY_AFTER_SECONDS, Math.min(MAX_RETRY_AFTER_SECONDS, seconds));
+    }
+}
@@ -0,0 +1,415 @@
+package com.conversor.service;
+
+import com.conversor.model.ConvertedFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Histórico de conversões concorrente e limitado.
+ *
+ * As entradas são distribuídas em segmentos independentes (lock striping),
+ * cada um com seu próprio lock e sua própria lista LRU, de modo que
+ * requisições concorrentes só disputam o lock quando caem no mesmo segmento.
+ * Os limites de quantidade de entradas e de memória estimada são globais:
+ * quem insere acima do limite descarta primeiro as entradas menos usadas do
+ * próprio segmento e, se não bastar, as dos demais. Entradas não acessadas há
+ * mais que o TTL também são descartadas.
+ *
+ * Entradas descartadas têm o arquivo original e o convertido removidos do
+ * disco. Conversões ainda em andamento (PENDING/PROCESSING) nunca são
+ * descartadas, pois um worker ainda está usando seus arquivos.
+ */
+@Component
+public class ConversionHistoryStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionHistoryStore.class);
+
+    /** Custo fixo estimado de uma entrada (objetos, enums, datas e nós do mapa). */
+    private static final long ENTRY_OVERHEAD_BYTES = 512;
+
+    private final FileStorageService fileStorageService;
+    private final Segment[] segments;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private volatile Consumer<ConvertedFile> evictionListener;
+
+    /**
+     * Construtor do histórico.
+     *
+     * @param fileStorageService Serviço usado para remover os arquivos das entradas descartadas
+     * @param maxEntries         Número máximo de entradas
+     * @param maxMemory          Memória máxima estimada ocupada pelas entradas
+     * @param ttl                Tempo máximo sem acesso antes de uma entrada expirar
+     * @param stripes            Número de segmentos (locks) independentes
+     */
+    public ConversionHistoryStore(
+            FileStorageService fileStorageService,
+            @Value("${conversion.history.max-entries:10000}") int maxEntries,
+            @Value("${conversion.history.max-memory:16MB}") DataSize maxMemory,
+            @Value("${conversion.history.ttl:24h}") Duration ttl,
+            @Value("${conversion.history.stripes:16}") int stripes) {
+
+        if (maxEntries <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("max-entries e stripes devem ser positivos");
+        }
+
+        this.fileStorageService = fileStorageService;
+        this.segments = new Segment[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.segments[i] = new Segment();
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxMemory.toBytes();
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Insere ou substitui uma entrada, descartando as menos usadas se algum
+     * limite for ultrapassado.
+     *
+     * @param convertedFile Arquivo a registrar
+     */
+    public void put(ConvertedFile convertedFile) {
+        Segment segment = segmentFor(convertedFile.getId());
+        Entry entry = new Entry(convertedFile, estimateWeight(convertedFile), System.nanoTime());
+        List<Entry> evicted;
+
+        segment.lock.lock();
+        try {
+            Entry previous = segment.entries.put(convertedFile.getId(), entry);
+            if (previous != null) {
+                bytes.addAndGet(-previous.weight);
+            } else {
+                size.incrementAndGet();
+            }
+            bytes.addAndGet(entry.weight);
+            evicted = segment.evict(entry.lastAccessNanos, entry);
+        } finally {
+            segment.lock.unlock();
+        }
+        deleteFiles(evicted);
+
+        // O próprio segmento não tinha o que descartar: recorre aos demais
+        for (int i = 0; i < segments.length && isOverLimit(); i++) {
+            Segment other = segments[i];
+            if (other == segment) {
+                continue;
+            }
+            other.lock.lock();
+            try {
+                evicted = other.evict(System.nanoTime(), entry);
+            } finally {
+                other.lock.unlock();
+            }
+            deleteFiles(evicted);
+        }
+    }
+
+    /**
+     * Recupera uma entrada, marcando-a como usada recentemente.
+     *
+     * @param fileId ID do arquivo
+     * @return ConvertedFile ou null se não encontrado ou expirado
+     */
+    public ConvertedFile get(String fileId) {
+        Segment segment = segmentFor(fileId);
+        long now = System.nanoTime();
+        List<Entry> evicted;
+        ConvertedFile result = null;
+
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(fileId);
+            if (entry == null) {
+                return null;
+            }
+            if (segment.isExpired(entry, now) && !isInFlight(entry.file)) {
+                segment.discard(fileId, entry);
+                evicted = List.of(entry);
+            } else {
+                entry.lastAccessNanos = now;
+                result = entry.file;
+                evicted = List.of();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        deleteFiles(evicted);
+        return result;
+    }
+
+    /**
+     * Remove uma entrada sem apagar seus arquivos.
+     *
+     * @param fileId ID do arquivo
+     * @return ConvertedFile removido ou null se não encontrado
+     */
+    public ConvertedFile remove(String fileId) {
+        Segment segment = segmentFor(fileId);
+
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.remove(fileId);
+            if (entry == null) {
+                return null;
+            }
+            bytes.addAndGet(-entry.weight);
+            size.decrementAndGet();
+            return entry.file;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove uma entrada sem apagar seus arquivos, se ela atender à condição.
+     *
+     * A condição é avaliada com o lock do segmento adquirido, de modo que a
+     * entrada não é substituída entre a verificação e a remoção.
+     *
+     * @param fileId    ID do arquivo
+     * @param condition Condição para a remoção
+     * @return ConvertedFile removido ou null se não encontrado ou se a condição não foi atendida
+     */
+    public ConvertedFile removeIf(String fileId, Predicate<ConvertedFile> condition) {
+        Segment segment = segmentFor(fileId);
+
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(fileId);
+            if (entry == null || !condition.test(entry.file)) {
+                return null;
+            }
+            segment.entries.remove(fileId);
+            bytes.addAndGet(-entry.weight);
+            size.decrementAndGet();
+            return entry.file;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Obtém uma cópia de todas as entradas vigentes.
+     *
+     * @return Lista de arquivos convertidos
+     */
+    public List<ConvertedFile> values() {
+        List<ConvertedFile> result = new ArrayList<>(size.get());
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (Entry entry : segment.entries.values()) {
+                    result.add(entry.file);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Descarta todas as entradas expiradas, em todos os segmentos.
+     *
+     * @return Quantidade de entradas descartadas
+     */
+    public int purgeExpired() {
+        int purged = 0;
+        for (Segment segment : segments) {
+            List<Entry> evicted;
+            segment.lock.lock();
+            try {
+                evicted = segment.evict(System.nanoTime(), null);
+            } finally {
+                segment.lock.unlock();
+            }
+            deleteFiles(evicted);
+            purged += evicted.size();
+        }
+        return purged;
+    }
+
+    /**
+     * Obtém o número de entradas no histórico.
+     *
+     * @return Quantidade de entradas
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Obtém o número máximo de entradas do histórico.
+     *
+     * @return Limite de entradas
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Obtém o total de entradas descartadas por limite ou TTL.
+     *
+     * @return Quantidade de descartes desde a inicialização
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Registra o consumidor avisado de cada entrada descartada por limite ou
+     * TTL, depois da remoção dos seus arquivos.
+     *
+     * @param listener Consumidor das entradas descartadas
+     */
+    public void setEvictionListener(Consumer<ConvertedFile> listener) {
+        this.evictionListener = listener;
+    }
+
+    private boolean isOverLimit() {
+        return size.get() > maxEntries || bytes.get() > maxBytes;
+    }
+
+    /**
+     * Escolhe o segmento pelos bits altos de um hash multiplicativo: os bits
+     * baixos do hash são os que o HashMap de cada segmento usa para escolher
+     * o bucket, e repeti-los concentraria as entradas em poucos buckets.
+     */
+    private Segment segmentFor(String fileId) {
+        long hash = fileId.hashCode() * 0x9E3779B97F4A7C15L;
+        return segments[(int) ((hash >>> 32) % segments.length)];
+    }
+
+    private long estimateWeight(ConvertedFile file) {
+        long chars = length(file.getId())
+                + length(file.getOriginalFilename())
+                + length(file.getConvertedFilename())
+                + length(file.getOriginalFilePath())
+                + length(file.getConvertedFilePath())
+                + length(file.getErrorMessage());
+        return ENTRY_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private void deleteFiles(List<Entry> evicted) {
+        Consumer<ConvertedFile> listener = evictionListener;
+        for (Entry entry : evicted) {
+            ConvertedFile file = entry.file;
+            logger.debug("Descartando conversão {} do histórico", file.getId());
+            if (file.getOriginalFilePath() != null) {
+                fileStorageService.deleteFile(Path.of(file.getOriginalFilePath()));
+            }
+            if (file.getConvertedFilePath() != null) {
+                fileStorageService.deleteFile(Path.of(file.getConvertedFilePath()));
+            }
+            if (listener != null) {
+                listener.accept(file);
+            }
+        }
+    }
+
+    private static boolean isInFlight(ConvertedFile file) {
+        ConvertedFile.ConversionStatus status = file.getStatus();
+        return status == ConvertedFile.ConversionStatus.PENDING
+                || status == ConvertedFile.ConversionStatus.PROCESSING;
+    }
+
+    /**
+     * Entrada do histórico com peso estimado e instante do último acesso.
+     */
+    private static final class Entry {
+        private final ConvertedFile file;
+        private final long weight;
+        private long lastAccessNanos;
+
+        private Entry(ConvertedFile file, long weight, long lastAccessNanos) {
+            this.file = file;
+            this.weight = weight;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    /**
+     * Segmento do histórico: um LinkedHashMap em ordem de acesso protegido por um lock.
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private boolean isExpired(Entry entry, long now) {
+            return now - entry.lastAccessNanos > ttlNanos;
+        }
+
+        /**
+         * Remove, a partir da entrada menos usada, as expiradas e as que
+         * excedem os limites. Deve ser chamado com o lock adquirido.
+         *
+         * Como o mapa está em ordem de acesso e o TTL conta a partir do último
+         * acesso, as entradas expiradas formam um prefixo da iteração.
+         *
+         * @param now       Instante atual em nanossegundos
+         * @param justInserted Entrada recém-inserida, que não deve ser descartada
+         */
+        private List<Entry> evict(long now, Entry justInserted) {
+            List<Entry> evicted = null;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                boolean overLimit = isOverLimit();
+                Entry entry = iterator.next().getValue();
+                if (!overLimit && !isExpired(entry, now)) {
+                    break;
+                }
+                if (entry == justInserted || isInFlight(entry.file)) {
+                    continue;
+                }
+
+                iterator.remove();
+                bytes.addAndGet(-entry.weight);
+                size.decrementAndGet();
+                evictionCount.incrementAndGet();
+                if (evicted == null) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(entry);
+            }
+
+            return evicted == null ? List.of() : evicted;
+        }
+
+        /**
+         * Descarta uma entrada específica. Deve ser chamado com o lock adquirido.
+         */
+        private void discard(String fileId, Entry entry) {
+            entries.remove(fileId);
+            bytes.addAndGet(-entry.weight);
+            size.decrementAndGet();
+            evictionCount.incrementAndGet();
+        }
+    }
+}
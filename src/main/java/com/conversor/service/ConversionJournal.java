@@ -0,0 +1,815 @@
+package com.conversor.service;
+
+import com.conversor.exception.FileStorageException;
+import com.conversor.model.ConversionType;
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Diário em disco das conversões, que recupera o histórico após reinicializações.
+ *
+ * Cada mudança de estado de um ConvertedFile é acrescentada ao fim do diário
+ * como um registro binário com CRC32. Os registros são acumulados em memória
+ * e gravados por uma thread própria em lotes, com um único fsync por lote: uma
+ * queda perde no máximo o último intervalo de gravação.
+ *
+ * Quando os diários desde o último snapshot passam do limite de compactação,
+ * o diário é rotacionado para uma nova geração e as entradas vigentes do
+ * histórico são gravadas em segundo plano em um snapshot, que substitui as
+ * gerações anteriores. Na inicialização, o último snapshot completo é lido em
+ * blocos grandes, os diários a partir da sua geração são reaplicados
+ * (registros truncados por uma gravação interrompida são descartados) e o
+ * resultado é devolvido ao {@link ConversionHistoryStore}, que é o índice em
+ * memória. Conversões que estavam em andamento ficam como FAILED, e as
+ * concluídas cujo arquivo não existe mais são descartadas; essas correções
+ * vão para o novo diário, sem gravar um snapshot durante a inicialização.
+ */
+@Component
+public class ConversionJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionJournal.class);
+
+    static final String INTERRUPTED_MESSAGE = "Conversão interrompida pela reinicialização do servidor";
+
+    private static final String LOG_PREFIX = "journal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    /** Último registro de um snapshot completo, com o número de entradas. */
+    private static final byte OP_END = 3;
+
+    /** Tamanho e CRC32 do registro. */
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int IO_BUFFER_SIZE = 1024 * 1024;
+
+    /** Registros pendentes acima deste tamanho antecipam a gravação. */
+    private static final int EAGER_FLUSH_BYTES = 1024 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final ConversionHistoryStore conversionHistory;
+    private final boolean enabled;
+    private final Path directory;
+    private final long flushIntervalMillis;
+    private final long compactThresholdBytes;
+
+    /** Protege os registros pendentes e o estado de encerramento. */
+    private final Object lock = new Object();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private boolean closed;
+
+    // Usados apenas pela thread de gravação, depois da recuperação
+    private FileChannel logChannel;
+    private long generation;
+    /** Bytes de diário desde o último snapshot. */
+    private long logSize;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private Thread writer;
+    private volatile Thread snapshotWriter;
+
+    /**
+     * Construtor do diário, que recupera o histórico gravado em disco.
+     *
+     * @param fileStorageService Serviço de armazenamento, para conferir os arquivos convertidos
+     * @param conversionHistory  Histórico que recebe as entradas recuperadas
+     * @param enabled            Se false, nada é gravado nem recuperado
+     * @param directory          Diretório do diário
+     * @param flushInterval      Intervalo entre as gravações em lote (com fsync)
+     * @param compactThreshold   Tamanho dos diários desde o último snapshot que dispara a compactação
+     */
+    public ConversionJournal(
+            FileStorageService fileStorageService,
+            ConversionHistoryStore conversionHistory,
+            @Value("${conversion.journal.enabled:true}") boolean enabled,
+            @Value("${conversion.journal.dir:journal}") String directory,
+            @Value("${conversion.journal.flush-interval:100ms}") Duration flushInterval,
+            @Value("${conversion.journal.compact-threshold:64MB}") DataSize compactThreshold) {
+
+        this.fileStorageService = fileStorageService;
+        this.conversionHistory = conversionHistory;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        this.compactThresholdBytes = compactThreshold.toBytes();
+
+        if (!enabled) {
+            logger.info("Diário de conversões desativado");
+            return;
+        }
+
+        try {
+            Files.createDirectories(this.directory);
+            recover();
+        } catch (IOException ex) {
+            throw new FileStorageException("Não foi possível recuperar o diário de conversões", ex);
+        }
+
+        writer = new Thread(this::runWriter, "conversion-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Registra o estado atual de uma conversão.
+     *
+     * O registro é gravado em disco no próximo lote, sem bloquear o chamador.
+     *
+     * @param convertedFile Conversão a registrar
+     */
+    public void record(ConvertedFile convertedFile) {
+        if (enabled) {
+            RecordBuffer record = new RecordBuffer();
+            encodePut(record, convertedFile);
+            append(record);
+        }
+    }
+
+    /**
+     * Registra a remoção de uma conversão do histórico.
+     *
+     * @param fileId ID da conversão
+     */
+    public void recordRemoval(String fileId) {
+        if (enabled) {
+            RecordBuffer record = new RecordBuffer();
+            record.start(OP_REMOVE).putString(fileId);
+            append(record);
+        }
+    }
+
+    /**
+     * Grava os registros pendentes e encerra a thread de gravação, aguardando
+     * o snapshot em andamento, se houver.
+     */
+    @Override
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+            Thread snapshot = snapshotWriter;
+            if (snapshot != null) {
+                snapshot.join();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(RecordBuffer record) {
+        int length = record.finish();
+        synchronized (lock) {
+            if (closed) {
+                logger.debug("Diário de conversões encerrado, registro descartado");
+                return;
+            }
+            pending.write(record.array(), 0, length);
+            if (pending.size() >= EAGER_FLUSH_BYTES) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Laço da thread de gravação: grava um lote a cada intervalo (ou antes,
+     * se os registros pendentes passarem do limite) e dispara a compactação
+     * quando os diários ficam grandes demais.
+     */
+    private void runWriter() {
+        while (true) {
+            byte[] batch;
+            boolean stopping;
+            synchronized (lock) {
+                if (!closed && pending.size() < EAGER_FLUSH_BYTES) {
+                    try {
+                        lock.wait(flushIntervalMillis);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        closed = true;
+                    }
+                }
+                batch = pending.toByteArray();
+                // Um pico de registros não deixa um buffer grande para trás
+                pending = new ByteArrayOutputStream(Math.min(batch.length, EAGER_FLUSH_BYTES));
+                stopping = closed;
+            }
+
+            try {
+                writeBatch(batch);
+                if (stopping) {
+                    logChannel.close();
+                    logger.info("Diário de conversões encerrado");
+                    return;
+                }
+                if (logSize >= compactThresholdBytes && compacting.compareAndSet(false, true)) {
+                    startCompaction();
+                }
+            } catch (IOException ex) {
+                logger.error("Erro ao gravar o diário de conversões", ex);
+                if (stopping) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeBatch(byte[] batch) throws IOException {
+        if (batch.length == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch);
+        while (buffer.hasRemaining()) {
+            logChannel.write(buffer);
+        }
+        logChannel.force(false);
+        logSize += batch.length;
+    }
+
+    /**
+     * Rotaciona o diário e grava, em outra thread, um snapshot das entradas
+     * vigentes.
+     *
+     * O snapshot é tirado depois da rotação: todo registro das gerações
+     * anteriores já está refletido no histórico, e os registros seguintes vão
+     * para a nova geração, reaplicada sobre o snapshot na recuperação. As
+     * gerações anteriores só são apagadas depois que o snapshot está completo.
+     */
+    private void startCompaction() throws IOException {
+        FileChannel previous = logChannel;
+        logChannel = openLog(generation + 1);
+        previous.close();
+        generation++;
+        logSize = 0;
+
+        long snapshotGeneration = generation;
+        Thread thread = new Thread(() -> compact(snapshotGeneration), "conversion-journal-snapshot");
+        thread.setDaemon(true);
+        snapshotWriter = thread;
+        thread.start();
+    }
+
+    private void compact(long snapshotGeneration) {
+        long startTime = System.nanoTime();
+        try {
+            int entries = writeSnapshot(snapshotGeneration, conversionHistory.values());
+            deleteGenerationsBefore(snapshotGeneration);
+            logger.info("Diário de conversões compactado: {} entradas em {} ms",
+                    entries, (System.nanoTime() - startTime) / 1_000_000);
+        } catch (IOException ex) {
+            logger.error("Erro ao compactar o diário de conversões", ex);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Recupera o histórico a partir do último snapshot completo e dos
+     * diários seguintes, e inicia uma nova geração do diário.
+     */
+    private void recover() throws IOException {
+        long startTime = System.nanoTime();
+
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        List<Long> logs = generations(LOG_PREFIX, LOG_SUFFIX);
+
+        ReplayEntries entries = new ReplayEntries(conversionHistory.getMaxEntries());
+        long baseGeneration = 0;
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            // Um snapshot incompleto é descartado inteiro: nada é removido enquanto ele é lido
+            ReplayEntries loaded = new ReplayEntries(conversionHistory.getMaxEntries());
+            if (readSnapshot(snapshotPath(snapshots.get(i)), loaded)) {
+                entries = loaded;
+                baseGeneration = snapshots.get(i);
+                break;
+            }
+            logger.warn("Snapshot {} incompleto, ignorado", snapshotPath(snapshots.get(i)).getFileName());
+        }
+        entries.trim();
+
+        long replayed = 0;
+        long lastGeneration = baseGeneration;
+        for (long logGeneration : logs) {
+            if (logGeneration >= baseGeneration) {
+                try (FrameReader reader = new FrameReader(logPath(logGeneration))) {
+                    while (reader.next()) {
+                        apply(reader.payload(), entries);
+                        entries.trim();
+                        replayed++;
+                    }
+                    reader.warnIfTruncated();
+                    logSize += reader.consumed();
+                }
+                lastGeneration = Math.max(lastGeneration, logGeneration);
+            }
+        }
+
+        generation = lastGeneration + 1;
+        logChannel = openLog(generation);
+        deleteGenerationsBefore(baseGeneration);
+
+        // A partir daqui, descartes e correções vão para o novo diário
+        conversionHistory.setEvictionListener(file -> recordRemoval(file.getId()));
+
+        int interrupted = 0;
+        int missing = 0;
+        Set<String> convertedFiles = listConvertedFiles();
+        for (ConvertedFile file : entries.values()) {
+            ConvertedFile.ConversionStatus status = file.getStatus();
+            if (status == ConvertedFile.ConversionStatus.COMPLETED
+                    && !exists(file.getConvertedFilePath(), convertedFiles)) {
+                recordRemoval(file.getId());
+                missing++;
+                continue;
+            }
+            if (status == ConvertedFile.ConversionStatus.PENDING
+                    || status == ConvertedFile.ConversionStatus.PROCESSING) {
+                file.setErrorMessage(INTERRUPTED_MESSAGE);
+                file.setStatus(ConvertedFile.ConversionStatus.FAILED);
+                record(file);
+                interrupted++;
+            }
+            conversionHistory.put(file);
+        }
+
+        logger.info("Diário de conversões: {} entradas recuperadas ({} registros reaplicados, "
+                        + "{} interrompidas, {} sem arquivo, {} descartadas pelo limite) em {} ms",
+                conversionHistory.size(), replayed, interrupted, missing, entries.discarded,
+                (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * Entradas em reaplicação, limitadas ao número máximo de entradas do
+     * histórico, para que a memória da recuperação não cresça com o diário.
+     *
+     * O mapa fica em ordem de acesso, como o histórico: acima do limite, a
+     * entrada concluída (ou que falhou) regravada há mais tempo é descartada,
+     * com seus arquivos, como o histórico faria. O estado dessas entradas é
+     * final, e um registro posterior só poderia removê-las. Conversões em
+     * andamento nunca são descartadas, pois um registro seguinte as atualiza.
+     */
+    private final class ReplayEntries extends LinkedHashMap<String, ConvertedFile> {
+
+        private final int capacity;
+        private int discarded;
+
+        private ReplayEntries(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Descarta entradas concluídas até voltar ao limite.
+         */
+        private void trim() {
+            Iterator<ConvertedFile> iterator = values().iterator();
+            while (size() > capacity && iterator.hasNext()) {
+                ConvertedFile file = iterator.next();
+                ConvertedFile.ConversionStatus status = file.getStatus();
+                if (status == ConvertedFile.ConversionStatus.PENDING
+                        || status == ConvertedFile.ConversionStatus.PROCESSING) {
+                    continue;
+                }
+                iterator.remove();
+                if (file.getOriginalFilePath() != null) {
+                    fileStorageService.deleteFile(Path.of(file.getOriginalFilePath()));
+                }
+                if (file.getConvertedFilePath() != null) {
+                    fileStorageService.deleteFile(Path.of(file.getConvertedFilePath()));
+                }
+                recordRemoval(file.getId());
+                discarded++;
+            }
+        }
+    }
+
+    /**
+     * Lê um snapshot.
+     *
+     * @param path    Arquivo do snapshot
+     * @param entries Destino das entradas lidas
+     * @return true se o snapshot estiver completo
+     */
+    private static boolean readSnapshot(Path path, Map<String, ConvertedFile> entries) throws IOException {
+        try (FrameReader reader = new FrameReader(path)) {
+            int records = 0;
+            while (reader.next()) {
+                ByteBuffer payload = reader.payload();
+                if (payload.get(payload.position()) == OP_END) {
+                    return payload.remaining() == 5 && payload.getInt(payload.position() + 1) == records;
+                }
+                apply(payload, entries);
+                records++;
+            }
+        }
+        return false;
+    }
+
+    private static void apply(ByteBuffer payload, Map<String, ConvertedFile> entries) {
+        try {
+            byte op = payload.get();
+            if (op == OP_PUT) {
+                ConvertedFile file = decodeFile(payload);
+                entries.put(file.getId(), file);
+            } else if (op == OP_REMOVE) {
+                entries.remove(getString(payload));
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException ex) {
+            // Formato ou status que não existe mais nesta versão, ou registro de outra versão
+            logger.warn("Registro do diário ignorado: {}", ex.toString());
+        }
+    }
+
+    private int writeSnapshot(long snapshotGeneration, List<ConvertedFile> files) throws IOException {
+        Path target = snapshotPath(snapshotGeneration);
+        Path partial = directory.resolve(target.getFileName() + FileStorageService.PARTIAL_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER_SIZE);
+            RecordBuffer record = new RecordBuffer();
+            for (ConvertedFile file : files) {
+                encodePut(record, file);
+                output.write(record.array(), 0, record.finish());
+            }
+            record.start(OP_END).putInt(files.size());
+            output.write(record.array(), 0, record.finish());
+            output.flush();
+            channel.force(false);
+        }
+
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        return files.size();
+    }
+
+    /**
+     * Torna a criação e a renomeação de arquivos do diário duráveis.
+     * Nem todo sistema de arquivos permite abrir um diretório para isso.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            logger.debug("Não foi possível sincronizar o diretório do diário: {}", ex.getMessage());
+        }
+    }
+
+    private FileChannel openLog(long logGeneration) throws IOException {
+        FileChannel channel = FileChannel.open(logPath(logGeneration), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        syncDirectory();
+        return channel;
+    }
+
+    private void deleteGenerationsBefore(long keepGeneration) throws IOException {
+        for (long old : generations(LOG_PREFIX, LOG_SUFFIX)) {
+            if (old < keepGeneration) {
+                Files.deleteIfExists(logPath(old));
+            }
+        }
+        for (long old : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (old < keepGeneration) {
+                Files.deleteIfExists(snapshotPath(old));
+            }
+        }
+        // Snapshots interrompidos por uma queda
+        try (DirectoryStream<Path> partials = Files.newDirectoryStream(
+                directory, SNAPSHOT_PREFIX + "*" + FileStorageService.PARTIAL_SUFFIX)) {
+            for (Path partial : partials) {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    /**
+     * Lista as gerações existentes de um tipo de arquivo, em ordem crescente.
+     */
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    result.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException ex) {
+                    logger.debug("Arquivo ignorado no diretório do diário: {}", name);
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private Path logPath(long logGeneration) {
+        return directory.resolve(String.format("%s%010d%s", LOG_PREFIX, logGeneration, LOG_SUFFIX));
+    }
+
+    private Path snapshotPath(long snapshotGeneration) {
+        return directory.resolve(String.format("%s%010d%s", SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * Lista o diretório de convertidos de uma vez, em vez de consultar cada
+     * arquivo recuperado.
+     */
+    private Set<String> listConvertedFiles() throws IOException {
+        Set<String> files = new HashSet<>();
+        try (Stream<Path> listing = Files.list(fileStorageService.getConvertedLocation())) {
+            listing.forEach(path -> files.add(path.toString()));
+        }
+        return files;
+    }
+
+    private static boolean exists(String path, Set<String> convertedFiles) {
+        return path != null && (convertedFiles.contains(path) || Files.exists(Path.of(path)));
+    }
+
+    private static void encodePut(RecordBuffer record, ConvertedFile file) {
+        LocalDateTime date = file.getConversionDate();
+        record.start(OP_PUT)
+                .putString(file.getId())
+                .putString(file.getOriginalFilename())
+                .putString(file.getConvertedFilename())
+                .putString(file.getOriginalFilePath())
+                .putString(file.getConvertedFilePath())
+                .putString(nameOf(file.getSourceFormat()))
+                .putString(nameOf(file.getTargetFormat()))
+                .putString(nameOf(file.getConversionType()))
+                .putString(file.getContentHash())
+                .putString(file.getConvertedContentHash())
+                .putLong(file.getOriginalSize())
+                .putLong(file.getConvertedSize())
+                .putByte(file.isArchive() ? (byte) 1 : 0)
+                .putLong(date.toEpochSecond(ZoneOffset.UTC))
+                .putInt(date.getNano())
+                .putString(nameOf(file.getStatus()))
+                .putString(file.getErrorMessage());
+    }
+
+    private static ConvertedFile decodeFile(ByteBuffer payload) {
+        String id = getString(payload);
+        String originalFilename = getString(payload);
+        String convertedFilename = getString(payload);
+        String originalFilePath = getString(payload);
+        String convertedFilePath = getString(payload);
+        String sourceFormat = getString(payload);
+        String targetFormat = getString(payload);
+        String conversionType = getString(payload);
+        String contentHash = getString(payload);
+        String convertedContentHash = getString(payload);
+        long originalSize = payload.getLong();
+        long convertedSize = payload.getLong();
+        boolean archive = payload.get() != 0;
+        LocalDateTime date = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+
+        ConvertedFile file = new ConvertedFile(id, date);
+        file.setOriginalFilename(originalFilename);
+        file.setConvertedFilename(convertedFilename);
+        file.setOriginalFilePath(originalFilePath);
+        file.setConvertedFilePath(convertedFilePath);
+        file.setSourceFormat(sourceFormat == null ? null : FileFormat.valueOf(sourceFormat));
+        file.setTargetFormat(targetFormat == null ? null : FileFormat.valueOf(targetFormat));
+        file.setConversionType(conversionType == null ? null : ConversionType.valueOf(conversionType));
+        file.setContentHash(contentHash);
+        file.setConvertedContentHash(convertedContentHash);
+        file.setOriginalSize(originalSize);
+        file.setConvertedSize(convertedSize);
+        file.setArchive(archive);
+        file.setStatus(ConvertedFile.ConversionStatus.valueOf(getString(payload)));
+        file.setErrorMessage(getString(payload));
+        return file;
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static String getString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > payload.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(payload.array(), payload.arrayOffset() + payload.position(), length,
+                StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    /**
+     * Registro em montagem: tamanho e CRC32 seguidos do conteúdo, em um buffer
+     * que cresce conforme necessário e pode ser reutilizado.
+     */
+    private static final class RecordBuffer {
+
+        private ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        private RecordBuffer start(byte op) {
+            buffer.clear();
+            buffer.position(FRAME_HEADER_BYTES);
+            return putByte(op);
+        }
+
+        private RecordBuffer putByte(byte value) {
+            ensure(1).put(value);
+            return this;
+        }
+
+        private RecordBuffer putInt(int value) {
+            ensure(4).putInt(value);
+            return this;
+        }
+
+        private RecordBuffer putLong(long value) {
+            ensure(8).putLong(value);
+            return this;
+        }
+
+        private RecordBuffer putString(String value) {
+            if (value == null) {
+                return putInt(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length).putInt(bytes.length).put(bytes);
+            return this;
+        }
+
+        /**
+         * Preenche o cabeçalho do registro.
+         *
+         * @return Tamanho do registro, a partir do início de {@link #array()}
+         */
+        private int finish() {
+            int length = buffer.position() - FRAME_HEADER_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), FRAME_HEADER_BYTES, length);
+            buffer.putInt(0, length);
+            buffer.putInt(4, (int) crc.getValue());
+            return buffer.position();
+        }
+
+        private byte[] array() {
+            return buffer.array();
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Leitor de registros de um arquivo do diário, em blocos grandes.
+     *
+     * Para no fim do arquivo ou no primeiro registro truncado ou com CRC
+     * inválido.
+     */
+    private static final class FrameReader implements Closeable {
+
+        private final Path path;
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        private int dataLimit = -1;
+        private int payloadEnd;
+        private long consumed;
+
+        private FrameReader(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        /**
+         * Avança para o próximo registro válido.
+         *
+         * @return false no fim do arquivo ou em um registro inválido
+         */
+        private boolean next() throws IOException {
+            if (dataLimit >= 0) {
+                buffer.limit(dataLimit);
+                buffer.position(payloadEnd);
+                dataLimit = -1;
+            }
+            if (!fill(FRAME_HEADER_BYTES)) {
+                return false;
+            }
+            int length = buffer.getInt(buffer.position());
+            if (length <= 0 || length > MAX_RECORD_BYTES || !fill(FRAME_HEADER_BYTES + length)) {
+                return false;
+            }
+
+            int start = buffer.position() + FRAME_HEADER_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), start, length);
+            if ((int) crc.getValue() != buffer.getInt(buffer.position() + 4)) {
+                return false;
+            }
+
+            consumed += FRAME_HEADER_BYTES + length;
+            payloadEnd = start + length;
+            dataLimit = buffer.limit();
+            buffer.position(start);
+            buffer.limit(payloadEnd);
+            return true;
+        }
+
+        /**
+         * Conteúdo do registro atual, limitado ao registro.
+         */
+        private ByteBuffer payload() {
+            return buffer;
+        }
+
+        /**
+         * Bytes dos registros válidos lidos até aqui.
+         */
+        private long consumed() {
+            return consumed;
+        }
+
+        private void warnIfTruncated() throws IOException {
+            long size = channel.size();
+            if (consumed < size) {
+                logger.warn("Diário {}: {} bytes finais inválidos descartados", path.getFileName(), size - consumed);
+            }
+        }
+
+        private boolean fill(int needed) throws IOException {
+            if (buffer.remaining() >= needed) {
+                return true;
+            }
+            if (buffer.capacity() < needed) {
+                ByteBuffer larger = ByteBuffer.allocate(needed);
+                larger.put(buffer);
+                buffer = larger;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < needed && channel.read(buffer) >= 0) {
+                // Lê até ter o registro inteiro ou chegar ao fim do arquivo
+            }
+            buffer.flip();
+            return buffer.remaining() >= needed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.conversor.service;
+
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas do pipeline de conversão, publicadas pelo Micrometer.
+ *
+ * Expostas pelo Actuator (inclusive no formato Prometheus), registram o
+ * tempo de cada etapa por tipo de conversão, o tamanho das entradas e
+ * saídas, as falhas por tipo de exceção, o estado do histórico e do cache e
+ * a limpeza do armazenamento.
+ */
+@Component
+public class ConversionMetrics {
+
+    private static final String TYPE_TAG = "type";
+
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong storageUsed = new AtomicLong();
+
+    /**
+     * Etapas cronometradas de uma conversão.
+     */
+    public enum Stage {
+        /** Armazenamento do upload (inclui o cálculo do hash). */
+        UPLOAD("upload"),
+        /** Abertura do documento de origem; parte da etapa de conversão. */
+        LOAD("load"),
+        /** Conversão propriamente dita. */
+        CONVERT("convert"),
+        /** Publicação do resultado e registro no cache. */
+        STORE("store");
+
+        private final String tagValue;
+
+        Stage(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    /**
+     * Construtor das métricas, que registra os medidores do histórico e do cache.
+     *
+     * @param registry          Registro de métricas
+     * @param conversionHistory Histórico de conversões
+     * @param resultCache       Cache de resultados
+     */
+    public ConversionMetrics(MeterRegistry registry, ConversionHistoryStore conversionHistory,
+                             ConversionResultCache resultCache) {
+        this.registry = registry;
+
+        Gauge.builder("conversion.in.flight", inFlight, AtomicInteger::get)
+                .description("Conversões em andamento")
+                .register(registry);
+        Gauge.builder("storage.used", storageUsed, AtomicLong::get)
+                .description("Espaço ocupado pelos uploads e convertidos na última limpeza")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("conversion.history.size", conversionHistory, ConversionHistoryStore::size)
+                .description("Conversões no histórico")
+                .register(registry);
+        FunctionCounter.builder("conversion.history.evictions", conversionHistory,
+                        ConversionHistoryStore::getEvictionCount)
+                .description("Conversões removidas do histórico por limite de tamanho ou memória")
+                .register(registry);
+        FunctionCounter.builder("conversion.cache.hits", resultCache, ConversionResultCache::getHitCount)
+                .description("Conversões atendidas pelo cache de resultados")
+                .register(registry);
+        FunctionCounter.builder("conversion.cache.misses", resultCache, ConversionResultCache::getMissCount)
+                .description("Conversões não encontradas no cache de resultados")
+                .register(registry);
+        Gauge.builder("conversion.cache.size", resultCache, ConversionResultCache::getTotalBytes)
+                .description("Espaço ocupado pelo cache de resultados")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Registra a duração de uma etapa.
+     *
+     * @param stage      Etapa da conversão
+     * @param type       Tipo de conversão (ver {@link #typeOf})
+     * @param startNanos Início da etapa, obtido de {@link System#nanoTime()}
+     */
+    public void recordStage(Stage stage, String type, long startNanos) {
+        Timer.builder("conversion.stage")
+                .description("Duração das etapas de conversão")
+                .tag("stage", stage.tagValue)
+                .tag(TYPE_TAG, type)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra os tamanhos de entrada e saída de uma conversão concluída.
+     *
+     * @param type        Tipo de conversão (ver {@link #typeOf})
+     * @param inputBytes  Tamanho do arquivo original
+     * @param outputBytes Tamanho do arquivo convertido
+     */
+    public void recordSizes(String type, long inputBytes, long outputBytes) {
+        DistributionSummary.builder("conversion.input.size")
+                .description("Tamanho dos arquivos originais")
+                .baseUnit("bytes")
+                .tag(TYPE_TAG, type)
+                .register(registry)
+                .record(inputBytes);
+        DistributionSummary.builder("conversion.output.size")
+                .description("Tamanho dos arquivos convertidos")
+                .baseUnit("bytes")
+                .tag(TYPE_TAG, type)
+                .register(registry)
+                .record(outputBytes);
+    }
+
+    /**
+     * Registra a falha de uma conversão.
+     *
+     * @param type  Tipo de conversão (ver {@link #typeOf})
+     * @param cause Exceção que causou a falha
+     */
+    public void recordFailure(String type, Throwable cause) {
+        Counter.builder("conversion.failures")
+                .description("Conversões que falharam, por tipo de exceção")
+                .tag(TYPE_TAG, type)
+                .tag("exception", cause.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Registra uma conversão recusada pelo controle de admissão.
+     *
+     * @param type Tipo de conversão no limite
+     */
+    public void recordAdmissionRejected(String type) {
+        Counter.builder("conversion.admission.rejected")
+                .description("Conversões recusadas por limite de conversões simultâneas do tipo")
+                .tag(TYPE_TAG, type)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Registra um arquivo removido pela limpeza do armazenamento.
+     *
+     * @param reason Motivo da remoção ({@code ttl} ou {@code quota})
+     * @param bytes  Tamanho do arquivo removido
+     */
+    public void recordStorageEviction(String reason, long bytes) {
+        DistributionSummary.builder("storage.evictions")
+                .description("Arquivos removidos pela limpeza do armazenamento")
+                .baseUnit("bytes")
+                .tag("reason", reason)
+                .register(registry)
+                .record(bytes);
+    }
+
+    /**
+     * Registra o espaço ocupado pelos uploads e convertidos.
+     *
+     * @param bytes Espaço ocupado, medido na última limpeza
+     */
+    public void recordStorageUsage(long bytes) {
+        storageUsed.set(bytes);
+    }
+
+    /**
+     * Marca o início de uma conversão.
+     */
+    public void conversionStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Marca o fim (com sucesso ou não) de uma conversão.
+     */
+    public void conversionFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Valor da tag de tipo de uma conversão entre dois formatos.
+     *
+     * Conversões encadeadas, que não têm um ConversionType próprio, usam o
+     * mesmo padrão de nome (por exemplo, {@code TXT_TO_PNG}).
+     *
+     * @param source Formato de origem
+     * @param target Formato de destino
+     * @return Nome do tipo de conversão
+     */
+    public static String typeOf(FileFormat source, FileFormat target) {
+        ConversionType type = ConversionType.findByFormats(source, target);
+        return type != null ? type.name() : source + "_TO_" + target;
+    }
+}
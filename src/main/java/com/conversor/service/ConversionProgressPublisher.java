@@ -0,0 +1,211 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionProgress;
+import com.conversor.dto.ConversionProgressEvent;
+import com.conversor.dto.ConversionResponse;
+import com.conversor.model.ConversionType;
+import com.conversor.model.ConvertedFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica o andamento das conversões em fluxos SSE (Server-Sent Events).
+ *
+ * Cada cliente abre um fluxo por conversão e recebe dois tipos de evento:
+ * {@code status}, com a {@link ConversionResponse} completa, a cada mudança
+ * de status, e {@code progress}, com as páginas concluídas e os bytes
+ * gravados, informados pelos motores. O fluxo começa com o status atual e é
+ * encerrado quando a conversão termina.
+ *
+ * Os eventos de andamento de uma conversão são enviados no máximo a cada
+ * {@code conversion.progress.min-interval}, exceto o da última página e o
+ * do total de páginas, e só são montados se houver alguém ouvindo. Enquanto
+ * o total não é conhecido, as páginas seguem o intervalo mínimo.
+ */
+@Component
+public class ConversionProgressPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionProgressPublisher.class);
+
+    static final String STATUS_EVENT = "status";
+    static final String PROGRESS_EVENT = "progress";
+
+    private final ConcurrentMap<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final long minIntervalNanos;
+
+    /**
+     * Construtor do publicador.
+     *
+     * @param timeout     Tempo máximo de um fluxo aberto
+     * @param minInterval Intervalo mínimo entre eventos de andamento de uma conversão
+     */
+    public ConversionProgressPublisher(
+            @Value("${conversion.progress.timeout:PT10M}") Duration timeout,
+            @Value("${conversion.progress.min-interval:200ms}") Duration minInterval) {
+        this.timeoutMillis = timeout.toMillis();
+        this.minIntervalNanos = minInterval.toNanos();
+    }
+
+    /**
+     * Abre um fluxo de eventos de uma conversão.
+     *
+     * O primeiro evento é o status atual; se a conversão já terminou, o
+     * fluxo é encerrado em seguida.
+     *
+     * @param convertedFile Conversão acompanhada
+     * @return Fluxo SSE
+     */
+    public SseEmitter subscribe(ConvertedFile convertedFile) {
+        String fileId = convertedFile.getId();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> unsubscribe(fileId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unsubscribe(fileId, emitter));
+
+        // Inscreve antes de ler o status, para não perder o fim da conversão
+        subscribers.computeIfAbsent(fileId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        ConversionResponse current = new ConversionResponse(convertedFile);
+        if (send(fileId, emitter, STATUS_EVENT, current) && isFinished(convertedFile.getStatus())) {
+            unsubscribe(fileId, emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Envia o status atual da conversão aos fluxos abertos, encerrando-os se
+     * a conversão terminou.
+     *
+     * @param convertedFile Conversão cujo status mudou
+     */
+    public void publishStatus(ConvertedFile convertedFile) {
+        String fileId = convertedFile.getId();
+        boolean finished = isFinished(convertedFile.getStatus());
+        List<SseEmitter> emitters = finished ? subscribers.remove(fileId) : subscribers.get(fileId);
+        if (emitters == null) {
+            return;
+        }
+
+        ConversionResponse response = new ConversionResponse(convertedFile);
+        for (SseEmitter emitter : emitters) {
+            if (send(fileId, emitter, STATUS_EVENT, response) && finished) {
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Cria o receptor do andamento de uma conversão, passado aos motores.
+     *
+     * @param convertedFile Conversão em execução
+     * @return Receptor que publica nos fluxos da conversão
+     */
+    public ConversionProgress track(ConvertedFile convertedFile) {
+        return new TrackedProgress(convertedFile.getId());
+    }
+
+    private static boolean isFinished(ConvertedFile.ConversionStatus status) {
+        return status == ConvertedFile.ConversionStatus.COMPLETED || status == ConvertedFile.ConversionStatus.FAILED;
+    }
+
+    /**
+     * Envia um evento; um cliente desconectado sai da lista de inscritos.
+     */
+    private boolean send(String fileId, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // Cliente desconectado, ou fluxo já encerrado pelo fim da conversão
+            logger.debug("Fluxo de andamento de {} encerrado: {}", fileId, ex.getMessage());
+            unsubscribe(fileId, emitter);
+            return false;
+        }
+    }
+
+    private void unsubscribe(String fileId, SseEmitter emitter) {
+        subscribers.computeIfPresent(fileId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    /**
+     * Andamento de uma conversão, publicado nos fluxos abertos para ela.
+     */
+    private final class TrackedProgress implements ConversionProgress {
+
+        private final String fileId;
+        private final AtomicInteger pagesCompleted = new AtomicInteger();
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private final AtomicLong lastPublished = new AtomicLong(System.nanoTime());
+        private volatile int step;
+        private volatile int steps = 1;
+        private volatile ConversionType type;
+        private volatile int pagesTotal;
+
+        private TrackedProgress(String fileId) {
+            this.fileId = fileId;
+        }
+
+        @Override
+        public void stepStarted(int step, int steps, ConversionType type) {
+            this.step = step;
+            this.steps = steps;
+            this.type = type;
+            pagesTotal = 0;
+            pagesCompleted.set(0);
+            bytesWritten.set(0);
+        }
+
+        @Override
+        public void pagesPlanned(int pages) {
+            pagesTotal = pages;
+            publish(true);
+        }
+
+        @Override
+        public void pagesCompleted(int pages, long bytes) {
+            int completed = pagesCompleted.addAndGet(pages);
+            bytesWritten.addAndGet(bytes);
+            publish(pagesTotal > 0 && completed >= pagesTotal);
+        }
+
+        private void publish(boolean force) {
+            List<SseEmitter> emitters = subscribers.get(fileId);
+            if (emitters == null) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            long last = lastPublished.get();
+            if (!force && (now - last < minIntervalNanos || !lastPublished.compareAndSet(last, now))) {
+                return;
+            }
+            lastPublished.set(now);
+
+            ConversionType currentType = type;
+            ConversionProgressEvent event = new ConversionProgressEvent(fileId, step + 1, steps,
+                    currentType != null ? currentType.name() : null,
+                    pagesCompleted.get(), pagesTotal, bytesWritten.get());
+            for (SseEmitter emitter : emitters) {
+                send(fileId, emitter, PROGRESS_EVENT, event);
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.conversor.service;
+
+import com.conversor.model.FileFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de resultados de conversão endereçado pelo conteúdo.
+ *
+ * A chave combina o hash SHA-256 do arquivo enviado, os formatos de origem
+ * e de destino e as opções da conversão. O formato de origem entra na chave
+ * porque vem da extensão do arquivo: os mesmos bytes enviados com outra
+ * extensão seguem outro caminho de conversão. Cada resultado fica em um arquivo próprio no
+ * subdiretório {@code .cache} dos convertidos, cujo nome é a própria chave;
+ * assim o índice pode ser reconstruído a partir do disco na inicialização.
+ *
+ * Resultados entram e saem do cache por hard link sempre que o sistema de
+ * arquivos permite, de modo que um acerto não copia bytes. O tamanho total
+ * é limitado, com descarte dos resultados menos usados.
+ */
+@Component
+public class ConversionResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionResultCache.class);
+
+    private final FileStorageService fileStorageService;
+    private final Path cacheLocation;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Construtor do cache.
+     *
+     * @param fileStorageService Serviço de armazenamento de arquivos
+     * @param enabled            Se o cache está habilitado
+     * @param maxSize            Tamanho máximo ocupado pelos resultados em cache
+     */
+    public ConversionResultCache(
+            FileStorageService fileStorageService,
+            @Value("${conversion.cache.enabled:true}") boolean enabled,
+            @Value("${conversion.cache.max-size:1GB}") DataSize maxSize) {
+
+        this.fileStorageService = fileStorageService;
+        this.cacheLocation = fileStorageService.getConvertedLocation().resolve(".cache");
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+
+        if (enabled) {
+            loadExistingEntries();
+        }
+    }
+
+    /**
+     * Monta a chave de cache de uma conversão.
+     *
+     * @param contentHash  Hash SHA-256 do arquivo enviado
+     * @param sourceFormat Formato de origem, determinado pela extensão do arquivo enviado
+     * @param targetFormat Formato de destino
+     * @param options      Representação canônica das opções da conversão
+     * @return Chave de cache, também usada como nome do arquivo em cache
+     */
+    public String key(String contentHash, FileFormat sourceFormat, FileFormat targetFormat, String options) {
+        return contentHash + "." + sourceFormat.name() + "." + targetFormat.name() + "." + digestOptions(options);
+    }
+
+    /**
+     * Materializa um resultado em cache no destino informado.
+     *
+     * @param key    Chave de cache
+     * @param target Caminho onde o resultado deve ser disponibilizado
+     * @return true em caso de acerto, false se o resultado não estiver em cache
+     */
+    public boolean copyTo(String key, Path target) {
+        if (!enabled) {
+            return false;
+        }
+
+        CachedResult cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+
+        if (cached != null) {
+            try {
+                linkOrCopy(cached.path, target);
+                hits.incrementAndGet();
+                logger.debug("Resultado obtido do cache: {}", key);
+                return true;
+            } catch (IOException ex) {
+                // Descartado por outra thread entre a consulta e o link
+                logger.debug("Resultado em cache indisponível: {}", key, ex);
+            }
+        }
+
+        misses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Adiciona um resultado de conversão ao cache.
+     *
+     * @param key           Chave de cache
+     * @param convertedFile Arquivo convertido a ser guardado
+     */
+    public void put(String key, Path convertedFile) {
+        if (!enabled) {
+            return;
+        }
+
+        Path cachedPath = cacheLocation.resolve(key);
+        long size;
+        try {
+            linkOrCopy(convertedFile, cachedPath);
+            size = Files.size(cachedPath);
+        } catch (FileAlreadyExistsException ex) {
+            // Outra conversão do mesmo conteúdo já guardou o resultado
+            return;
+        } catch (IOException ex) {
+            logger.warn("Não foi possível guardar o resultado em cache: {}", key, ex);
+            return;
+        }
+
+        List<CachedResult> evicted;
+        synchronized (this) {
+            CachedResult previous = entries.put(key, new CachedResult(cachedPath, size));
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += size;
+            evicted = evictOverflow();
+        }
+
+        deleteEvicted(evicted);
+    }
+
+    /**
+     * Obtém o número de acertos do cache.
+     *
+     * @return Quantidade de acertos desde a inicialização
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Obtém o número de falhas do cache.
+     *
+     * @return Quantidade de falhas desde a inicialização
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Obtém o tamanho total ocupado pelos resultados em cache.
+     *
+     * @return Tamanho em bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Remove os resultados menos usados até o cache voltar ao limite.
+     * Deve ser chamado com o monitor adquirido.
+     */
+    private List<CachedResult> evictOverflow() {
+        List<CachedResult> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, CachedResult>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            CachedResult cached = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= cached.size;
+            evicted.add(cached);
+        }
+        return evicted;
+    }
+
+    private void deleteEvicted(List<CachedResult> evicted) {
+        for (CachedResult cached : evicted) {
+            fileStorageService.deleteFile(cached.path);
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir dos arquivos já presentes no diretório do
+     * cache, do mais antigo para o mais recente.
+     */
+    private void loadExistingEntries() {
+        try {
+            Files.createDirectories(cacheLocation);
+
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheLocation)) {
+                for (Path path : stream) {
+                    if (Files.isRegularFile(path)) {
+                        files.add(path);
+                    }
+                }
+            }
+            files.sort(Comparator.comparing(ConversionResultCache::lastModified));
+
+            List<CachedResult> evicted;
+            synchronized (this) {
+                for (Path path : files) {
+                    long size = Files.size(path);
+                    entries.put(path.getFileName().toString(), new CachedResult(path, size));
+                    totalBytes += size;
+                }
+                evicted = evictOverflow();
+            }
+            deleteEvicted(evicted);
+
+            logger.info("Cache de conversões carregado: {} resultados, {} bytes", entries.size(), totalBytes);
+        } catch (IOException ex) {
+            logger.warn("Não foi possível carregar o cache de conversões", ex);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Cria um hard link para o arquivo de origem, copiando-o se o sistema de
+     * arquivos não suportar links.
+     */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException ex) {
+            throw ex;
+        } catch (UnsupportedOperationException | IOException ex) {
+            // Sem suporte a hard links (ou volumes distintos): recorre à cópia
+            Files.copy(source, target);
+        }
+    }
+
+    private static String digestOptions(String options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(options.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
+    }
+
+    /**
+     * Resultado em cache: caminho do arquivo e seu tamanho.
+     */
+    private static final class CachedResult {
+        private final Path path;
+        private final long size;
+
+        private CachedResult(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+}
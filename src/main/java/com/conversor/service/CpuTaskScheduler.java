@@ -0,0 +1,91 @@
+package com.conversor.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Despacha o trabalho de CPU das requisições para o pool de CPU.
+ *
+ * As requisições rodam em threads virtuais, que esperam I/O de clientes
+ * lentos sem ocupar uma thread do sistema; o trabalho de CPU, porém, ocupa a
+ * thread que carrega a thread virtual até terminar, e poucas conversões
+ * simultâneas bastariam para parar o I/O de todas as outras requisições.
+ * Chamado de uma thread virtual, {@link #call(CpuTask)} executa a tarefa no
+ * pool de CPU, de tamanho fixo, e a thread virtual só espera o resultado.
+ *
+ * Chamado de uma thread de plataforma (workers assíncronos, lotes ou o
+ * Tomcat sem threads virtuais), executa a tarefa na própria thread, que já
+ * pertence a um pool limitado.
+ */
+@Component
+public class CpuTaskScheduler {
+
+    /**
+     * Trabalho de CPU que pode falhar com erro de I/O.
+     *
+     * @param <T> Tipo do resultado
+     */
+    @FunctionalInterface
+    public interface CpuTask<T> {
+        T call() throws IOException;
+    }
+
+    private final AsyncTaskExecutor cpuExecutor;
+
+    /**
+     * Construtor do despachante.
+     *
+     * @param cpuExecutor Pool de CPU, com uma thread por núcleo
+     */
+    public CpuTaskScheduler(@Qualifier("cpuExecutor") AsyncTaskExecutor cpuExecutor) {
+        this.cpuExecutor = cpuExecutor;
+    }
+
+    /**
+     * Executa a tarefa no pool de CPU, se chamada de uma thread virtual, ou
+     * na própria thread.
+     *
+     * @param task Tarefa a executar
+     * @return Resultado da tarefa
+     * @throws IOException se a tarefa falhar com erro de I/O ou a espera for interrompida
+     */
+    public <T> T call(CpuTask<T> task) throws IOException {
+        if (!Thread.currentThread().isVirtual()) {
+            return task.call();
+        }
+
+        Future<T> future = cpuExecutor.submit(() -> {
+            try {
+                return task.call();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando o pool de CPU");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
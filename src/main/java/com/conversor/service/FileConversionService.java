@@ -1,27 +1,26 @@
 package com.conversor.service;
 
+import com.conversor.converter.ConversionPlan;
+import com.conversor.converter.ConversionPlanner;
+import com.conversor.converter.ConversionProgress;
+import com.conversor.converter.ConverterRegistry;
+import com.conversor.exception.ConversionRejectedException;
+import com.conversor.exception.ConversionThrottledException;
 import com.conversor.exception.FileConversionException;
-import com.conversor.model.ConversionType;
+import com.conversor.model.ConversionOptions;
 import com.conversor.model.ConvertedFile;
 import com.conversor.model.FileFormat;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
-import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.apache.pdfbox.rendering.PDFRenderer;
-import org.apache.pdfbox.text.PDFTextStripper;
+import com.conversor.model.StoredUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -30,314 +29,438 @@ import java.util.*;
 /**
  * Serviço responsável pela conversão de arquivos entre diferentes formatos.
  *
- * Implementa diversas conversões como PDF para DOCX, PDF para imagem,
- * imagem para PDF, entre outras.
+ * Coordena o armazenamento, o cache, o histórico (com seu diário em disco) e
+ * a execução das conversões; o caminho de cada conversão vem do {@link ConversionPlanner}
+ * e cada etapa é executada pelo motor registrado no {@link ConverterRegistry}.
  */
 @Service
 public class FileConversionService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileConversionService.class);
 
+    private static final long QUEUE_FULL_RETRY_AFTER_SECONDS = 5;
+
+    private static final String ZIP_EXTENSION = ".zip";
+
+    /** Separa o ID da conversão do nome original no nome do arquivo convertido. */
+    static final String CONVERTED_FILENAME_SEPARATOR = "_";
+
     private final FileStorageService fileStorageService;
-    private final Map<String, ConvertedFile> conversionHistory;
+    private final TaskExecutor conversionExecutor;
+    private final ConversionHistoryStore conversionHistory;
+    private final ConversionJournal conversionJournal;
+    private final ConversionResultCache resultCache;
+    private final ConverterRegistry converterRegistry;
+    private final ConversionPlanner conversionPlanner;
+    private final ConversionMetrics conversionMetrics;
+    private final ConversionAdmission conversionAdmission;
+    private final CpuTaskScheduler cpuTaskScheduler;
+    private final ConversionProgressPublisher progressPublisher;
+    private final boolean deleteOriginalAfterConversion;
 
     /**
      * Construtor do serviço de conversão.
      *
      * @param fileStorageService Serviço de armazenamento de arquivos
+     * @param conversionExecutor Pool de workers das conversões assíncronas
+     * @param conversionHistory  Histórico limitado de conversões
+     * @param conversionJournal  Diário em disco das mudanças de estado das conversões
+     * @param resultCache        Cache de resultados endereçado pelo conteúdo
+     * @param converterRegistry  Registro dos motores de conversão
+     * @param conversionPlanner  Planejador das conversões diretas e encadeadas
+     * @param conversionMetrics  Métricas das conversões
+     * @param conversionAdmission Controle de admissão das conversões síncronas
+     * @param cpuTaskScheduler   Despachante do trabalho de CPU das requisições para o pool de CPU
+     * @param progressPublisher  Publicador do andamento das conversões nos fluxos SSE
+     * @param deleteOriginalAfterConversion Se o arquivo original é removido assim que a conversão é concluída
      */
-    public FileConversionService(FileStorageService fileStorageService) {
+    public FileConversionService(FileStorageService fileStorageService,
+                                 @Qualifier("conversionExecutor") TaskExecutor conversionExecutor,
+                                 ConversionHistoryStore conversionHistory,
+                                 ConversionJournal conversionJournal,
+                                 ConversionResultCache resultCache,
+                                 ConverterRegistry converterRegistry,
+                                 ConversionPlanner conversionPlanner,
+                                 ConversionMetrics conversionMetrics,
+                                 ConversionAdmission conversionAdmission,
+                                 CpuTaskScheduler cpuTaskScheduler,
+                                 ConversionProgressPublisher progressPublisher,
+                                 @Value("${storage.delete-original-after-conversion:false}")
+                                 boolean deleteOriginalAfterConversion) {
         this.fileStorageService = fileStorageService;
-        this.conversionHistory = new HashMap<>();
+        this.conversionExecutor = conversionExecutor;
+        this.conversionHistory = conversionHistory;
+        this.conversionJournal = conversionJournal;
+        this.resultCache = resultCache;
+        this.converterRegistry = converterRegistry;
+        this.conversionPlanner = conversionPlanner;
+        this.conversionMetrics = conversionMetrics;
+        this.conversionAdmission = conversionAdmission;
+        this.cpuTaskScheduler = cpuTaskScheduler;
+        this.progressPublisher = progressPublisher;
+        this.deleteOriginalAfterConversion = deleteOriginalAfterConversion;
     }
 
     /**
      * Converte um arquivo para o formato desejado.
      *
+     * A conversão só começa se o {@link ConversionAdmission} admitir mais uma
+     * conversão do seu tipo; caso contrário, é recusada antes do upload ser
+     * armazenado.
+     *
      * @param file         Arquivo a ser convertido
      * @param targetFormat Formato de destino
+     * @param options      Opções da conversão
      * @return ConvertedFile com informações da conversão
-     * @throws FileConversionException se houver erro na conversão
+     * @throws FileConversionException      se houver erro na conversão
+     * @throws ConversionThrottledException se o limite de conversões do tipo foi atingido
      */
-    public ConvertedFile convertFile(MultipartFile file, FileFormat targetFormat) {
+    public ConvertedFile convertFile(MultipartFile file, FileFormat targetFormat, ConversionOptions options) {
         logger.info("Iniciando conversão: {} -> {}", file.getOriginalFilename(), targetFormat);
 
-        // Determina o formato de origem
         FileFormat sourceFormat = FileFormat.fromFilename(file.getOriginalFilename());
-        if (sourceFormat == null) {
-            throw new FileConversionException("Formato de arquivo não suportado");
-        }
+        ConversionPlan plan = sourceFormat == null
+                ? null
+                : conversionPlanner.plan(sourceFormat, targetFormat, file.getSize());
 
-        // Verifica se a conversão é suportada
-        if (!ConversionType.isSupported(sourceFormat, targetFormat)) {
-            throw new FileConversionException(
-                    String.format("Conversão de %s para %s não é suportada",
-                            sourceFormat, targetFormat));
-        }
-
-        // Armazena o arquivo original
-        Path uploadedFilePath = fileStorageService.storeUploadedFile(file);
-
-        // Cria o objeto ConvertedFile
-        ConvertedFile convertedFile = new ConvertedFile(
-                file.getOriginalFilename(),
-                sourceFormat,
-                targetFormat
-        );
-        convertedFile.setOriginalFilePath(uploadedFilePath.toString());
-        convertedFile.setOriginalSize(file.getSize());
-        convertedFile.setStatus(ConvertedFile.ConversionStatus.PROCESSING);
-
-        try {
-            // Realiza a conversão baseada no tipo
-            File convertedTempFile = performConversion(
-                    uploadedFilePath.toFile(),
-                    sourceFormat,
-                    targetFormat
-            );
-
-            // Gera nome para o arquivo convertido
-            String convertedFilename = generateConvertedFilename(
-                    file.getOriginalFilename(),
-                    targetFormat
-            );
-
-            // Armazena o arquivo convertido
-            Path convertedFilePath = fileStorageService.storeConvertedFile(
-                    convertedTempFile,
-                    convertedFilename
-            );
-
-            // Atualiza informações do arquivo convertido
-            convertedFile.setConvertedFilename(convertedFilename);
-            convertedFile.setConvertedFilePath(convertedFilePath.toString());
-            convertedFile.setConvertedSize(convertedTempFile.length());
-            convertedFile.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
-
-            // Limpa arquivo temporário
-            convertedTempFile.delete();
+        try (ConversionAdmission.Permit permit = conversionAdmission.admit(plan, options)) {
+            ConvertedFile convertedFile = prepareConversion(file, targetFormat);
+            executeConversion(convertedFile, options);
 
             // Armazena no histórico
-            conversionHistory.put(convertedFile.getId(), convertedFile);
-
-            logger.info("Conversão concluída com sucesso: {}", convertedFilename);
+            conversionHistory.put(convertedFile);
+            conversionJournal.record(convertedFile);
             return convertedFile;
-
-        } catch (Exception ex) {
-            convertedFile.setStatus(ConvertedFile.ConversionStatus.FAILED);
-            convertedFile.setErrorMessage(ex.getMessage());
-            logger.error("Erro na conversão: {}", ex.getMessage(), ex);
-            throw new FileConversionException("Erro ao converter arquivo: " + ex.getMessage(), ex);
         }
     }
 
     /**
-     * Realiza a conversão baseada nos formatos de origem e destino.
+     * Enfileira a conversão de um arquivo para execução assíncrona.
+     *
+     * A thread da requisição paga apenas pelo armazenamento do upload; o
+     * arquivo retorna no status PENDING e avança para PROCESSING e
+     * COMPLETED/FAILED no pool de workers.
      *
-     * @param sourceFile   Arquivo de origem
-     * @param sourceFormat Formato de origem
+     * @param file         Arquivo a ser convertido
      * @param targetFormat Formato de destino
-     * @return Arquivo temporário convertido
-     * @throws IOException                se houver erro de I/O
-     * @throws FileConversionException    se a conversão falhar
+     * @param options      Opções da conversão
+     * @return ConvertedFile no status PENDING
+     * @throws FileConversionException     se a conversão não for suportada
+     * @throws ConversionRejectedException se a fila de conversões estiver cheia
      */
-    private File performConversion(File sourceFile, FileFormat sourceFormat, FileFormat targetFormat)
-            throws IOException {
-
-        // PDF para outros formatos
-        if (sourceFormat == FileFormat.PDF) {
-            switch (targetFormat) {
-                case TXT:
-                    return convertPdfToTxt(sourceFile);
-                case JPG:
-                    return convertPdfToImage(sourceFile, "jpg");
-                case PNG:
-                    return convertPdfToImage(sourceFile, "png");
-                default:
-                    throw new FileConversionException("Conversão não implementada");
-            }
-        }
+    public ConvertedFile submitConversion(MultipartFile file, FileFormat targetFormat,
+                                          ConversionOptions options) {
+        logger.info("Enfileirando conversão: {} -> {}", file.getOriginalFilename(), targetFormat);
 
-        // Outros formatos para PDF
-        if (targetFormat == FileFormat.PDF) {
-            switch (sourceFormat) {
-                case TXT:
-                    return convertTxtToPdf(sourceFile);
-                case JPG:
-                case PNG:
-                    return convertImageToPdf(sourceFile);
-                default:
-                    throw new FileConversionException("Conversão não implementada");
-            }
-        }
+        ConvertedFile convertedFile = prepareConversion(file, targetFormat);
+        conversionHistory.put(convertedFile);
+        conversionJournal.record(convertedFile);
 
-        // Conversões entre imagens
-        if ((sourceFormat == FileFormat.JPG || sourceFormat == FileFormat.PNG) &&
-                (targetFormat == FileFormat.JPG || targetFormat == FileFormat.PNG)) {
-            return convertImageToImage(sourceFile, targetFormat);
+        try {
+            conversionExecutor.execute(() -> runQueuedConversion(convertedFile, options));
+        } catch (TaskRejectedException ex) {
+            conversionHistory.remove(convertedFile.getId());
+            conversionJournal.recordRemoval(convertedFile.getId());
+            fileStorageService.deleteFile(Path.of(convertedFile.getOriginalFilePath()));
+            logger.warn("Fila de conversão cheia, rejeitando {}", file.getOriginalFilename());
+            throw new ConversionRejectedException(
+                    "Fila de conversão cheia, tente novamente mais tarde", QUEUE_FULL_RETRY_AFTER_SECONDS, ex);
         }
 
-        throw new FileConversionException("Conversão não suportada");
+        return convertedFile;
     }
 
     /**
-     * Converte PDF para TXT.
+     * Armazena o arquivo e registra a conversão no histórico, sem executá-la.
+     *
+     * Usado pelas conversões em lote, que executam cada conversão com
+     * {@link #runConversion} no seu próprio pool.
      *
-     * @param pdfFile Arquivo PDF
-     * @return Arquivo TXT temporário
-     * @throws IOException se houver erro na conversão
+     * @param file         Arquivo a ser convertido
+     * @param targetFormat Formato de destino
+     * @return ConvertedFile no status PENDING
+     * @throws FileConversionException se a conversão não for suportada
      */
-    private File convertPdfToTxt(File pdfFile) throws IOException {
-        logger.debug("Convertendo PDF para TXT");
+    public ConvertedFile registerConversion(MultipartFile file, FileFormat targetFormat) {
+        ConvertedFile convertedFile = prepareConversion(file, targetFormat);
+        conversionHistory.put(convertedFile);
+        conversionJournal.record(convertedFile);
+        return convertedFile;
+    }
 
-        try (PDDocument document = PDDocument.load(pdfFile)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
+    /**
+     * Executa uma conversão registrada com {@link #registerConversion}.
+     *
+     * @param convertedFile Arquivo a ser convertido
+     * @param options       Opções da conversão
+     * @throws FileConversionException se houver erro na conversão
+     */
+    public void runConversion(ConvertedFile convertedFile, ConversionOptions options) {
+        try {
+            executeConversion(convertedFile, options);
+        } finally {
+            conversionJournal.record(convertedFile);
+        }
+    }
 
-            File txtFile = File.createTempFile("converted_", ".txt");
-            try (FileWriter writer = new FileWriter(txtFile)) {
-                writer.write(text);
-            }
+    /**
+     * Marca como FAILED uma conversão registrada que não chegou a ser executada.
+     *
+     * @param convertedFile Conversão registrada com {@link #registerConversion}
+     * @param errorMessage  Motivo da falha
+     */
+    public void abandonConversion(ConvertedFile convertedFile, String errorMessage) {
+        convertedFile.setErrorMessage(errorMessage);
+        convertedFile.setStatus(ConvertedFile.ConversionStatus.FAILED);
+        progressPublisher.publishStatus(convertedFile);
+        conversionJournal.record(convertedFile);
+    }
 
-            return txtFile;
+    /**
+     * Executa uma conversão enfileirada no pool de workers.
+     *
+     * Erros ficam registrados no próprio ConvertedFile (status FAILED),
+     * já que não há requisição aguardando a exceção.
+     *
+     * @param convertedFile Arquivo a ser convertido
+     * @param options       Opções da conversão
+     */
+    private void runQueuedConversion(ConvertedFile convertedFile, ConversionOptions options) {
+        try {
+            executeConversion(convertedFile, options);
+        } catch (RuntimeException ex) {
+            // O erro já está no ConvertedFile; deixá-lo escapar só o perderia no executor
+            logger.debug("Conversão assíncrona {} falhou", convertedFile.getId());
+        } finally {
+            conversionJournal.record(convertedFile);
         }
     }
 
     /**
-     * Converte PDF para imagem (JPG ou PNG).
+     * Valida a conversão, armazena o arquivo original e cria o registro PENDING.
      *
-     * @param pdfFile      Arquivo PDF
-     * @param imageFormat  Formato da imagem (jpg ou png)
-     * @return Arquivo de imagem temporário
-     * @throws IOException se houver erro na conversão
+     * @param file         Arquivo a ser convertido
+     * @param targetFormat Formato de destino
+     * @return ConvertedFile no status PENDING
+     * @throws FileConversionException se a conversão não for suportada
      */
-    private File convertPdfToImage(File pdfFile, String imageFormat) throws IOException {
-        logger.debug("Convertendo PDF para {}", imageFormat.toUpperCase());
-
-        try (PDDocument document = PDDocument.load(pdfFile)) {
-            PDFRenderer renderer = new PDFRenderer(document);
+    private ConvertedFile prepareConversion(MultipartFile file, FileFormat targetFormat) {
+        // Determina o formato de origem
+        FileFormat sourceFormat = FileFormat.fromFilename(file.getOriginalFilename());
+        if (sourceFormat == null) {
+            throw new FileConversionException("Formato de arquivo não suportado");
+        }
 
-            // Converte apenas a primeira página
-            BufferedImage image = renderer.renderImageWithDPI(0, 300);
+        // Verifica se há caminho, direto ou encadeado, para a conversão
+        if (!conversionPlanner.supports(sourceFormat, targetFormat)) {
+            throw new FileConversionException(
+                    String.format("Conversão de %s para %s não é suportada",
+                            sourceFormat, targetFormat));
+        }
 
-            File imageFile = File.createTempFile("converted_", "." + imageFormat);
-            ImageIO.write(image, imageFormat, imageFile);
+        // Armazena o arquivo original
+        long uploadStart = System.nanoTime();
+        StoredUpload storedUpload = fileStorageService.storeUploadedFile(file);
+        conversionMetrics.recordStage(ConversionMetrics.Stage.UPLOAD,
+                ConversionMetrics.typeOf(sourceFormat, targetFormat), uploadStart);
 
-            return imageFile;
-        }
+        // Cria o objeto ConvertedFile
+        ConvertedFile convertedFile = new ConvertedFile(
+                file.getOriginalFilename(),
+                sourceFormat,
+                targetFormat
+        );
+        convertedFile.setOriginalFilePath(storedUpload.getPath().toString());
+        convertedFile.setOriginalSize(storedUpload.getSize());
+        convertedFile.setContentHash(storedUpload.getContentHash());
+        return convertedFile;
     }
 
     /**
-     * Converte TXT para PDF.
+     * Executa a conversão de um arquivo já armazenado.
      *
-     * @param txtFile Arquivo TXT
-     * @return Arquivo PDF temporário
-     * @throws IOException se houver erro na conversão
+     * Se o mesmo conteúdo já foi convertido com o mesmo destino e opções, o
+     * resultado vem do cache, sem executar a conversão. As mudanças de status
+     * e o andamento informado pelos motores são publicados nos fluxos SSE.
+     *
+     * @param convertedFile Arquivo a ser convertido, com o original já armazenado
+     * @param options       Opções da conversão
+     * @throws FileConversionException se houver erro na conversão
      */
-    private File convertTxtToPdf(File txtFile) throws IOException {
-        logger.debug("Convertendo TXT para PDF");
-
-        File pdfFile = File.createTempFile("converted_", ".pdf");
-
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-
-            // Lê o conteúdo do arquivo TXT
-            String content = Files.readString(txtFile.toPath());
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                contentStream.beginText();
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
-                contentStream.setLeading(14.5f);
-                contentStream.newLineAtOffset(50, 750);
-
-                // Escreve o texto linha por linha
-                String[] lines = content.split("\n");
-                for (String line : lines) {
-                    // Limita o tamanho da linha para caber na página
-                    if (line.length() > 80) {
-                        line = line.substring(0, 80);
-                    }
-                    contentStream.showText(line);
-                    contentStream.newLine();
-                }
-
-                contentStream.endText();
+    private void executeConversion(ConvertedFile convertedFile, ConversionOptions options) {
+        String type = ConversionMetrics.typeOf(convertedFile.getSourceFormat(), convertedFile.getTargetFormat());
+        conversionMetrics.conversionStarted();
+        try {
+            convertedFile.setStatus(ConvertedFile.ConversionStatus.PROCESSING);
+            progressPublisher.publishStatus(convertedFile);
+
+            ConversionPlan plan = conversionPlanner.plan(
+                    convertedFile.getSourceFormat(), convertedFile.getTargetFormat(), convertedFile.getOriginalSize());
+            if (plan == null) {
+                throw new FileConversionException("Conversão não suportada");
+            }
+            // Só a última etapa grava arquivo, e só ela pode gerar um ZIP
+            convertedFile.setArchive(converterRegistry.producesArchive(
+                    plan.getLastStep(), options, convertedFile.getOriginalSize()));
+
+            String cacheKey = resultCache.key(convertedFile.getContentHash(), convertedFile.getSourceFormat(),
+                    convertedFile.getTargetFormat(), options.fingerprint());
+            if (completeFromCache(convertedFile, cacheKey)) {
+                conversionMetrics.recordSizes(type, convertedFile.getOriginalSize(), convertedFile.getConvertedSize());
+                releaseOriginal(convertedFile);
+                return;
             }
 
-            document.save(pdfFile);
+            // Gera nome para o arquivo convertido
+            String convertedFilename = generateConvertedFilename(convertedFile);
+
+            // O conversor escreve direto no diretório de convertidos
+            Path partialFilePath = fileStorageService.createPartialConvertedFile(convertedFilename);
+
+            try {
+                // Realiza a conversão baseada no tipo
+                long convertStart = System.nanoTime();
+                performConversion(
+                        plan,
+                        new File(convertedFile.getOriginalFilePath()),
+                        options,
+                        partialFilePath.toFile(),
+                        progressPublisher.track(convertedFile)
+                );
+                conversionMetrics.recordStage(ConversionMetrics.Stage.CONVERT, type, convertStart);
+
+                // Publica o arquivo convertido com seu nome definitivo
+                long storeStart = System.nanoTime();
+                Path convertedFilePath = fileStorageService.commitConvertedFile(
+                        partialFilePath,
+                        convertedFilename
+                );
+
+                // Atualiza informações do arquivo convertido
+                convertedFile.setConvertedFilename(convertedFilename);
+                convertedFile.setConvertedFilePath(convertedFilePath.toString());
+                convertedFile.setConvertedSize(Files.size(convertedFilePath));
+                convertedFile.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+
+                resultCache.put(cacheKey, convertedFilePath);
+                conversionMetrics.recordStage(ConversionMetrics.Stage.STORE, type, storeStart);
+                conversionMetrics.recordSizes(type, convertedFile.getOriginalSize(), convertedFile.getConvertedSize());
+
+                logger.info("Conversão concluída com sucesso: {}", convertedFilename);
+                releaseOriginal(convertedFile);
+
+            } catch (Exception ex) {
+                fileStorageService.deleteFile(partialFilePath);
+                convertedFile.setErrorMessage(ex.getMessage());
+                convertedFile.setStatus(ConvertedFile.ConversionStatus.FAILED);
+                conversionMetrics.recordFailure(type, ex);
+                logger.error("Erro na conversão: {}", ex.getMessage(), ex);
+                throw new FileConversionException("Erro ao converter arquivo: " + ex.getMessage(), ex);
+            }
+        } catch (RuntimeException ex) {
+            // Falhas antes da conversão (plano, cache, arquivo parcial) também encerram a conversão
+            if (convertedFile.getStatus() == ConvertedFile.ConversionStatus.PROCESSING) {
+                convertedFile.setErrorMessage(ex.getMessage());
+                convertedFile.setStatus(ConvertedFile.ConversionStatus.FAILED);
+                conversionMetrics.recordFailure(type, ex);
+                logger.error("Erro na conversão: {}", ex.getMessage(), ex);
+            }
+            throw ex;
+        } finally {
+            conversionMetrics.conversionFinished();
+            progressPublisher.publishStatus(convertedFile);
         }
-
-        return pdfFile;
     }
 
     /**
-     * Converte imagem para PDF.
+     * Tenta concluir a conversão com um resultado em cache.
      *
-     * @param imageFile Arquivo de imagem
-     * @return Arquivo PDF temporário
-     * @throws IOException se houver erro na conversão
+     * @param convertedFile Arquivo a ser convertido
+     * @param cacheKey      Chave de cache da conversão
+     * @return true se o resultado veio do cache
      */
-    private File convertImageToPdf(File imageFile) throws IOException {
-        logger.debug("Convertendo imagem para PDF");
-
-        File pdfFile = File.createTempFile("converted_", ".pdf");
+    private boolean completeFromCache(ConvertedFile convertedFile, String cacheKey) {
+        String convertedFilename = generateConvertedFilename(convertedFile);
+        Path convertedFilePath = fileStorageService.getConvertedLocation().resolve(convertedFilename);
 
-        try (PDDocument document = new PDDocument()) {
-            BufferedImage bufferedImage = ImageIO.read(imageFile);
+        if (!resultCache.copyTo(cacheKey, convertedFilePath)) {
+            return false;
+        }
 
-            PDPage page = new PDPage(new PDRectangle(bufferedImage.getWidth(), bufferedImage.getHeight()));
-            document.addPage(page);
+        // O link herda as datas do resultado em cache, possivelmente antigas
+        fileStorageService.markAccessed(convertedFilePath);
 
-            PDImageXObject pdImage = PDImageXObject.createFromFile(imageFile.getAbsolutePath(), document);
+        convertedFile.setConvertedFilename(convertedFilename);
+        convertedFile.setConvertedFilePath(convertedFilePath.toString());
+        convertedFile.setConvertedSize(convertedFilePath.toFile().length());
+        convertedFile.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
 
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                contentStream.drawImage(pdImage, 0, 0);
-            }
+        logger.info("Conversão concluída a partir do cache: {}", convertedFilename);
+        return true;
+    }
 
-            document.save(pdfFile);
+    /**
+     * Remove o arquivo original de uma conversão concluída, quando configurado.
+     *
+     * O hash do conteúdo continua no ConvertedFile, então o cache de
+     * resultados não depende do original.
+     *
+     * @param convertedFile Conversão concluída
+     */
+    private void releaseOriginal(ConvertedFile convertedFile) {
+        String originalFilePath = convertedFile.getOriginalFilePath();
+        if (deleteOriginalAfterConversion && originalFilePath != null) {
+            fileStorageService.deleteFile(Path.of(originalFilePath));
+            convertedFile.setOriginalFilePath(null);
         }
-
-        return pdfFile;
     }
 
     /**
-     * Converte imagem para outro formato de imagem.
+     * Realiza a conversão seguindo o plano, com os motores registrados.
      *
-     * @param sourceFile   Arquivo de imagem de origem
-     * @param targetFormat Formato de destino
-     * @return Arquivo de imagem temporário
-     * @throws IOException se houver erro na conversão
+     * Em uma thread virtual de requisição, a conversão roda no pool de CPU.
+     *
+     * Visível no pacote para os benchmarks do perfil {@code jmh}.
+     *
+     * @param plan       Plano de conversão
+     * @param sourceFile Arquivo de origem
+     * @param options    Opções da conversão
+     * @param outputFile Arquivo onde o resultado deve ser escrito
+     * @param progress   Receptor do andamento informado pelos motores
+     * @throws IOException                se houver erro de I/O
+     * @throws FileConversionException    se a conversão falhar
      */
-    private File convertImageToImage(File sourceFile, FileFormat targetFormat) throws IOException {
-        logger.debug("Convertendo imagem para {}", targetFormat);
-
-        BufferedImage image = ImageIO.read(sourceFile);
-
-        String formatName = targetFormat == FileFormat.JPG ? "jpg" : "png";
-        File outputFile = File.createTempFile("converted_", targetFormat.getExtension());
-
-        ImageIO.write(image, formatName, outputFile);
-
-        return outputFile;
+    void performConversion(ConversionPlan plan, File sourceFile, ConversionOptions options, File outputFile,
+                           ConversionProgress progress) throws IOException {
+        logger.debug("Plano de conversão: {}", plan);
+        cpuTaskScheduler.call(() -> {
+            converterRegistry.convert(plan, sourceFile, options, outputFile, progress);
+            return null;
+        });
     }
 
     /**
      * Gera o nome do arquivo convertido.
      *
-     * @param originalFilename Nome do arquivo original
-     * @param targetFormat     Formato de destino
+     * O nome começa pelo ID da conversão, para que a limpeza do armazenamento
+     * encontre no histórico a conversão de cada arquivo.
+     *
+     * @param convertedFile Arquivo a ser convertido
      * @return Nome do arquivo convertido
      */
-    private String generateConvertedFilename(String originalFilename, FileFormat targetFormat) {
+    private String generateConvertedFilename(ConvertedFile convertedFile) {
+        String originalFilename = convertedFile.getOriginalFilename();
         String baseName = originalFilename;
         int dotIndex = originalFilename.lastIndexOf('.');
         if (dotIndex > 0) {
             baseName = originalFilename.substring(0, dotIndex);
         }
 
-        return UUID.randomUUID().toString() + "_" + baseName + targetFormat.getExtension();
+        String extension = convertedFile.isArchive()
+                ? ZIP_EXTENSION
+                : convertedFile.getTargetFormat().getExtension();
+
+        return convertedFile.getId() + CONVERTED_FILENAME_SEPARATOR + baseName + extension;
     }
 
     /**
@@ -356,6 +479,6 @@ public class FileConversionService {
      * @return Lista de arquivos convertidos
      */
     public List<ConvertedFile> getAllConvertedFiles() {
-        return new ArrayList<>(conversionHistory.values());
+        return conversionHistory.values();
     }
 }
@@ -1,6 +1,7 @@
 package com.conversor.service;
 
 import com.conversor.exception.FileStorageException;
+import com.conversor.model.StoredUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,13 +11,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 /**
@@ -29,6 +36,11 @@ public class FileStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
+    /** Sufixo dos arquivos convertidos ainda sendo escritos. */
+    public static final String PARTIAL_SUFFIX = ".part";
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
     private final Path uploadLocation;
     private final Path convertedLocation;
 
@@ -57,11 +69,15 @@ public class FileStorageService {
     /**
      * Armazena um arquivo enviado pelo usuário.
      *
+     * Quando o upload já foi gravado em disco pelo container, o arquivo
+     * temporário é movido para o diretório de uploads em vez de copiado. O
+     * hash SHA-256 do conteúdo é calculado em seguida, com uma única leitura.
+     *
      * @param file Arquivo multipart enviado
-     * @return Path do arquivo armazenado
+     * @return StoredUpload com o caminho, o tamanho e o hash do arquivo armazenado
      * @throws FileStorageException se houver erro no armazenamento
      */
-    public Path storeUploadedFile(MultipartFile file) {
+    public StoredUpload storeUploadedFile(MultipartFile file) {
         // Normaliza o nome do arquivo
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
 
@@ -82,11 +98,11 @@ public class FileStorageService {
             String uniqueFilename = UUID.randomUUID().toString() + extension;
             Path targetLocation = this.uploadLocation.resolve(uniqueFilename);
 
-            // Copia o arquivo para o diretório de destino
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            // Move (ou, se necessário, copia) o arquivo para o diretório de destino
+            file.transferTo(targetLocation.toFile());
 
             logger.debug("Arquivo armazenado: {}", uniqueFilename);
-            return targetLocation;
+            return new StoredUpload(targetLocation, Files.size(targetLocation), hashContent(targetLocation));
 
         } catch (IOException ex) {
             throw new FileStorageException(
@@ -95,25 +111,39 @@ public class FileStorageService {
     }
 
     /**
-     * Armazena um arquivo convertido.
+     * Reserva no diretório de convertidos o arquivo parcial onde um conversor
+     * deve escrever seu resultado.
+     *
+     * Por ficar no mesmo diretório do destino final, o arquivo parcial pode
+     * ser publicado com uma renomeação atômica em {@link #commitConvertedFile}.
+     *
+     * @param filename Nome definitivo do arquivo convertido
+     * @return Path do arquivo parcial
+     * @throws FileStorageException se o nome for inválido
+     */
+    public Path createPartialConvertedFile(String filename) {
+        return resolveConvertedFile(filename + PARTIAL_SUFFIX);
+    }
+
+    /**
+     * Publica um arquivo convertido com seu nome definitivo.
      *
-     * @param sourceFile Arquivo de origem
-     * @param filename   Nome do arquivo convertido
+     * @param partialFile Arquivo parcial escrito pelo conversor
+     * @param filename    Nome definitivo do arquivo convertido
      * @return Path do arquivo convertido
      * @throws FileStorageException se houver erro no armazenamento
      */
-    public Path storeConvertedFile(File sourceFile, String filename) {
-        try {
-            String cleanFilename = StringUtils.cleanPath(filename);
+    public Path commitConvertedFile(Path partialFile, String filename) {
+        Path targetLocation = resolveConvertedFile(filename);
 
-            if (cleanFilename.contains("..")) {
-                throw new FileStorageException("Nome de arquivo inválido: " + filename);
+        try {
+            try {
+                Files.move(partialFile, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(partialFile, targetLocation, StandardCopyOption.REPLACE_EXISTING);
             }
 
-            Path targetLocation = this.convertedLocation.resolve(cleanFilename);
-            Files.copy(sourceFile.toPath(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            logger.debug("Arquivo convertido armazenado: {}", cleanFilename);
+            logger.debug("Arquivo convertido armazenado: {}", filename);
             return targetLocation;
 
         } catch (IOException ex) {
@@ -122,6 +152,59 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Resolve um nome de arquivo dentro do diretório de convertidos.
+     *
+     * @param filename Nome do arquivo
+     * @return Path do arquivo
+     * @throws FileStorageException se o nome for inválido
+     */
+    private Path resolveConvertedFile(String filename) {
+        String cleanFilename = StringUtils.cleanPath(filename);
+
+        if (cleanFilename.contains("..")) {
+            throw new FileStorageException("Nome de arquivo inválido: " + filename);
+        }
+
+        return this.convertedLocation.resolve(cleanFilename);
+    }
+
+    /**
+     * Calcula o hash SHA-256 do conteúdo de um arquivo armazenado.
+     *
+     * @param path Arquivo a ser lido
+     * @return Hash em hexadecimal
+     * @throws FileStorageException se houver erro de leitura
+     */
+    public String hashFile(Path path) {
+        try {
+            return hashContent(path);
+        } catch (IOException ex) {
+            throw new FileStorageException("Não foi possível ler o arquivo " + path.getFileName(), ex);
+        }
+    }
+
+    /**
+     * Calcula o hash SHA-256 do conteúdo de um arquivo.
+     *
+     * @param path Arquivo a ser lido
+     * @return Hash em hexadecimal
+     * @throws IOException se houver erro de leitura
+     */
+    private static String hashContent(Path path) throws IOException {
+        MessageDigest digest = newContentDigest();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+
+        try (InputStream input = Files.newInputStream(path)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Carrega um arquivo como Resource.
      *
@@ -169,6 +252,37 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Registra o uso de um arquivo, atualizando o seu último acesso.
+     *
+     * A limpeza do armazenamento descarta primeiro os arquivos usados há mais
+     * tempo. Só o horário de acesso muda: a data de modificação continua
+     * sendo a do conteúdo, usada no Last-Modified dos downloads.
+     *
+     * @param filePath Path do arquivo
+     */
+    public void markAccessed(Path filePath) {
+        try {
+            Files.getFileAttributeView(filePath, BasicFileAttributeView.class)
+                    .setTimes(null, FileTime.fromMillis(System.currentTimeMillis()), null);
+        } catch (IOException ex) {
+            logger.debug("Não foi possível registrar o acesso a {}: {}", filePath.getFileName(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Cria o digest usado para identificar o conteúdo dos arquivos.
+     *
+     * @return MessageDigest SHA-256
+     */
+    private static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
+    }
+
     /**
      * Obtém o diretório de uploads.
      *
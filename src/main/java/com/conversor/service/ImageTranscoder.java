@@ -0,0 +1,257 @@
+package com.conversor.service;
+
+import com.conversor.model.ConversionOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Motor de leitura e codificação de imagens JPG e PNG.
+ *
+ * Usa ImageReader e ImageWriter explícitos para controlar a qualidade do
+ * JPEG, o nível de compressão do PNG e o modo progressivo (entrelaçado, no
+ * PNG). Imagens muito grandes, ou com tamanho máximo definido nas opções,
+ * são lidas com subamostragem, sem alocar a imagem inteira em memória.
+ */
+@Component
+public class ImageTranscoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageTranscoder.class);
+
+    private static final String JPEG_FORMAT = "jpg";
+
+    /** Maior nível de compressão (deflate) do PNG. */
+    private static final int MAX_PNG_COMPRESSION_LEVEL = 9;
+
+    private final long maxPixels;
+
+    /**
+     * Construtor do motor de imagens.
+     *
+     * @param maxPixels Número máximo de pixels decodificados por imagem
+     */
+    public ImageTranscoder(@Value("${conversion.image.max-pixels:40000000}") long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Converte um arquivo de imagem para o formato informado.
+     *
+     * @param sourceFile  Arquivo de imagem de origem
+     * @param targetFile  Arquivo de imagem de saída
+     * @param imageFormat Formato de destino (jpg ou png)
+     * @param options     Opções da conversão
+     * @throws IOException se a imagem não puder ser lida ou codificada
+     */
+    public void transcode(File sourceFile, File targetFile, String imageFormat, ConversionOptions options)
+            throws IOException {
+        write(read(sourceFile, options), imageFormat, options, targetFile);
+    }
+
+    /**
+     * Lê uma imagem, com subamostragem se ela exceder o número máximo de
+     * pixels ou o tamanho máximo definido nas opções.
+     *
+     * @param sourceFile Arquivo de imagem
+     * @param options    Opções da conversão
+     * @return Imagem decodificada
+     * @throws IOException se a imagem não puder ser lida
+     */
+    public BufferedImage read(File sourceFile, ConversionOptions options) throws IOException {
+        return read(sourceFile, sourceFile.getName(), options);
+    }
+
+    /**
+     * Lê uma imagem de um stream, como uma imagem intermediária mantida em
+     * memória, com a mesma subamostragem de {@link #read(File, ConversionOptions)}.
+     *
+     * @param source  Stream da imagem codificada
+     * @param options Opções da conversão
+     * @return Imagem decodificada
+     * @throws IOException se a imagem não puder ser lida
+     */
+    public BufferedImage read(InputStream source, ConversionOptions options) throws IOException {
+        return read(source, "em memória", options);
+    }
+
+    private BufferedImage read(Object source, String name, ConversionOptions options) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                throw new IOException("Não foi possível abrir a imagem " + name);
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagem não reconhecido");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                // Leitura apenas para frente e sem metadados, que não são usados
+                reader.setInput(input, true, true);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = subsamplingStep(width, height, options);
+                if (step > 1) {
+                    logger.debug("Lendo imagem {}x{} com subamostragem {}", width, height, step);
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Codifica uma imagem em um arquivo.
+     *
+     * @param image       Imagem
+     * @param imageFormat Formato da imagem (jpg ou png)
+     * @param options     Opções da conversão
+     * @param output      Arquivo de saída
+     * @throws IOException se não houver codificador para a imagem ou houver erro de escrita
+     */
+    public void write(BufferedImage image, String imageFormat, ConversionOptions options, File output)
+            throws IOException {
+        try (ImageOutputStream stream = new FileImageOutputStream(output)) {
+            write(image, imageFormat, options, stream);
+        }
+    }
+
+    /**
+     * Codifica uma imagem em memória.
+     *
+     * @param image       Imagem
+     * @param imageFormat Formato da imagem (jpg ou png)
+     * @param options     Opções da conversão
+     * @return Imagem codificada
+     * @throws IOException se não houver codificador para a imagem
+     */
+    public byte[] encode(BufferedImage image, String imageFormat, ConversionOptions options) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+            write(image, imageFormat, options, stream);
+        }
+        return output.toByteArray();
+    }
+
+    private void write(BufferedImage image, String imageFormat, ConversionOptions options, ImageOutputStream output)
+            throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(imageFormat);
+        if (!writers.hasNext()) {
+            throw new IOException("Nenhum codificador disponível para " + imageFormat.toUpperCase());
+        }
+
+        ImageWriter writer = writers.next();
+        try {
+            ImageWriteParam param = writeParam(writer, imageFormat, options);
+            BufferedImage encodable = JPEG_FORMAT.equals(imageFormat) ? toOpaqueRgb(image) : image;
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(encodable, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Monta os parâmetros do codificador a partir das opções.
+     *
+     * No PNG, o nível de compressão (0 a 9) é convertido na qualidade de
+     * compressão do ImageWriter, em que 1 equivale a nenhuma compressão.
+     */
+    private static ImageWriteParam writeParam(ImageWriter writer, String imageFormat, ConversionOptions options) {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+
+        if (options.isProgressive() && param.canWriteProgressive()) {
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
+
+        if (param.canWriteCompressed()) {
+            Float compressionQuality = null;
+            if (JPEG_FORMAT.equals(imageFormat) && options.getQuality() != null) {
+                compressionQuality = options.getQuality() / 100f;
+            } else if (!JPEG_FORMAT.equals(imageFormat) && options.getCompressionLevel() != null) {
+                compressionQuality = 1f - options.getCompressionLevel() / (float) MAX_PNG_COMPRESSION_LEVEL;
+            }
+
+            if (compressionQuality != null) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(compressionQuality);
+            }
+        }
+
+        return param;
+    }
+
+    /**
+     * Converte a imagem para RGB opaco, exigido pelo codificador JPEG.
+     *
+     * Áreas transparentes ficam brancas, em vez do preto (ou das cores
+     * trocadas) que o codificador produziria com o canal alfa.
+     */
+    private static BufferedImage toOpaqueRgb(BufferedImage image) {
+        int type = image.getType();
+        if (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_3BYTE_BGR
+                || type == BufferedImage.TYPE_BYTE_GRAY) {
+            return image;
+        }
+
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Calcula o passo de subamostragem para respeitar o número máximo de
+     * pixels e o tamanho máximo definido nas opções.
+     */
+    private int subsamplingStep(int width, int height, ConversionOptions options) {
+        int step = 1;
+
+        long pixels = (long) width * height;
+        if (pixels > maxPixels) {
+            step = (int) Math.ceil(Math.sqrt((double) pixels / maxPixels));
+        }
+
+        Integer maxDimension = options.getMaxDimension();
+        if (maxDimension != null) {
+            int largest = Math.max(width, height);
+            step = Math.max(step, (largest + maxDimension - 1) / maxDimension);
+        }
+
+        return step;
+    }
+}
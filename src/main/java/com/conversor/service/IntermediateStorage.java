@@ -0,0 +1,170 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionInput;
+import com.conversor.model.FileFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Guarda os documentos intermediários das conversões encadeadas com uso de
+ * memória limitado.
+ *
+ * Um documento intermediário é escrito em memória enquanto cabe no limite;
+ * ao passar dele, o que já foi escrito vai para um arquivo temporário e o
+ * restante é escrito direto no arquivo, como o {@link PdfDocumentLoader} faz
+ * com os streams dos PDFs. O arquivo temporário pertence à entrada criada
+ * para a próxima etapa e é removido quando ela é fechada.
+ */
+@Component
+public class IntermediateStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntermediateStorage.class);
+
+    private static final int FILE_WRITE_BUFFER_SIZE = 65536;
+
+    private final long maxMemoryBytes;
+    private final File scratchDirectory;
+
+    /**
+     * Construtor do armazenamento.
+     *
+     * @param maxMemory  Memória máxima por documento intermediário
+     * @param scratchDir Diretório dos arquivos temporários (vazio usa o padrão do sistema)
+     */
+    public IntermediateStorage(
+            @Value("${conversion.intermediate.max-memory:64MB}") DataSize maxMemory,
+            @Value("${conversion.pdf.scratch-dir:}") String scratchDir) {
+
+        // Limite do ByteArrayOutputStream
+        this.maxMemoryBytes = Math.min(maxMemory.toBytes(), Integer.MAX_VALUE - 8);
+
+        Path scratchPath = StringUtils.hasText(scratchDir)
+                ? Paths.get(scratchDir).toAbsolutePath().normalize()
+                : Paths.get(System.getProperty("java.io.tmpdir"));
+        try {
+            Files.createDirectories(scratchPath);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Não foi possível criar o diretório temporário " + scratchPath, ex);
+        }
+        this.scratchDirectory = scratchPath.toFile();
+    }
+
+    /**
+     * Abre a saída de um documento intermediário.
+     *
+     * @param format Formato do documento
+     * @return Saída, que vira a entrada da próxima etapa com {@link Output#toInput()}
+     */
+    public Output newOutput(FileFormat format) {
+        return new Output(format);
+    }
+
+    /**
+     * Saída de um documento intermediário, em memória até o limite e em
+     * arquivo temporário a partir dele.
+     */
+    public final class Output extends OutputStream {
+
+        private final FileFormat format;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private File file;
+        private OutputStream fileOutput;
+
+        private Output(FileFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target(1).write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target(len).write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (fileOutput != null) {
+                fileOutput.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileOutput != null) {
+                fileOutput.close();
+            }
+        }
+
+        /**
+         * Fecha a saída e cria a entrada da próxima etapa com o documento
+         * escrito.
+         *
+         * @return Entrada em memória, ou do arquivo temporário
+         * @throws IOException se houver erro ao fechar o arquivo temporário
+         */
+        public ConversionInput toInput() throws IOException {
+            close();
+            if (file != null) {
+                return ConversionInput.ofTemporaryFile(file, format);
+            }
+            return ConversionInput.ofBytes(memory.toByteArray(), format);
+        }
+
+        /**
+         * Descarta o documento, removendo o arquivo temporário, se houver.
+         * Usado quando a etapa falha antes de criar a entrada.
+         */
+        public void discard() {
+            memory = null;
+            if (file == null) {
+                return;
+            }
+            try {
+                close();
+            } catch (IOException ex) {
+                logger.debug("Erro ao fechar {}: {}", file, ex.getMessage());
+            }
+            if (!file.delete() && file.exists()) {
+                logger.warn("Não foi possível remover o arquivo temporário {}", file);
+            }
+        }
+
+        /**
+         * Escolhe onde escrever os próximos bytes, passando para o arquivo
+         * temporário se eles não couberem no limite de memória.
+         */
+        private OutputStream target(int length) throws IOException {
+            if (fileOutput == null && memory.size() + (long) length > maxMemoryBytes) {
+                spill();
+            }
+            return fileOutput != null ? fileOutput : memory;
+        }
+
+        private void spill() throws IOException {
+            file = Files.createTempFile(scratchDirectory.toPath(), "intermediate-", format.getExtension()).toFile();
+            fileOutput = new BufferedOutputStream(new FileOutputStream(file), FILE_WRITE_BUFFER_SIZE);
+            logger.debug("Documento intermediário {} passou de {} bytes: gravando em {}",
+                    format, maxMemoryBytes, file);
+
+            memory.writeTo(fileOutput);
+            memory = null;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.conversor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renderiza páginas de um documento em paralelo, com memória limitada.
+ *
+ * Cada worker abre sua própria instância do documento (os renderizadores do
+ * PDFBox e do POI não são thread-safe), renderiza e codifica páginas uma a
+ * uma e as entrega à thread chamadora assim que ficam prontas. O número de
+ * páginas codificadas aguardando entrega é limitado, de modo que o consumo
+ * de memória não depende do tamanho do documento.
+ *
+ * As páginas podem ser entregues na ordem em que ficam prontas ou na ordem
+ * solicitada; no segundo caso, páginas adiantadas aguardam a anterior, mas
+ * continuam contando no limite de páginas pendentes.
+ */
+@Component
+public class ParallelPageRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelPageRenderer.class);
+
+    private final ThreadPoolTaskExecutor renderExecutor;
+
+    /**
+     * Construtor do renderizador.
+     *
+     * @param renderExecutor Pool de threads de renderização, dimensionado pelos núcleos
+     */
+    public ParallelPageRenderer(@Qualifier("renderExecutor") ThreadPoolTaskExecutor renderExecutor) {
+        this.renderExecutor = renderExecutor;
+    }
+
+    /**
+     * Renderiza as páginas informadas e entrega cada uma ao consumidor, na
+     * ordem em que ficarem prontas.
+     *
+     * O consumidor é sempre chamado na thread chamadora, portanto pode
+     * escrever em saídas que não são thread-safe (como um ZipOutputStream).
+     *
+     * @param pageIndexes   Índices das páginas a renderizar
+     * @param workerFactory Fábrica de workers, chamada uma vez por worker
+     * @param sink          Consumidor das páginas codificadas
+     * @throws IOException se a renderização ou o consumidor falharem
+     */
+    public void render(List<Integer> pageIndexes, WorkerFactory workerFactory, PageSink sink)
+            throws IOException {
+        render(pageIndexes, workerFactory, sink, false);
+    }
+
+    /**
+     * Renderiza as páginas informadas e entrega cada uma ao consumidor, na
+     * ordem da lista de páginas.
+     *
+     * O consumidor é sempre chamado na thread chamadora.
+     *
+     * @param pageIndexes   Índices das páginas a renderizar
+     * @param workerFactory Fábrica de workers, chamada uma vez por worker
+     * @param sink          Consumidor das páginas codificadas
+     * @throws IOException se a renderização ou o consumidor falharem
+     */
+    public void renderInOrder(List<Integer> pageIndexes, WorkerFactory workerFactory, PageSink sink)
+            throws IOException {
+        render(pageIndexes, workerFactory, sink, true);
+    }
+
+    private void render(List<Integer> pageIndexes, WorkerFactory workerFactory, PageSink sink, boolean ordered)
+            throws IOException {
+
+        int workers = Math.max(1, Math.min(renderExecutor.getMaxPoolSize(), pageIndexes.size()));
+        // Páginas em renderização ou aguardando entrega
+        Semaphore permits = new Semaphore(workers * 2);
+        LinkedBlockingQueue<RenderedPage> completed = new LinkedBlockingQueue<>();
+        AtomicInteger nextPage = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+
+        // Páginas prontas que aguardam a anterior (apenas na entrega ordenada)
+        Map<Integer, RenderedPage> waiting = new HashMap<>();
+        int nextPosition = 0;
+
+        try {
+            // Submetidos dentro do try: se a submissão falhar, os já iniciados são encerrados
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(
+                        () -> runWorker(pageIndexes, workerFactory, permits, completed, nextPage, cancelled),
+                        renderExecutor));
+            }
+
+            for (int received = 0; received < pageIndexes.size(); received++) {
+                RenderedPage page = completed.take();
+                if (page.failure != null) {
+                    throw new IOException("Erro ao renderizar página " + (page.pageIndex + 1), page.failure);
+                }
+
+                if (!ordered) {
+                    sink.accept(page.pageIndex, page.data);
+                    permits.release();
+                    continue;
+                }
+
+                waiting.put(page.position, page);
+                RenderedPage next;
+                while ((next = waiting.remove(nextPosition)) != null) {
+                    sink.accept(next.pageIndex, next.data);
+                    permits.release();
+                    nextPosition++;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Renderização interrompida");
+        } finally {
+            cancelled.set(true);
+            // Libera workers bloqueados aguardando espaço
+            permits.release(workers * 2);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(ex -> null)
+                    .join();
+        }
+    }
+
+    private void runWorker(List<Integer> pageIndexes, WorkerFactory workerFactory, Semaphore permits,
+                           LinkedBlockingQueue<RenderedPage> completed, AtomicInteger nextPage,
+                           AtomicBoolean cancelled) {
+        int pageIndex = -1;
+        try (Worker worker = workerFactory.open()) {
+            while (!cancelled.get()) {
+                permits.acquire();
+                int position = nextPage.getAndIncrement();
+                if (cancelled.get() || position >= pageIndexes.size()) {
+                    permits.release();
+                    return;
+                }
+
+                pageIndex = pageIndexes.get(position);
+                byte[] data = worker.render(pageIndex);
+                completed.add(new RenderedPage(position, pageIndex, data, null));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+            completed.add(new RenderedPage(-1, Math.max(pageIndex, 0), null, ex));
+        } catch (Exception ex) {
+            logger.debug("Falha no worker de renderização", ex);
+            cancelled.set(true);
+            completed.add(new RenderedPage(-1, Math.max(pageIndex, 0), null, ex));
+        }
+    }
+
+    /**
+     * Worker de renderização com sua própria instância do documento.
+     */
+    public interface Worker extends Closeable {
+
+        /**
+         * Renderiza e codifica uma página.
+         *
+         * @param pageIndex Índice da página (a partir de zero)
+         * @return Página codificada
+         * @throws IOException se houver erro na renderização
+         */
+        byte[] render(int pageIndex) throws IOException;
+    }
+
+    /**
+     * Fábrica de workers de renderização.
+     */
+    @FunctionalInterface
+    public interface WorkerFactory {
+
+        /**
+         * Abre um novo worker, com sua própria instância do documento.
+         *
+         * @return Worker de renderização
+         * @throws IOException se o documento não puder ser aberto
+         */
+        Worker open() throws IOException;
+    }
+
+    /**
+     * Consumidor das páginas renderizadas.
+     */
+    @FunctionalInterface
+    public interface PageSink {
+
+        /**
+         * Recebe uma página codificada.
+         *
+         * @param pageIndex Índice da página (a partir de zero)
+         * @param data      Página codificada
+         * @throws IOException se houver erro ao gravar a página
+         */
+        void accept(int pageIndex, byte[] data) throws IOException;
+    }
+
+    /**
+     * Página renderizada (ou falha de renderização) aguardando entrega.
+     */
+    private static final class RenderedPage {
+        private final int position;
+        private final int pageIndex;
+        private final byte[] data;
+        private final Exception failure;
+
+        private RenderedPage(int position, int pageIndex, byte[] data, Exception failure) {
+            this.position = position;
+            this.pageIndex = pageIndex;
+            this.data = data;
+            this.failure = failure;
+        }
+    }
+}
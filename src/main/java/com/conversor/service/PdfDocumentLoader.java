@@ -0,0 +1,135 @@
+package com.conversor.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Carrega e cria documentos PDF com uso de memória limitado.
+ *
+ * O arquivo PDF é sempre lido diretamente do disco; o que esta classe
+ * controla é onde o PDFBox guarda os streams do documento (conteúdo de
+ * páginas, imagens, fontes) depois de lidos ou criados. Conforme o tamanho do
+ * arquivo e a memória livre no heap, escolhe entre:
+ * <ul>
+ *   <li>memória apenas, para documentos pequenos com folga no heap;</li>
+ *   <li>misto, com até o orçamento por documento em memória e o restante em
+ *       arquivo temporário;</li>
+ *   <li>arquivo temporário apenas, quando o heap está sem folga.</li>
+ * </ul>
+ */
+@Component
+public class PdfDocumentLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfDocumentLoader.class);
+
+    /** Folga mínima no heap, em múltiplos do orçamento, para usar apenas memória. */
+    private static final int MEMORY_ONLY_HEADROOM_FACTOR = 4;
+
+    /** Folga mínima no heap, em múltiplos do orçamento, para usar o modo misto. */
+    private static final int MIXED_HEADROOM_FACTOR = 2;
+
+    private final long maxMainMemoryBytes;
+    private final File scratchDirectory;
+
+    /**
+     * Construtor do carregador.
+     *
+     * @param maxMainMemory Orçamento de memória por documento
+     * @param scratchDir    Diretório dos arquivos temporários (vazio usa o padrão do sistema)
+     */
+    public PdfDocumentLoader(
+            @Value("${conversion.pdf.max-main-memory:64MB}") DataSize maxMainMemory,
+            @Value("${conversion.pdf.scratch-dir:}") String scratchDir) {
+
+        this.maxMainMemoryBytes = maxMainMemory.toBytes();
+
+        Path scratchPath = StringUtils.hasText(scratchDir)
+                ? Paths.get(scratchDir).toAbsolutePath().normalize()
+                : Paths.get(System.getProperty("java.io.tmpdir"));
+        try {
+            Files.createDirectories(scratchPath);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Não foi possível criar o diretório temporário " + scratchPath, ex);
+        }
+        this.scratchDirectory = scratchPath.toFile();
+    }
+
+    /**
+     * Carrega um documento PDF existente.
+     *
+     * @param pdfFile Arquivo PDF
+     * @return Documento carregado
+     * @throws IOException se o arquivo não for um PDF válido
+     */
+    public PDDocument load(File pdfFile) throws IOException {
+        return Loader.loadPDF(pdfFile, memoryUsageFor(pdfFile.length()).streamCache);
+    }
+
+    /**
+     * Carrega um documento PDF mantido em memória, como o resultado de uma
+     * etapa intermediária de conversão.
+     *
+     * @param pdfBytes Conteúdo do PDF
+     * @return Documento carregado
+     * @throws IOException se o conteúdo não for um PDF válido
+     */
+    public PDDocument load(byte[] pdfBytes) throws IOException {
+        return Loader.loadPDF(pdfBytes, "", null, null, memoryUsageFor(pdfBytes.length).streamCache);
+    }
+
+    /**
+     * Cria um novo documento PDF vazio.
+     *
+     * @param expectedSize Tamanho esperado do documento (por exemplo, o tamanho da entrada)
+     * @return Documento vazio
+     */
+    public PDDocument createDocument(long expectedSize) {
+        return new PDDocument(memoryUsageFor(expectedSize).streamCache);
+    }
+
+    /**
+     * Escolhe o modo de armazenamento dos streams de um documento.
+     *
+     * @param documentSize Tamanho do documento em bytes
+     * @return Configuração de uso de memória
+     */
+    MemoryUsageSetting memoryUsageFor(long documentSize) {
+        long headroom = heapHeadroom();
+        MemoryUsageSetting setting;
+
+        if (documentSize <= maxMainMemoryBytes && headroom >= maxMainMemoryBytes * MEMORY_ONLY_HEADROOM_FACTOR) {
+            setting = MemoryUsageSetting.setupMainMemoryOnly();
+        } else if (headroom >= maxMainMemoryBytes * MIXED_HEADROOM_FACTOR) {
+            setting = MemoryUsageSetting.setupMixed(maxMainMemoryBytes).setTempDir(scratchDirectory);
+        } else {
+            setting = MemoryUsageSetting.setupTempFileOnly().setTempDir(scratchDirectory);
+        }
+
+        logger.debug("Documento de {} bytes, folga no heap de {} bytes: {}", documentSize, headroom, setting);
+        return setting;
+    }
+
+    /**
+     * Calcula quanto o heap ainda pode crescer.
+     *
+     * @return Bytes disponíveis até o limite do heap
+     */
+    private static long heapHeadroom() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return runtime.maxMemory() - used;
+    }
+}
@@ -0,0 +1,338 @@
+package com.conversor.service;
+
+import com.conversor.model.ConvertedFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Limpeza periódica dos diretórios de uploads e de convertidos.
+ *
+ * A cada execução, os dois diretórios são percorridos um arquivo por vez: os
+ * que não são usados há mais que o TTL do diretório são removidos na hora, e
+ * os demais são somados. Se o total passar da cota, os arquivos usados há
+ * mais tempo (pelo último download, registrado como horário de acesso) são
+ * removidos até o total voltar à cota. Da listagem, só os candidatos mais
+ * antigos ficam em memória, em lotes de tamanho fixo; se um lote não bastar,
+ * o diretório é percorrido de novo.
+ *
+ * Arquivos convertidos removidos saem também do histórico e do diário, junto
+ * com o original. Ficam de fora os subdiretórios (como o do cache de
+ * resultados), os arquivos parciais, os originais de conversões em andamento
+ * e os arquivos usados no último minuto.
+ */
+@Component
+public class StorageJanitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageJanitor.class);
+
+    /** Arquivos usados há menos tempo que isso nunca são removidos. */
+    private static final long MIN_AGE_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private static final String REASON_TTL = "ttl";
+    private static final String REASON_QUOTA = "quota";
+
+    private final FileStorageService fileStorageService;
+    private final ConversionHistoryStore conversionHistory;
+    private final ConversionJournal conversionJournal;
+    private final ConversionMetrics conversionMetrics;
+    private final boolean enabled;
+    private final long uploadTtlMillis;
+    private final long convertedTtlMillis;
+    private final long quotaBytes;
+    private final int batchSize;
+
+    /**
+     * Construtor da limpeza do armazenamento.
+     *
+     * @param fileStorageService Serviço de armazenamento de arquivos
+     * @param conversionHistory  Histórico, de onde saem as conversões cujos arquivos são removidos
+     * @param conversionJournal  Diário em que as remoções do histórico são registradas
+     * @param conversionMetrics  Métricas das remoções e do espaço ocupado
+     * @param enabled            Se false, nenhum arquivo é removido
+     * @param uploadTtl          Tempo máximo sem uso de um arquivo enviado
+     * @param convertedTtl       Tempo máximo sem download de um arquivo convertido
+     * @param quota              Espaço máximo ocupado pelos dois diretórios (0 = sem cota)
+     * @param batchSize          Candidatos à remoção por cota mantidos em memória a cada passada
+     */
+    public StorageJanitor(
+            FileStorageService fileStorageService,
+            ConversionHistoryStore conversionHistory,
+            ConversionJournal conversionJournal,
+            ConversionMetrics conversionMetrics,
+            @Value("${storage.janitor.enabled:true}") boolean enabled,
+            @Value("${storage.janitor.upload-ttl:6h}") Duration uploadTtl,
+            @Value("${storage.janitor.converted-ttl:24h}") Duration convertedTtl,
+            @Value("${storage.janitor.quota:10GB}") DataSize quota,
+            @Value("${storage.janitor.batch-size:1000}") int batchSize) {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batch-size deve ser positivo");
+        }
+
+        this.fileStorageService = fileStorageService;
+        this.conversionHistory = conversionHistory;
+        this.conversionJournal = conversionJournal;
+        this.conversionMetrics = conversionMetrics;
+        this.enabled = enabled;
+        this.uploadTtlMillis = uploadTtl.toMillis();
+        this.convertedTtlMillis = convertedTtl.toMillis();
+        this.quotaBytes = quota.toBytes();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Executa a limpeza periodicamente.
+     */
+    @Scheduled(fixedDelayString = "${storage.janitor.interval:PT5M}",
+            initialDelayString = "${storage.janitor.interval:PT5M}")
+    public void scheduledSweep() {
+        if (enabled) {
+            sweep();
+        }
+    }
+
+    /**
+     * Remove os arquivos expirados e, se a cota for ultrapassada, os usados
+     * há mais tempo.
+     *
+     * @return Quantidade de arquivos removidos
+     */
+    public int sweep() {
+        long startTime = System.nanoTime();
+        Sweep sweep = new Sweep(System.currentTimeMillis(), inFlightOriginals());
+
+        try {
+            sweep.walk(fileStorageService.getUploadLocation(), false);
+            sweep.walk(fileStorageService.getConvertedLocation(), true);
+            sweep.evictOverQuota();
+
+            // O lote não bastou para voltar à cota: percorre os diretórios de novo
+            while (sweep.isOverQuota() && sweep.truncated && sweep.progressed) {
+                sweep = new Sweep(sweep.now, sweep.inFlightOriginals).continuing(sweep);
+                sweep.walk(fileStorageService.getUploadLocation(), false);
+                sweep.walk(fileStorageService.getConvertedLocation(), true);
+                sweep.evictOverQuota();
+            }
+        } catch (IOException ex) {
+            logger.error("Erro ao percorrer o armazenamento", ex);
+        }
+
+        conversionMetrics.recordStorageUsage(sweep.totalBytes);
+        if (sweep.deletedFiles > 0) {
+            logger.info("Limpeza do armazenamento: {} arquivos ({} bytes) removidos, {} bytes em uso, em {} ms",
+                    sweep.deletedFiles, sweep.deletedBytes, sweep.totalBytes,
+                    (System.nanoTime() - startTime) / 1_000_000);
+        }
+        if (sweep.isOverQuota()) {
+            logger.warn("Armazenamento acima da cota ({} de {} bytes) sem arquivos que possam ser removidos",
+                    sweep.totalBytes, quotaBytes);
+        }
+        return sweep.deletedFiles;
+    }
+
+    /**
+     * Originais das conversões em andamento, que ainda serão lidos por um worker.
+     */
+    private Set<String> inFlightOriginals() {
+        Set<String> paths = new HashSet<>();
+        for (ConvertedFile file : conversionHistory.values()) {
+            ConvertedFile.ConversionStatus status = file.getStatus();
+            if ((status == ConvertedFile.ConversionStatus.PENDING
+                    || status == ConvertedFile.ConversionStatus.PROCESSING)
+                    && file.getOriginalFilePath() != null) {
+                paths.add(file.getOriginalFilePath());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Remove um arquivo; se for um convertido, a conversão sai do histórico
+     * antes, para que não seja oferecido um download sem arquivo.
+     *
+     * @return Tamanho do original removido junto com o convertido
+     */
+    private long delete(Path path, boolean converted) {
+        long releasedBytes = converted ? releaseConversion(path) : 0;
+        fileStorageService.deleteFile(path);
+        return releasedBytes;
+    }
+
+    private long releaseConversion(Path convertedPath) {
+        String filename = convertedPath.getFileName().toString();
+        int separator = filename.indexOf(FileConversionService.CONVERTED_FILENAME_SEPARATOR);
+        if (separator <= 0) {
+            return 0;
+        }
+
+        String fileId = filename.substring(0, separator);
+        String pathString = convertedPath.toString();
+        ConvertedFile released = conversionHistory.removeIf(
+                fileId, file -> pathString.equals(file.getConvertedFilePath()));
+        if (released == null) {
+            return 0;
+        }
+
+        conversionJournal.recordRemoval(fileId);
+        logger.debug("Conversão {} removida do histórico pela limpeza do armazenamento", fileId);
+
+        if (released.getOriginalFilePath() == null) {
+            return 0;
+        }
+        Path original = Path.of(released.getOriginalFilePath());
+        long originalSize;
+        try {
+            originalSize = Files.size(original);
+        } catch (IOException ex) {
+            // Já removido
+            return 0;
+        }
+        fileStorageService.deleteFile(original);
+        return originalSize;
+    }
+
+    /**
+     * Uma passada pelos diretórios: remove os expirados e guarda os
+     * candidatos mais antigos à remoção por cota.
+     */
+    private final class Sweep {
+
+        private final long now;
+        private final Set<String> inFlightOriginals;
+        /** Os candidatos mais antigos, com o mais recente no topo. */
+        private final PriorityQueue<Candidate> candidates =
+                new PriorityQueue<>(Comparator.comparingLong((Candidate candidate) -> candidate.lastUse).reversed());
+
+        private long totalBytes;
+        private int deletedFiles;
+        private long deletedBytes;
+        /** Algum candidato ficou de fora do lote. */
+        private boolean truncated;
+        /** Algum arquivo foi removido por cota nesta passada. */
+        private boolean progressed;
+
+        private Sweep(long now, Set<String> inFlightOriginals) {
+            this.now = now;
+            this.inFlightOriginals = inFlightOriginals;
+        }
+
+        /**
+         * Acumula os totais de remoção da passada anterior.
+         */
+        private Sweep continuing(Sweep previous) {
+            deletedFiles = previous.deletedFiles;
+            deletedBytes = previous.deletedBytes;
+            return this;
+        }
+
+        private void walk(Path directory, boolean converted) throws IOException {
+            long ttlMillis = converted ? convertedTtlMillis : uploadTtlMillis;
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path path : files) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException ex) {
+                        // Removido durante a listagem
+                        continue;
+                    }
+                    if (!attributes.isRegularFile()
+                            || path.getFileName().toString().endsWith(FileStorageService.PARTIAL_SUFFIX)) {
+                        continue;
+                    }
+
+                    long size = attributes.size();
+                    long lastUse = Math.max(attributes.lastModifiedTime().toMillis(),
+                            attributes.lastAccessTime().toMillis());
+                    boolean protectedFile = now - lastUse < MIN_AGE_MILLIS
+                            || (!converted && inFlightOriginals.contains(path.toString()));
+
+                    if (!protectedFile && ttlMillis > 0 && now - lastUse > ttlMillis) {
+                        // O original, se removido junto, já foi somado ao percorrer os uploads
+                        totalBytes -= delete(path, converted);
+                        recordDeletion(REASON_TTL, size);
+                        continue;
+                    }
+
+                    totalBytes += size;
+                    if (!protectedFile && quotaBytes > 0) {
+                        candidates.add(new Candidate(path, converted, size, lastUse));
+                        if (candidates.size() > batchSize) {
+                            candidates.poll();
+                            truncated = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Remove os candidatos, do usado há mais tempo para o mais recente,
+         * até o total voltar à cota.
+         */
+        private void evictOverQuota() {
+            if (!isOverQuota()) {
+                return;
+            }
+
+            List<Candidate> oldestFirst = new ArrayList<>(candidates);
+            oldestFirst.sort(Comparator.comparingLong(candidate -> candidate.lastUse));
+            for (Candidate candidate : oldestFirst) {
+                if (!isOverQuota()) {
+                    break;
+                }
+                totalBytes -= candidate.size + delete(candidate.path, candidate.converted);
+                recordDeletion(REASON_QUOTA, candidate.size);
+                progressed = true;
+            }
+            candidates.clear();
+        }
+
+        private boolean isOverQuota() {
+            return quotaBytes > 0 && totalBytes > quotaBytes;
+        }
+
+        private void recordDeletion(String reason, long size) {
+            deletedFiles++;
+            deletedBytes += size;
+            conversionMetrics.recordStorageEviction(reason, size);
+        }
+    }
+
+    /**
+     * Arquivo candidato à remoção por cota.
+     */
+    private static final class Candidate {
+        private final Path path;
+        private final boolean converted;
+        private final long size;
+        private final long lastUse;
+
+        private Candidate(Path path, boolean converted, long size, long lastUse) {
+            this.path = path;
+            this.converted = converted;
+            this.size = size;
+            this.lastUse = lastUse;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionProgress;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+import org.apache.pdfbox.pdmodel.font.encoding.WinAnsiEncoding;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Gera um PDF de texto simples em fluxo, página a página.
+ *
+ * O PDFBox mantém todas as páginas de um documento em memória até o
+ * {@code save}, por isso este gerador escreve o PDF diretamente: cada página
+ * é gravada na saída assim que fica cheia, e apenas a posição de cada objeto
+ * (para a tabela xref) é mantida até o fim. O consumo de memória não depende
+ * do tamanho do texto.
+ *
+ * O texto usa Helvetica 12 em páginas A4, com quebra de linha por palavras
+ * calculada com as larguras da fonte. Caracteres sem representação na
+ * codificação WinAnsi são substituídos por {@code ?}.
+ *
+ * Cada página gravada é informada ao receptor do andamento, com os bytes que
+ * ocupou na saída. O total de páginas só é conhecido no {@link #finish()}.
+ */
+public class TextPdfWriter implements Closeable {
+
+    private static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+    private static final float PAGE_HEIGHT = PDRectangle.A4.getHeight();
+    private static final float MARGIN = 50;
+    private static final float FONT_SIZE = 12;
+    private static final float LEADING = 14.5f;
+
+    private static final float FIRST_BASELINE = PAGE_HEIGHT - MARGIN - FONT_SIZE;
+    private static final int LINES_PER_PAGE = (int) ((FIRST_BASELINE - MARGIN) / LEADING) + 1;
+
+    /** Largura útil da linha, em milésimos de unidade do tamanho da fonte. */
+    private static final float MAX_LINE_WIDTH = (PAGE_WIDTH - 2 * MARGIN) * 1000 / FONT_SIZE;
+
+    private static final int TAB_WIDTH = 4;
+    private static final int REPLACEMENT_CODE = '?';
+    private static final int SPACE_CODE = ' ';
+
+    private static final int CATALOG_OBJECT = 1;
+    private static final int PAGES_OBJECT = 2;
+    private static final int FONT_OBJECT = 3;
+    private static final int FIRST_PAGE_OBJECT = 4;
+
+    private static final String PAGE_PREFIX = String.format(Locale.ROOT,
+            "BT\n/F1 %s Tf\n%s TL\n%s %s Td\n",
+            number(FONT_SIZE), number(LEADING), number(MARGIN), number(FIRST_BASELINE));
+
+    private static final String MEDIA_BOX = String.format(Locale.ROOT,
+            "[0 0 %s %s]", number(PAGE_WIDTH), number(PAGE_HEIGHT));
+
+    /** Largura de cada código WinAnsi na Helvetica, em milésimos do tamanho da fonte. */
+    private static final float[] WIDTHS = loadWidths();
+
+    /** Código WinAnsi de cada caractere fora do ASCII imprimível. */
+    private static final Map<Integer, Integer> NON_ASCII_CODES = loadNonAsciiCodes();
+
+    private final CountingOutputStream output;
+    private final ConversionProgress progress;
+    private final ByteArrayOutputStream pageContent = new ByteArrayOutputStream(8192);
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] deflateBuffer = new byte[8192];
+
+    private long[] objectOffsets = new long[64];
+    private int lastObject = FONT_OBJECT;
+    private int pageCount;
+    private int linesOnPage;
+    private int[] codes = new int[256];
+
+    /**
+     * Inicia um documento PDF na saída informada.
+     *
+     * @param output Saída do documento
+     * @throws IOException se houver erro de escrita
+     */
+    public TextPdfWriter(OutputStream output) throws IOException {
+        this(output, ConversionProgress.NONE);
+    }
+
+    /**
+     * Inicia um documento PDF na saída informada, avisando cada página gravada.
+     *
+     * @param output   Saída do documento
+     * @param progress Receptor do andamento, avisado a cada página gravada
+     * @throws IOException se houver erro de escrita
+     */
+    public TextPdfWriter(OutputStream output, ConversionProgress progress) throws IOException {
+        this.output = new CountingOutputStream(new BufferedOutputStream(output, 65536));
+        this.progress = progress;
+
+        // O comentário binário indica aos leitores que o arquivo não é texto puro
+        write("%PDF-1.4\n%âãÏÓ\n");
+
+        beginObject(FONT_OBJECT);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    /**
+     * Escreve uma linha de texto, quebrando-a por palavras se não couber na
+     * largura da página.
+     *
+     * @param line Linha de texto, sem o terminador
+     * @throws IOException se houver erro de escrita
+     */
+    public void writeLine(String line) throws IOException {
+        int length = encode(line);
+        if (length == 0) {
+            emitLine(0, 0);
+            return;
+        }
+
+        int start = 0;
+        while (start < length) {
+            float width = 0;
+            int lastSpace = -1;
+            int end = start;
+            while (end < length) {
+                float glyphWidth = WIDTHS[codes[end]];
+                if (width + glyphWidth > MAX_LINE_WIDTH && end > start) {
+                    break;
+                }
+                if (codes[end] == SPACE_CODE) {
+                    lastSpace = end;
+                }
+                width += glyphWidth;
+                end++;
+            }
+
+            // Quebra no último espaço; palavras maiores que a linha são cortadas
+            if (end < length && lastSpace > start) {
+                end = lastSpace;
+            }
+            emitLine(start, end);
+
+            start = end;
+            while (start < length && codes[start] == SPACE_CODE) {
+                start++;
+            }
+        }
+    }
+
+    /**
+     * Grava a última página e a estrutura final do documento.
+     *
+     * @return Número de páginas do documento
+     * @throws IOException se houver erro de escrita
+     */
+    public int finish() throws IOException {
+        if (linesOnPage > 0 || pageCount == 0) {
+            if (linesOnPage == 0) {
+                pageContent.write(PAGE_PREFIX.getBytes(StandardCharsets.US_ASCII));
+            }
+            flushPage();
+        }
+
+        beginObject(PAGES_OBJECT);
+        write("<< /Type /Pages /Count " + pageCount + " /Kids [");
+        for (int page = 0; page < pageCount; page++) {
+            write((FIRST_PAGE_OBJECT + page * 2 + 1) + " 0 R ");
+        }
+        write("] >>\nendobj\n");
+
+        beginObject(CATALOG_OBJECT);
+        write("<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>\nendobj\n");
+
+        long xrefOffset = output.getCount();
+        write("xref\n0 " + (lastObject + 1) + "\n0000000000 65535 f \n");
+        for (int object = 1; object <= lastObject; object++) {
+            write(String.format(Locale.ROOT, "%010d 00000 n \n", objectOffsets[object]));
+        }
+        write("trailer\n<< /Size " + (lastObject + 1) + " /Root " + CATALOG_OBJECT + " 0 R >>\n");
+        write("startxref\n" + xrefOffset + "\n%%EOF\n");
+        output.flush();
+
+        return pageCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        output.close();
+    }
+
+    /**
+     * Converte a linha para códigos WinAnsi em {@link #codes}.
+     *
+     * @param line Linha de texto
+     * @return Número de códigos
+     */
+    private int encode(String line) {
+        int length = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (length + TAB_WIDTH > codes.length) {
+                codes = Arrays.copyOf(codes, codes.length * 2);
+            }
+
+            if (codePoint == '\t') {
+                for (int s = 0; s < TAB_WIDTH; s++) {
+                    codes[length++] = SPACE_CODE;
+                }
+            } else if (codePoint >= 32 && codePoint < 127) {
+                codes[length++] = codePoint;
+            } else if (codePoint >= 32) {
+                codes[length++] = NON_ASCII_CODES.getOrDefault(codePoint, REPLACEMENT_CODE);
+            }
+            // Demais caracteres de controle são descartados
+        }
+        return length;
+    }
+
+    /**
+     * Acrescenta uma linha à página atual, gravando a página quando ela enche.
+     */
+    private void emitLine(int start, int end) throws IOException {
+        if (linesOnPage == 0) {
+            pageContent.write(PAGE_PREFIX.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        pageContent.write('(');
+        for (int i = start; i < end; i++) {
+            int code = codes[i];
+            if (code == '(' || code == ')' || code == '\\') {
+                pageContent.write('\\');
+                pageContent.write(code);
+            } else if (code < 32 || code > 126) {
+                pageContent.write('\\');
+                pageContent.write('0' + ((code >> 6) & 7));
+                pageContent.write('0' + ((code >> 3) & 7));
+                pageContent.write('0' + (code & 7));
+            } else {
+                pageContent.write(code);
+            }
+        }
+        pageContent.write(") Tj T*\n".getBytes(StandardCharsets.US_ASCII));
+
+        if (++linesOnPage == LINES_PER_PAGE) {
+            flushPage();
+        }
+    }
+
+    /**
+     * Grava a página atual (conteúdo comprimido e dicionário da página).
+     */
+    private void flushPage() throws IOException {
+        pageContent.write("ET\n".getBytes(StandardCharsets.US_ASCII));
+
+        long pageStart = output.getCount();
+        int contentObject = FIRST_PAGE_OBJECT + pageCount * 2;
+        byte[] compressed = deflate(pageContent.toByteArray());
+
+        beginObject(contentObject);
+        write("<< /Length " + compressed.length + " /Filter /FlateDecode >>\nstream\n");
+        output.write(compressed);
+        write("\nendstream\nendobj\n");
+
+        beginObject(contentObject + 1);
+        write("<< /Type /Page /Parent " + PAGES_OBJECT + " 0 R /MediaBox " + MEDIA_BOX
+                + " /Resources << /Font << /F1 " + FONT_OBJECT + " 0 R >> >> /Contents "
+                + contentObject + " 0 R >>\nendobj\n");
+
+        pageCount++;
+        linesOnPage = 0;
+        pageContent.reset();
+
+        progress.pagesCompleted(1, output.getCount() - pageStart);
+    }
+
+    private byte[] deflate(byte[] data) {
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+        while (!deflater.finished()) {
+            int count = deflater.deflate(deflateBuffer);
+            compressed.write(deflateBuffer, 0, count);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void beginObject(int object) throws IOException {
+        if (object >= objectOffsets.length) {
+            objectOffsets = Arrays.copyOf(objectOffsets, objectOffsets.length * 2);
+        }
+        objectOffsets[object] = output.getCount();
+        lastObject = Math.max(lastObject, object);
+        write(object + " 0 obj\n");
+    }
+
+    private void write(String text) throws IOException {
+        output.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String number(float value) {
+        return String.format(Locale.ROOT, "%.4f", value).replaceAll("\\.?0+$", "");
+    }
+
+    private static float[] loadWidths() {
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        float[] widths = new float[256];
+        try {
+            for (int code = 0; code < widths.length; code++) {
+                widths[code] = font.getWidth(code);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Não foi possível ler as métricas da fonte Helvetica", ex);
+        }
+        return widths;
+    }
+
+    private static Map<Integer, Integer> loadNonAsciiCodes() {
+        GlyphList glyphList = GlyphList.getAdobeGlyphList();
+        Map<Integer, Integer> nonAsciiCodes = new HashMap<>();
+        WinAnsiEncoding.INSTANCE.getCodeToNameMap().forEach((code, name) -> {
+            String unicode = glyphList.toUnicode(name);
+            if (code > 126 && unicode != null && unicode.codePointCount(0, unicode.length()) == 1) {
+                nonAsciiCodes.putIfAbsent(unicode.codePointAt(0), code);
+            }
+        });
+        return nonAsciiCodes;
+    }
+
+    /**
+     * Saída que conta os bytes escritos, para as posições da tabela xref.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
@@ -7,8 +7,9 @@ import org.springframework.boot.test.context.SpringBootTest;
  * Testes básicos da aplicação Conversor de Arquivos.
  *
  * Verifica se o contexto da aplicação Spring Boot carrega corretamente.
+ * O diário de conversões vai para {@code target/}, fora da árvore do projeto.
  */
-@SpringBootTest
+@SpringBootTest(properties = "conversion.journal.dir=target/journal")
 class ConversorApplicationTests {
 
     /**
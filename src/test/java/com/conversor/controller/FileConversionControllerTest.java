@@ -0,0 +1,137 @@
+package com.conversor.controller;
+
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import com.conversor.service.BatchConversionService;
+import com.conversor.service.ConversionProgressPublisher;
+import com.conversor.service.FileConversionService;
+import com.conversor.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do download dos arquivos convertidos.
+ *
+ * Verifica o ETag, a resposta 304 às requisições condicionais e o
+ * atendimento de intervalos de bytes: 206 com o Content-Range correto e 416
+ * para intervalos fora do arquivo.
+ */
+class FileConversionControllerTest {
+
+    private static final int FILE_SIZE = 100;
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] content;
+    private String downloadUrl;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileStorageService storageService = new FileStorageService(
+                tempDir.resolve("uploads").toString(),
+                tempDir.resolve("converted").toString());
+
+        content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path converted = Files.write(storageService.getConvertedLocation().resolve("resultado.png"), content);
+
+        ConvertedFile convertedFile = new ConvertedFile("original.pdf", FileFormat.PDF, FileFormat.PNG);
+        convertedFile.setConvertedFilename("resultado.png");
+        convertedFile.setConvertedFilePath(converted.toString());
+        convertedFile.setConvertedSize(FILE_SIZE);
+        convertedFile.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+
+        FileConversionService conversionService = mock(FileConversionService.class);
+        when(conversionService.getConvertedFile(convertedFile.getId())).thenReturn(convertedFile);
+        downloadUrl = "/api/files/download/" + convertedFile.getId();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileConversionController(
+                conversionService, storageService, mock(BatchConversionService.class),
+                mock(ConversionProgressPublisher.class)))
+                .build();
+    }
+
+    /**
+     * O arquivo inteiro vem com ETag, e um If-None-Match com o mesmo ETag
+     * recebe 304 sem corpo.
+     */
+    @Test
+    void fullDownloadHasEtagAndConditionalGetIsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get(downloadUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, FILE_SIZE))
+                .andExpect(content().bytes(content))
+                .andReturn();
+
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        mockMvc.perform(get(downloadUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    /**
+     * Um intervalo fechado recebe 206 com o trecho pedido.
+     */
+    @Test
+    void rangeReturnsPartialContent() throws Exception {
+        mockMvc.perform(get(downloadUrl).header(HttpHeaders.RANGE, "bytes=0-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/" + FILE_SIZE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 0, 10)));
+    }
+
+    /**
+     * Intervalos de sufixo ({@code -N}) e abertos ({@code N-}) terminam no
+     * último byte do arquivo.
+     */
+    @Test
+    void suffixAndOpenEndedRanges() throws Exception {
+        mockMvc.perform(get(downloadUrl).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/" + FILE_SIZE))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 90, FILE_SIZE)));
+
+        mockMvc.perform(get(downloadUrl).header(HttpHeaders.RANGE, "bytes=95-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 95-99/" + FILE_SIZE))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 95, FILE_SIZE)));
+    }
+
+    /**
+     * Um intervalo que começa depois do fim do arquivo recebe 416 com o
+     * tamanho do arquivo no Content-Range.
+     */
+    @Test
+    void unsatisfiableRangeIsRejected() throws Exception {
+        mockMvc.perform(get(downloadUrl).header(HttpHeaders.RANGE, "bytes=200-300"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + FILE_SIZE))
+                .andExpect(content().bytes(new byte[0]));
+    }
+}
@@ -0,0 +1,59 @@
+package com.conversor.converter;
+
+import org.apache.poi.util.XMLHelper;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da extração de texto de documentos Word.
+ *
+ * Verifica, direto no handler SAX, que as paradas de tabulação das
+ * propriedades do parágrafo não viram texto e que tabulações, quebras de
+ * linha e parágrafos dos trechos são gravados.
+ */
+class DocxToTextConverterTest {
+
+    private static final String DOCUMENT_START =
+            "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>";
+    private static final String DOCUMENT_END = "</w:body></w:document>";
+
+    /**
+     * As paradas de tabulação em {@code w:pPr/w:tabs} são ignoradas; as
+     * tabulações e quebras dentro dos trechos são gravadas.
+     */
+    @Test
+    void writesRunBreaksButNotTabStops() throws Exception {
+        String body = "<w:p><w:pPr><w:tabs><w:tab w:val=\"left\" w:pos=\"2880\"/>"
+                + "<w:tab w:val=\"right\" w:pos=\"5760\"/></w:tabs></w:pPr>"
+                + "<w:r><w:t>Nome</w:t><w:tab/><w:t>Valor</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>linha 1</w:t><w:br/><w:t>linha 2</w:t><w:cr/><w:t>linha 3</w:t></w:r></w:p>"
+                + "<w:p/>"
+                + "<w:p><w:r><w:t xml:space=\"preserve\">fim </w:t><w:delText>excluído</w:delText></w:r></w:p>";
+
+        assertEquals("Nome\tValor\nlinha 1\nlinha 2\nlinha 3\n\nfim \n", extract(body));
+    }
+
+    /**
+     * Elementos de outros namespaces não afetam o texto.
+     */
+    @Test
+    void ignoresOtherNamespaces() throws Exception {
+        String body = "<w:p><w:r><w:t>a</w:t><x:tab xmlns:x=\"urn:outro\"/><w:t>b</w:t></w:r></w:p>";
+
+        assertEquals("ab\n", extract(body));
+    }
+
+    private static String extract(String body) throws Exception {
+        StringWriter writer = new StringWriter();
+        XMLReader reader = XMLHelper.newXMLReader();
+        reader.setContentHandler(new DocxToTextConverter.DocumentTextHandler(writer));
+        reader.parse(new InputSource(new StringReader(DOCUMENT_START + body + DOCUMENT_END)));
+        return writer.toString();
+    }
+}
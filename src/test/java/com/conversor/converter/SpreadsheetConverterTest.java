@@ -0,0 +1,237 @@
+package com.conversor.converter;
+
+import com.conversor.config.AsyncConfig;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da exportação de planilhas.
+ *
+ * Verifica, com planilhas XLSX e XLS geradas pelo POI, que os leitores em
+ * fluxo entregam cada aba com o seu nome e índice, inclusive quando a
+ * pasta de trabalho tem abas que não são de células, e que o CSV segue a
+ * RFC 4180 para vírgulas, aspas e quebras de linha.
+ */
+class SpreadsheetConverterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThreadPoolTaskExecutor renderExecutor;
+    private SpreadsheetConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        renderExecutor = new AsyncConfig().renderExecutor(2);
+        renderExecutor.initialize();
+        converter = new SpreadsheetConverter(renderExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderExecutor.shutdown();
+    }
+
+    /**
+     * As abas selecionadas chegam com o nome e o índice da pasta de trabalho.
+     */
+    @Test
+    void readersDeliverSelectedSheetsWithTheirNames() throws Exception {
+        for (FileFormat format : List.of(FileFormat.XLSX, FileFormat.XLS)) {
+            byte[] workbook = workbook(format, "Primeira", "Segunda", "Terceira");
+
+            try (WorkbookReader reader = open(format, workbook)) {
+                assertEquals(List.of("Primeira", "Segunda", "Terceira"), reader.getSheetNames(), format.name());
+                assertEquals(Map.of(0, "Primeira=Primeira", 2, "Terceira=Terceira"),
+                        firstCells(reader, List.of(0, 2)), format.name());
+            }
+        }
+    }
+
+    /**
+     * Uma aba de gráfico em um XLS também ocupa um índice: as abas seguintes
+     * mantêm o nome correto.
+     */
+    @Test
+    void xlsChartSheetKeepsFollowingSheetsAligned() throws Exception {
+        byte[] workbook = withChartSheet(workbook(FileFormat.XLS, "Primeira", "Grafico", "Terceira"), 1);
+
+        try (WorkbookReader reader = open(FileFormat.XLS, workbook)) {
+            assertEquals(List.of("Primeira", "Grafico", "Terceira"), reader.getSheetNames());
+            assertEquals(Map.of(0, "Primeira=Primeira", 2, "Terceira=Terceira"),
+                    firstCells(reader, List.of(0, 2)));
+        }
+    }
+
+    /**
+     * Campos com vírgula, aspas ou quebra de linha ficam entre aspas, com as
+     * aspas internas dobradas; os demais, como estão.
+     */
+    @Test
+    void csvQuotesSpecialCharacters() throws Exception {
+        for (FileFormat format : List.of(FileFormat.XLSX, FileFormat.XLS)) {
+            byte[] workbook = workbook(format, "Dados");
+            ConversionType type = ConversionType.findByFormats(format, FileFormat.CSV);
+
+            File csv = tempDir.resolve(format.name() + ".csv").toFile();
+            try (ConversionInput input = ConversionInput.ofBytes(workbook, format)) {
+                converter.convert(type, input, ConversionOptions.defaults(), csv, ConversionProgress.NONE);
+            }
+
+            assertEquals("Dados,\"a,b\",\"diz \"\"oi\"\"\",\"linha 1\nlinha 2\",simples\r\n",
+                    Files.readString(csv.toPath(), StandardCharsets.UTF_8), format.name());
+        }
+    }
+
+    /**
+     * Com várias abas selecionadas, cada uma vira um CSV no ZIP, na ordem da
+     * pasta de trabalho.
+     */
+    @Test
+    void csvArchiveHasOneEntryPerSheet() throws Exception {
+        for (FileFormat format : List.of(FileFormat.XLSX, FileFormat.XLS)) {
+            byte[] workbook = workbook(format, "Primeira", "Segunda", "Terceira");
+            ConversionOptions options = ConversionOptions.defaults();
+            options.setPages("2-3");
+
+            File zip = tempDir.resolve(format.name() + ".zip").toFile();
+            try (ConversionInput input = ConversionInput.ofBytes(workbook, format)) {
+                converter.convert(ConversionType.findByFormats(format, FileFormat.CSV), input, options, zip,
+                        ConversionProgress.NONE);
+            }
+
+            Map<String, String> entries = new TreeMap<>();
+            try (ZipInputStream stream = new ZipInputStream(Files.newInputStream(zip.toPath()))) {
+                ZipEntry entry;
+                while ((entry = stream.getNextEntry()) != null) {
+                    entries.put(entry.getName(), new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            assertEquals(List.of("sheet-02-Segunda.csv", "sheet-03-Terceira.csv"),
+                    new ArrayList<>(entries.keySet()), format.name());
+            assertTrue(entries.get("sheet-03-Terceira.csv").startsWith("Terceira,"), format.name());
+        }
+    }
+
+    /**
+     * Gera uma pasta de trabalho com uma linha por aba: o nome da aba seguido
+     * de campos que exigem aspas no CSV.
+     */
+    private static byte[] workbook(FileFormat format, String... sheetNames) throws IOException {
+        try (Workbook workbook = format == FileFormat.XLSX ? new XSSFWorkbook() : new HSSFWorkbook()) {
+            for (String name : sheetNames) {
+                Sheet sheet = workbook.createSheet(name);
+                var row = sheet.createRow(0);
+                row.createCell(0).setCellValue(name);
+                row.createCell(1).setCellValue("a,b");
+                row.createCell(2).setCellValue("diz \"oi\"");
+                row.createCell(3).setCellValue("linha 1\nlinha 2");
+                row.createCell(4).setCellValue("simples");
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            workbook.write(output);
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Marca o subfluxo de uma aba de um XLS como aba de gráfico, trocando o
+     * tipo no seu registro BOF. O POI não cria abas de gráfico.
+     */
+    private static byte[] withChartSheet(byte[] xls, int sheetIndex) throws IOException {
+        // BOF (0x0809), 16 bytes, BIFF8 (0x0600), aba de células (0x0010)
+        byte[] worksheetBof = {0x09, 0x08, 0x10, 0x00, 0x00, 0x06, 0x10, 0x00};
+
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(new ByteArrayInputStream(xls))) {
+            byte[] stream;
+            try (InputStream input = fileSystem.createDocumentInputStream("Workbook")) {
+                stream = input.readAllBytes();
+            }
+
+            int found = -1;
+            for (int offset = 0; offset <= stream.length - worksheetBof.length; offset++) {
+                if (startsWith(stream, offset, worksheetBof) && ++found == sheetIndex) {
+                    // Tipo 0x0020: aba de gráfico
+                    stream[offset + 6] = 0x20;
+                    break;
+                }
+            }
+            assertEquals(sheetIndex, found);
+
+            fileSystem.getRoot().createOrUpdateDocument("Workbook", new ByteArrayInputStream(stream));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            fileSystem.writeFilesystem(output);
+            return output.toByteArray();
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static WorkbookReader open(FileFormat format, byte[] workbook) throws IOException {
+        ConversionInput input = ConversionInput.ofBytes(workbook, format);
+        return format == FileFormat.XLSX ? XlsxWorkbookReader.open(input) : XlsWorkbookReader.open(input);
+    }
+
+    /**
+     * Lê as abas e devolve, por índice, o nome entregue e a primeira célula.
+     */
+    private static Map<Integer, String> firstCells(WorkbookReader reader, List<Integer> sheetIndexes)
+            throws IOException {
+        Map<Integer, String> result = new TreeMap<>();
+        reader.read(sheetIndexes, new SheetRowHandler() {
+            private int sheetIndex;
+            private String sheetName;
+
+            @Override
+            public void startSheet(int sheetIndex, String sheetName) {
+                this.sheetIndex = sheetIndex;
+                this.sheetName = sheetName;
+            }
+
+            @Override
+            public void row(List<String> cells) {
+                result.putIfAbsent(sheetIndex, sheetName + "=" + cells.get(0));
+            }
+
+            @Override
+            public void endSheet() {
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package com.conversor.service;
+
+import com.conversor.config.AsyncConfig;
+import com.conversor.dto.BatchItemResult;
+import com.conversor.dto.BatchManifest;
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes das conversões em lote.
+ *
+ * Verifica o ZIP gravado em fluxo: nomes das entradas sem repetição,
+ * formatos já comprimidos gravados sem nova compressão e o manifesto como
+ * última entrada, com as falhas de cada arquivo.
+ */
+class BatchConversionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThreadPoolTaskExecutor batchExecutor;
+    private FileConversionService conversionService;
+    private BatchConversionService batchService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        batchExecutor = new AsyncConfig().batchExecutor(2);
+        batchExecutor.initialize();
+        conversionService = mock(FileConversionService.class);
+        batchService = new BatchConversionService(conversionService, batchExecutor, objectMapper, 10);
+
+        when(conversionService.registerConversion(any(), any())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            return new ConvertedFile(file.getOriginalFilename(),
+                    FileFormat.fromFilename(file.getOriginalFilename()), invocation.getArgument(1));
+        });
+        // Arquivos com "falha" no nome falham; os demais geram o próprio nome como conteúdo
+        doAnswer(invocation -> {
+            ConvertedFile convertedFile = invocation.getArgument(0);
+            if (convertedFile.getOriginalFilename().contains("falha")) {
+                convertedFile.setErrorMessage("Arquivo corrompido");
+                convertedFile.setStatus(ConvertedFile.ConversionStatus.FAILED);
+                throw new FileConversionException("Erro ao converter arquivo: Arquivo corrompido");
+            }
+            Path converted = Files.writeString(
+                    tempDir.resolve(convertedFile.getId() + convertedFile.getTargetFormat().getExtension()),
+                    convertedFile.getOriginalFilename());
+            convertedFile.setConvertedFilePath(converted.toString());
+            convertedFile.setConvertedSize(Files.size(converted));
+            convertedFile.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+            return null;
+        }).when(conversionService).runConversion(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * Cada conversão concluída vira uma entrada com nome único, imagens são
+     * gravadas sem compressão, e o manifesto, por último, lista todos os
+     * arquivos, inclusive os que falharam.
+     */
+    @Test
+    void writesResultsAndManifestLast() throws Exception {
+        MultipartFile[] files = {
+                file("relatorio.pdf"),
+                file("relatorio.txt"),
+                file("capa.pdf"),
+                file("falha.docx"),
+                new MockMultipartFile("files", "vazio.txt", "text/plain", new byte[0])
+        };
+        List<String> targetFormats = List.of("PNG", "PDF", "PNG", "PDF", "PDF");
+
+        BatchConversionService.BatchJob job = batchService.prepare(
+                files, FileFormat.PDF, targetFormats, ConversionOptions.defaults());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchService.writeZip(job, output);
+
+        Map<String, ZipEntry> entries = new LinkedHashMap<>();
+        Map<String, String> contents = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), entry);
+                contents.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        List<String> names = new ArrayList<>(entries.keySet());
+        assertEquals(4, names.size());
+        assertEquals(BatchConversionService.MANIFEST_ENTRY, names.get(names.size() - 1));
+        assertTrue(names.containsAll(List.of("relatorio.png", "relatorio.pdf", "capa.png")));
+
+        assertEquals(ZipEntry.STORED, entries.get("relatorio.png").getMethod());
+        assertEquals(ZipEntry.STORED, entries.get("capa.png").getMethod());
+        assertEquals(ZipEntry.DEFLATED, entries.get("relatorio.pdf").getMethod());
+        assertEquals("relatorio.txt", contents.get("relatorio.pdf"));
+
+        BatchManifest manifest = objectMapper.readValue(
+                contents.get(BatchConversionService.MANIFEST_ENTRY), BatchManifest.class);
+        assertEquals(5, manifest.getTotal());
+        assertEquals(3, manifest.getCompleted());
+        assertEquals(2, manifest.getFailed());
+
+        BatchItemResult failed = manifest.getFiles().get(3);
+        assertEquals("falha.docx", failed.getOriginalFilename());
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals("Arquivo corrompido", failed.getError());
+        assertNull(failed.getEntry());
+        assertEquals("O arquivo não pode estar vazio", manifest.getFiles().get(4).getError());
+        assertEquals("capa.png", manifest.getFiles().get(2).getEntry());
+    }
+
+    /**
+     * Nomes repetidos no lote recebem um sufixo em vez de sobrescrever a
+     * entrada anterior.
+     */
+    @Test
+    void repeatedNamesGetSuffix() throws Exception {
+        MultipartFile[] files = {file("dados.txt"), file("dados.txt")};
+
+        BatchConversionService.BatchJob job = batchService.prepare(
+                files, FileFormat.PDF, null, ConversionOptions.defaults());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchService.writeZip(job, output);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        assertEquals(3, names.size());
+        assertTrue(names.containsAll(List.of("dados.pdf", "dados-2.pdf")));
+    }
+
+    private static MockMultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "application/octet-stream",
+                name.getBytes(StandardCharsets.UTF_8));
+    }
+}
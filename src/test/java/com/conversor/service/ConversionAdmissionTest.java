@@ -0,0 +1,94 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionPlan;
+import com.conversor.converter.ConversionPlanner;
+import com.conversor.converter.ConverterRegistry;
+import com.conversor.converter.ImageToPdfConverter;
+import com.conversor.converter.PdfToImageConverter;
+import com.conversor.converter.TextToPdfConverter;
+import com.conversor.exception.ConversionThrottledException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConversionType;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do controle de admissão ponderado por tipo de conversão.
+ *
+ * Verifica que conversões pesadas esgotam só o limite do próprio tipo, que
+ * o peso da renderização cresce com a resolução e que as permissões voltam
+ * ao fim de cada conversão.
+ */
+class ConversionAdmissionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConversionMetrics metrics;
+    private ConversionPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new ConversionTestFixture(tempDir).getMetrics();
+
+        PdfDocumentLoader pdfLoader = new PdfDocumentLoader(DataSize.ofMegabytes(64), "");
+        ParallelPageRenderer pageRenderer = new ParallelPageRenderer(new ThreadPoolTaskExecutor());
+        planner = new ConversionPlanner(new ConverterRegistry(List.of(
+                new PdfToImageConverter(pdfLoader, metrics, pageRenderer, new ImageTranscoder(40_000_000L)),
+                new ImageToPdfConverter(pdfLoader),
+                new TextToPdfConverter(ConversionTestFixture.intermediateStorage()))));
+    }
+
+    /**
+     * Com o tipo pesado no limite, ele é recusado e o barato continua admitido;
+     * ao devolver as permissões, o pesado volta a ser admitido.
+     */
+    @Test
+    void heavyTypeIsThrottledWithoutBlockingCheapOnes() {
+        ConversionAdmission admission = new ConversionAdmission(metrics, true, 16, Map.of("PDF_TO_PNG", 8));
+        ConversionPlan render = planner.plan(FileFormat.PDF, FileFormat.PNG, 1024);
+        ConversionPlan text = planner.plan(FileFormat.TXT, FileFormat.PDF, 1024);
+        ConversionOptions options = ConversionOptions.defaults();
+
+        ConversionAdmission.Permit first = admission.admit(render, options);
+        ConversionAdmission.Permit second = admission.admit(render, options);
+
+        ConversionThrottledException rejected = assertThrows(ConversionThrottledException.class,
+                () -> admission.admit(render, options));
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+
+        for (int i = 0; i < 16; i++) {
+            admission.admit(text, options);
+        }
+
+        first.close();
+        admission.admit(render, options).close();
+        second.close();
+    }
+
+    /**
+     * O peso da renderização de PDF acompanha a área da página na resolução pedida.
+     */
+    @Test
+    void renderWeightScalesWithDpi() {
+        ConversionAdmission admission = new ConversionAdmission(metrics, true, 16, Map.of("PDF_TO_PNG", 4));
+        ConversionOptions options = ConversionOptions.defaults();
+
+        assertEquals(4, admission.weightOf(ConversionType.PDF_TO_PNG, options));
+        options.setDpi(ConversionOptions.THUMBNAIL_DPI);
+        assertEquals(1, admission.weightOf(ConversionType.PDF_TO_PNG, options));
+        options.setDpi(600);
+        assertEquals(16, admission.weightOf(ConversionType.PDF_TO_PNG, options));
+        assertEquals(1, admission.weightOf(ConversionType.TXT_TO_PDF, options));
+    }
+}
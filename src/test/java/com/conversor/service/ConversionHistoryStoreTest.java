@@ -0,0 +1,177 @@
+package com.conversor.service;
+
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do histórico de conversões concorrente e limitado.
+ *
+ * Verifica que escritas concorrentes não perdem entradas e que os limites
+ * de quantidade e TTL descartam entradas junto com seus arquivos.
+ */
+class ConversionHistoryStoreTest {
+
+    private static final int THREADS = 8;
+    private static final int PUTS_PER_THREAD = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(
+                tempDir.resolve("uploads").toString(),
+                tempDir.resolve("converted").toString());
+    }
+
+    /**
+     * Várias threads inserindo e lendo ao mesmo tempo não perdem nenhuma entrada.
+     */
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        ConversionHistoryStore store = newStore(THREADS * PUTS_PER_THREAD, Duration.ofHours(1));
+
+        List<List<String>> idsPerThread = runConcurrently(store);
+
+        assertEquals(THREADS * PUTS_PER_THREAD, store.size());
+        assertEquals(THREADS * PUTS_PER_THREAD, store.values().size());
+        assertEquals(0, store.getEvictionCount());
+        for (List<String> ids : idsPerThread) {
+            for (String id : ids) {
+                assertNotNull(store.get(id), "Entrada perdida: " + id);
+            }
+        }
+    }
+
+    /**
+     * Sob concorrência acima da capacidade, o tamanho respeita o limite e
+     * toda entrada ausente foi contabilizada como descartada.
+     */
+    @Test
+    void concurrentPutsRespectCapacity() throws Exception {
+        int maxEntries = 1_000;
+        ConversionHistoryStore store = newStore(maxEntries, Duration.ofHours(1));
+
+        List<List<String>> idsPerThread = runConcurrently(store);
+
+        int present = 0;
+        for (List<String> ids : idsPerThread) {
+            for (String id : ids) {
+                if (store.get(id) != null) {
+                    present++;
+                }
+            }
+        }
+
+        assertTrue(store.size() <= maxEntries);
+        assertEquals(store.size(), present);
+        assertEquals(THREADS * PUTS_PER_THREAD, present + store.getEvictionCount());
+    }
+
+    /**
+     * Entradas descartadas por LRU têm seus arquivos removidos do disco,
+     * exceto conversões em andamento.
+     */
+    @Test
+    void evictionDeletesFilesOfLeastRecentlyUsedEntry() throws Exception {
+        ConversionHistoryStore store = new ConversionHistoryStore(
+                fileStorageService, 2, DataSize.ofMegabytes(1), Duration.ofHours(1), 1);
+
+        ConvertedFile first = completedFileWithFiles();
+        ConvertedFile second = completedFileWithFiles();
+        ConvertedFile pending = new ConvertedFile("c.txt", FileFormat.TXT, FileFormat.PDF);
+        store.put(first);
+        store.put(second);
+        store.get(first.getId());
+        store.put(pending);
+
+        assertNull(store.get(second.getId()));
+        assertFalse(Files.exists(Path.of(second.getOriginalFilePath())));
+        assertFalse(Files.exists(Path.of(second.getConvertedFilePath())));
+        assertNotNull(store.get(first.getId()));
+        assertTrue(Files.exists(Path.of(first.getConvertedFilePath())));
+        assertNotNull(store.get(pending.getId()));
+    }
+
+    /**
+     * Entradas sem acesso há mais que o TTL expiram e seus arquivos são removidos.
+     */
+    @Test
+    void expiredEntriesAreDiscarded() throws Exception {
+        ConversionHistoryStore store = newStore(100, Duration.ofMillis(50));
+        ConvertedFile file = completedFileWithFiles();
+        store.put(file);
+
+        Thread.sleep(100);
+
+        assertEquals(1, store.purgeExpired());
+        assertNull(store.get(file.getId()));
+        assertEquals(0, store.size());
+        assertFalse(Files.exists(Path.of(file.getConvertedFilePath())));
+    }
+
+    private ConversionHistoryStore newStore(int maxEntries, Duration ttl) {
+        return new ConversionHistoryStore(fileStorageService, maxEntries, DataSize.ofMegabytes(64), ttl, 16);
+    }
+
+    private List<List<String>> runConcurrently(ConversionHistoryStore store) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<String> ids = new ArrayList<>(PUTS_PER_THREAD);
+                    for (int i = 0; i < PUTS_PER_THREAD; i++) {
+                        ConvertedFile file = new ConvertedFile("a.pdf", FileFormat.PDF, FileFormat.TXT);
+                        file.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+                        store.put(file);
+                        ids.add(file.getId());
+                        store.get(ids.get(i / 2));
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            List<List<String>> result = new ArrayList<>();
+            for (Future<List<String>> future : futures) {
+                result.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ConvertedFile completedFileWithFiles() throws Exception {
+        ConvertedFile file = new ConvertedFile("a.pdf", FileFormat.PDF, FileFormat.TXT);
+        Path original = Files.createTempFile(fileStorageService.getUploadLocation(), "orig_", ".pdf");
+        Path converted = Files.createTempFile(fileStorageService.getConvertedLocation(), "conv_", ".txt");
+        file.setOriginalFilePath(original.toString());
+        file.setConvertedFilePath(converted.toString());
+        file.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+        return file;
+    }
+}
@@ -0,0 +1,214 @@
+package com.conversor.service;
+
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do diário de conversões em disco.
+ *
+ * Verifica que o histórico é recuperado após uma reinicialização, inclusive
+ * com um registro truncado no fim do diário e depois de compactações, e que
+ * a recuperação respeita o limite de entradas do histórico.
+ */
+class ConversionJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileStorageService fileStorageService;
+    private Path journalDir;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(
+                tempDir.resolve("uploads").toString(),
+                tempDir.resolve("converted").toString());
+        journalDir = tempDir.resolve("journal");
+    }
+
+    /**
+     * Conversões concluídas voltam como estavam, conversões em andamento
+     * voltam como FAILED, e removidas ou sem arquivo não voltam.
+     */
+    @Test
+    void recoversHistoryAfterRestart() throws Exception {
+        ConversionHistoryStore history = newHistory();
+        ConversionJournal journal = newJournal(history, DataSize.ofMegabytes(64));
+
+        ConvertedFile completed = completedFileWithFiles();
+        completed.setArchive(true);
+        completed.setConvertedSize(1234);
+        ConvertedFile pending = new ConvertedFile("b.txt", FileFormat.TXT, FileFormat.PDF);
+        ConvertedFile removed = completedFileWithFiles();
+        ConvertedFile missingFile = completedFileWithFiles();
+        for (ConvertedFile file : List.of(completed, pending, removed, missingFile)) {
+            history.put(file);
+            journal.record(file);
+        }
+        history.remove(removed.getId());
+        journal.recordRemoval(removed.getId());
+        journal.close();
+        Files.delete(Path.of(missingFile.getConvertedFilePath()));
+
+        ConversionHistoryStore recovered = newHistory();
+        newJournal(recovered, DataSize.ofMegabytes(64)).close();
+
+        assertEquals(2, recovered.size());
+        ConvertedFile restored = recovered.get(completed.getId());
+        assertNotNull(restored);
+        assertEquals(ConvertedFile.ConversionStatus.COMPLETED, restored.getStatus());
+        assertEquals(completed.getConvertedFilePath(), restored.getConvertedFilePath());
+        assertEquals(completed.getConversionDate(), restored.getConversionDate());
+        assertEquals(1234, restored.getConvertedSize());
+        assertTrue(restored.isArchive());
+
+        ConvertedFile interrupted = recovered.get(pending.getId());
+        assertEquals(ConvertedFile.ConversionStatus.FAILED, interrupted.getStatus());
+        assertEquals(ConversionJournal.INTERRUPTED_MESSAGE, interrupted.getErrorMessage());
+
+        assertNull(recovered.get(removed.getId()));
+        assertNull(recovered.get(missingFile.getId()));
+    }
+
+    /**
+     * Um registro truncado no fim do diário (queda durante a gravação) é
+     * descartado sem perder os anteriores.
+     */
+    @Test
+    void discardsTornRecordAtEndOfLog() throws Exception {
+        ConversionHistoryStore history = newHistory();
+        ConversionJournal journal = newJournal(history, DataSize.ofMegabytes(64));
+        ConvertedFile file = completedFileWithFiles();
+        history.put(file);
+        journal.record(file);
+        journal.close();
+
+        Path log = lastFile("journal-");
+        Files.write(log, new byte[]{0, 0, 1, 0, 42, 7}, StandardOpenOption.APPEND);
+
+        ConversionHistoryStore recovered = newHistory();
+        newJournal(recovered, DataSize.ofMegabytes(64)).close();
+
+        assertEquals(1, recovered.size());
+        assertNotNull(recovered.get(file.getId()));
+    }
+
+    /**
+     * Com compactações frequentes, restam um snapshot e um diário, e nenhuma
+     * entrada se perde.
+     */
+    @Test
+    void compactionKeepsEveryEntry() throws Exception {
+        ConversionHistoryStore history = newHistory();
+        ConversionJournal journal = newJournal(history, DataSize.ofBytes(1));
+
+        List<ConvertedFile> files = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ConvertedFile file = new ConvertedFile("f" + i + ".pdf", FileFormat.PDF, FileFormat.TXT);
+            file.setStatus(ConvertedFile.ConversionStatus.FAILED);
+            history.put(file);
+            journal.record(file);
+            files.add(file);
+            if (i % 50 == 0) {
+                Thread.sleep(30);
+            }
+        }
+        journal.close();
+
+        try (Stream<Path> listing = Files.list(journalDir)) {
+            assertEquals(2, listing.count());
+        }
+
+        ConversionHistoryStore recovered = newHistory();
+        newJournal(recovered, DataSize.ofMegabytes(64)).close();
+
+        assertEquals(files.size(), recovered.size());
+        for (ConvertedFile file : files) {
+            assertNotNull(recovered.get(file.getId()), "Entrada perdida: " + file.getId());
+        }
+    }
+
+    /**
+     * Com um histórico menor que o diário, a recuperação mantém só as
+     * entradas regravadas mais recentemente, sem descartar conversões em
+     * andamento, e remove os arquivos das descartadas.
+     */
+    @Test
+    void replayIsBoundedByHistoryCapacity() throws Exception {
+        ConversionHistoryStore history = newHistory();
+        ConversionJournal journal = newJournal(history, DataSize.ofMegabytes(64));
+
+        ConvertedFile pending = new ConvertedFile("b.txt", FileFormat.TXT, FileFormat.PDF);
+        history.put(pending);
+        journal.record(pending);
+        List<ConvertedFile> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ConvertedFile file = completedFileWithFiles();
+            history.put(file);
+            journal.record(file);
+            files.add(file);
+        }
+        journal.close();
+
+        ConversionHistoryStore recovered = new ConversionHistoryStore(
+                fileStorageService, 3, DataSize.ofMegabytes(64), Duration.ofHours(1), 1);
+        newJournal(recovered, DataSize.ofMegabytes(64)).close();
+
+        assertEquals(3, recovered.size());
+        assertEquals(ConvertedFile.ConversionStatus.FAILED, recovered.get(pending.getId()).getStatus());
+        for (ConvertedFile dropped : files.subList(0, 3)) {
+            assertNull(recovered.get(dropped.getId()));
+            assertFalse(Files.exists(Path.of(dropped.getConvertedFilePath())));
+            assertFalse(Files.exists(Path.of(dropped.getOriginalFilePath())));
+        }
+        assertNotNull(recovered.get(files.get(3).getId()));
+        assertNotNull(recovered.get(files.get(4).getId()));
+
+        // As remoções foram para o novo diário: uma nova recuperação chega ao mesmo estado
+        ConversionHistoryStore again = newHistory();
+        newJournal(again, DataSize.ofMegabytes(64)).close();
+        assertEquals(3, again.size());
+    }
+
+    private ConversionHistoryStore newHistory() {
+        return new ConversionHistoryStore(fileStorageService, 10_000, DataSize.ofMegabytes(64), Duration.ofHours(1), 4);
+    }
+
+    private ConversionJournal newJournal(ConversionHistoryStore history, DataSize compactThreshold) {
+        return new ConversionJournal(fileStorageService, history, true, journalDir.toString(),
+                Duration.ofMillis(10), compactThreshold);
+    }
+
+    private Path lastFile(String prefix) throws Exception {
+        try (Stream<Path> listing = Files.list(journalDir)) {
+            return listing.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+        }
+    }
+
+    private ConvertedFile completedFileWithFiles() throws Exception {
+        ConvertedFile file = new ConvertedFile("a.pdf", FileFormat.PDF, FileFormat.TXT);
+        Path original = Files.createTempFile(fileStorageService.getUploadLocation(), "orig_", ".pdf");
+        Path converted = Files.createTempFile(fileStorageService.getConvertedLocation(), "conv_", ".txt");
+        file.setOriginalFilePath(original.toString());
+        file.setConvertedFilePath(converted.toString());
+        file.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+        return file;
+    }
+}
@@ -0,0 +1,130 @@
+package com.conversor.service;
+
+import com.conversor.controller.FileConversionController;
+import com.conversor.converter.ConversionProgress;
+import com.conversor.model.ConversionType;
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do fluxo SSE de andamento das conversões.
+ *
+ * Verifica que o fluxo começa pelo status atual, recebe o andamento das
+ * páginas e as mudanças de status e é encerrado quando a conversão termina.
+ */
+class ConversionProgressPublisherTest {
+
+    private FileConversionService conversionService;
+    private ConversionProgressPublisher publisher;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        conversionService = mock(FileConversionService.class);
+        // Sem intervalo mínimo, todos os avisos viram eventos
+        publisher = new ConversionProgressPublisher(Duration.ofMinutes(1), Duration.ZERO);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileConversionController(
+                conversionService, mock(FileStorageService.class), mock(BatchConversionService.class), publisher))
+                .build();
+    }
+
+    /**
+     * Uma conversão em andamento recebe os eventos até terminar, e o fluxo é
+     * encerrado com o status final.
+     */
+    @Test
+    void streamsProgressUntilConversionFinishes() throws Exception {
+        ConvertedFile file = newConversion(ConvertedFile.ConversionStatus.PROCESSING);
+
+        MvcResult result = mockMvc.perform(get("/api/files/progress/" + file.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ConversionProgress progress = publisher.track(file);
+        progress.stepStarted(0, 1, ConversionType.PDF_TO_PNG);
+        progress.pagesPlanned(2);
+        progress.pagesCompleted(1, 100);
+        progress.pagesCompleted(1, 50);
+        file.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+        publisher.publishStatus(file);
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.startsWith("event:status"));
+        assertTrue(body.contains("\"pagesCompleted\":2,\"pagesTotal\":2,\"bytesWritten\":150"));
+        assertTrue(body.contains("\"status\":\"COMPLETED\""));
+        // O fluxo foi encerrado: o resultado da requisição assíncrona está disponível
+        assertDoesNotThrow(() -> result.getAsyncResult(1000));
+
+        // Sem inscritos, o andamento é descartado
+        publisher.track(file).pagesPlanned(1);
+        assertEquals(body, result.getResponse().getContentAsString());
+    }
+
+    /**
+     * Enquanto o total não é conhecido, as páginas seguem o intervalo mínimo;
+     * o total informado no fim sai na hora, com as páginas concluídas.
+     */
+    @Test
+    void totalReportedAtTheEndIsPublished() throws Exception {
+        publisher = new ConversionProgressPublisher(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileConversionController(
+                conversionService, mock(FileStorageService.class), mock(BatchConversionService.class), publisher))
+                .build();
+        ConvertedFile file = newConversion(ConvertedFile.ConversionStatus.PROCESSING);
+
+        MvcResult result = mockMvc.perform(get("/api/files/progress/" + file.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ConversionProgress progress = publisher.track(file);
+        progress.stepStarted(0, 1, ConversionType.TXT_TO_PDF);
+        progress.pagesCompleted(1, 100);
+        progress.pagesCompleted(1, 50);
+        assertFalse(result.getResponse().getContentAsString().contains("event:progress"));
+
+        progress.pagesPlanned(2);
+        assertTrue(result.getResponse().getContentAsString()
+                .contains("\"pagesCompleted\":2,\"pagesTotal\":2,\"bytesWritten\":150"));
+    }
+
+    /**
+     * Uma conversão já concluída recebe só o status, e o fluxo é encerrado.
+     */
+    @Test
+    void finishedConversionGetsStatusAndEnd() throws Exception {
+        ConvertedFile file = newConversion(ConvertedFile.ConversionStatus.FAILED);
+
+        MvcResult result = mockMvc.perform(get("/api/files/progress/" + file.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("\"status\":\"FAILED\""));
+        assertFalse(body.contains("event:progress"));
+        // O fluxo foi encerrado: o resultado da requisição assíncrona está disponível
+        assertDoesNotThrow(() -> result.getAsyncResult(1000));
+
+        mockMvc.perform(get("/api/files/progress/desconhecido")).andExpect(status().isNotFound());
+    }
+
+    private ConvertedFile newConversion(ConvertedFile.ConversionStatus status) {
+        ConvertedFile file = new ConvertedFile("a.pdf", FileFormat.PDF, FileFormat.PNG);
+        file.setStatus(status);
+        when(conversionService.getConvertedFile(file.getId())).thenReturn(file);
+        return file;
+    }
+}
@@ -0,0 +1,100 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionPlanner;
+import com.conversor.converter.ConverterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Dependências do {@link FileConversionService} para testes e benchmarks.
+ *
+ * O armazenamento fica em um diretório próprio, com histórico, cache de
+ * resultados e métricas em memória. Cada teste usa só as partes que
+ * verifica; o serviço é montado com {@link #conversionService}, sem diário
+ * e sem controle de admissão, executando as conversões na própria thread.
+ */
+final class ConversionTestFixture {
+
+    private final FileStorageService storage;
+    private final ConversionHistoryStore history;
+    private final ConversionResultCache resultCache;
+    private final ConversionMetrics metrics;
+
+    /**
+     * Cria as dependências com o cache de resultados desativado.
+     *
+     * @param directory Diretório dos uploads e convertidos
+     */
+    ConversionTestFixture(Path directory) {
+        this(directory, false);
+    }
+
+    /**
+     * Cria as dependências.
+     *
+     * @param directory          Diretório dos uploads e convertidos
+     * @param resultCacheEnabled Se o cache de resultados fica ativo
+     */
+    ConversionTestFixture(Path directory, boolean resultCacheEnabled) {
+        storage = new FileStorageService(
+                directory.resolve("uploads").toString(),
+                directory.resolve("converted").toString());
+        history = new ConversionHistoryStore(storage, 1000, DataSize.ofMegabytes(16), Duration.ofHours(1), 1);
+        resultCache = new ConversionResultCache(storage, resultCacheEnabled, DataSize.ofMegabytes(16));
+        metrics = new ConversionMetrics(new SimpleMeterRegistry(), history, resultCache);
+    }
+
+    FileStorageService getStorage() {
+        return storage;
+    }
+
+    ConversionHistoryStore getHistory() {
+        return history;
+    }
+
+    ConversionResultCache getResultCache() {
+        return resultCache;
+    }
+
+    ConversionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Diário desativado, que não grava nem recupera nada.
+     *
+     * @return Diário
+     */
+    ConversionJournal disabledJournal() {
+        return new ConversionJournal(storage, history, false, "", Duration.ofMillis(100), DataSize.ofMegabytes(64));
+    }
+
+    /**
+     * Armazenamento de documentos intermediários com o limite padrão.
+     *
+     * @return Armazenamento no diretório temporário do sistema
+     */
+    static IntermediateStorage intermediateStorage() {
+        return new IntermediateStorage(DataSize.ofMegabytes(64), "");
+    }
+
+    /**
+     * Monta o serviço de conversão com os motores informados.
+     *
+     * @param registry         Registro dos motores de conversão
+     * @param cpuTaskScheduler Agendador do trabalho de CPU das conversões
+     * @return Serviço de conversão
+     */
+    FileConversionService conversionService(ConverterRegistry registry, CpuTaskScheduler cpuTaskScheduler) {
+        return new FileConversionService(
+                storage, new SyncTaskExecutor(), history, disabledJournal(), resultCache, registry,
+                new ConversionPlanner(registry), metrics, new ConversionAdmission(metrics, false, 1, Map.of()),
+                cpuTaskScheduler, new ConversionProgressPublisher(Duration.ofMinutes(1), Duration.ofMillis(200)),
+                false);
+    }
+}
@@ -0,0 +1,76 @@
+package com.conversor.service;
+
+import com.conversor.config.AsyncConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do despachante de trabalho de CPU.
+ *
+ * Verifica que threads virtuais entregam a tarefa ao pool de CPU, que threads
+ * de plataforma a executam na própria thread e que os erros de I/O chegam ao
+ * chamador sem embrulho.
+ */
+class CpuTaskSchedulerTest {
+
+    private ThreadPoolTaskExecutor cpuExecutor;
+    private CpuTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        cpuExecutor = new AsyncConfig().cpuExecutor(1);
+        cpuExecutor.initialize();
+        scheduler = new CpuTaskScheduler(cpuExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cpuExecutor.shutdown();
+    }
+
+    /**
+     * De uma thread virtual, a tarefa roda no pool de CPU; de uma thread de
+     * plataforma, na própria thread.
+     */
+    @Test
+    void virtualThreadsDispatchToCpuPool() throws Exception {
+        AtomicReference<String> virtualCaller = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                virtualCaller.set(scheduler.call(() -> Thread.currentThread().getName()));
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).join();
+
+        assertTrue(virtualCaller.get().startsWith("cpu-"));
+        assertEquals(Thread.currentThread().getName(), scheduler.call(() -> Thread.currentThread().getName()));
+    }
+
+    /**
+     * O erro de I/O da tarefa chega à thread virtual como foi lançado.
+     */
+    @Test
+    void ioExceptionReachesVirtualCaller() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                scheduler.call(() -> {
+                    throw new IOException("falha");
+                });
+            } catch (Throwable ex) {
+                failure.set(ex);
+            }
+        }).join();
+
+        assertInstanceOf(IOException.class, failure.get());
+        assertEquals("falha", failure.get().getMessage());
+    }
+}
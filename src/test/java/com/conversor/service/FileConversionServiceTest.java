@@ -0,0 +1,81 @@
+package com.conversor.service;
+
+import com.conversor.config.AsyncConfig;
+import com.conversor.converter.ConverterRegistry;
+import com.conversor.converter.DocxToTextConverter;
+import com.conversor.converter.TextToPdfConverter;
+import com.conversor.exception.FileConversionException;
+import com.conversor.model.ConversionOptions;
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do serviço de conversão com o cache de resultados.
+ *
+ * Verifica que o formato de origem, que vem da extensão do arquivo, faz
+ * parte da chave do cache: os mesmos bytes enviados com outra extensão não
+ * recebem o resultado da conversão anterior.
+ */
+class FileConversionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThreadPoolTaskExecutor cpuExecutor;
+    private FileConversionService conversionService;
+
+    @BeforeEach
+    void setUp() {
+        ConversionTestFixture fixture = new ConversionTestFixture(tempDir, true);
+        IntermediateStorage intermediateStorage = ConversionTestFixture.intermediateStorage();
+        ConverterRegistry registry = new ConverterRegistry(List.of(
+                new TextToPdfConverter(intermediateStorage), new DocxToTextConverter(intermediateStorage)));
+
+        cpuExecutor = new AsyncConfig().cpuExecutor(1);
+        cpuExecutor.initialize();
+
+        conversionService = fixture.conversionService(registry, new CpuTaskScheduler(cpuExecutor));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cpuExecutor.shutdown();
+    }
+
+    /**
+     * Os mesmos bytes, enviados como TXT e depois como DOCX, são convertidos
+     * de novo: como DOCX inválido, a segunda conversão falha em vez de
+     * receber o PDF gerado a partir do texto.
+     */
+    @Test
+    void sameBytesUnderAnotherExtensionBypassTheCache() {
+        byte[] content = "conteúdo de texto\n".getBytes(StandardCharsets.UTF_8);
+
+        ConvertedFile asText = conversionService.convertFile(
+                new MockMultipartFile("file", "x.txt", "text/plain", content),
+                FileFormat.PDF, ConversionOptions.defaults());
+        assertEquals(ConvertedFile.ConversionStatus.COMPLETED, asText.getStatus());
+
+        // O mesmo envio como TXT vem do cache
+        ConvertedFile cachedText = conversionService.convertFile(
+                new MockMultipartFile("file", "y.txt", "text/plain", content),
+                FileFormat.PDF, ConversionOptions.defaults());
+        assertEquals(asText.getConvertedSize(), cachedText.getConvertedSize());
+
+        assertThrows(FileConversionException.class, () -> conversionService.convertFile(
+                new MockMultipartFile("file", "x.docx", "application/octet-stream", content),
+                FileFormat.PDF, ConversionOptions.defaults()));
+    }
+}
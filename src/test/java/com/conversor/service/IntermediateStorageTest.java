@@ -0,0 +1,77 @@
+package com.conversor.service;
+
+import com.conversor.converter.ConversionInput;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do armazenamento de documentos intermediários.
+ *
+ * Verifica que documentos dentro do limite ficam em memória, que os maiores
+ * passam para um arquivo temporário com todo o conteúdo e que o arquivo é
+ * removido ao fechar a entrada ou ao descartar a saída.
+ */
+class IntermediateStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Dentro do limite, a entrada fica em memória; acima dele, em arquivo
+     * temporário, removido quando a entrada é fechada.
+     */
+    @Test
+    void spillsToTemporaryFileAboveLimit() throws Exception {
+        IntermediateStorage storage = new IntermediateStorage(DataSize.ofBytes(1024), tempDir.toString());
+
+        IntermediateStorage.Output small = storage.newOutput(FileFormat.TXT);
+        small.write(new byte[1024]);
+        try (ConversionInput input = small.toInput()) {
+            assertTrue(input.isInMemory());
+            assertEquals(1024, input.length());
+        }
+
+        byte[] content = new byte[3000];
+        Arrays.fill(content, (byte) 'a');
+        IntermediateStorage.Output large = storage.newOutput(FileFormat.TXT);
+        large.write(content, 0, 1000);
+        large.write(content, 1000, 2000);
+
+        File file;
+        try (ConversionInput input = large.toInput()) {
+            file = input.getFile();
+            assertNotNull(file);
+            assertTrue(file.getName().endsWith(".txt"));
+            try (InputStream stream = input.openStream()) {
+                assertArrayEquals(content, stream.readAllBytes());
+            }
+        }
+        assertFalse(file.exists());
+    }
+
+    /**
+     * Uma saída descartada não deixa arquivo temporário.
+     */
+    @Test
+    void discardRemovesTemporaryFile() throws Exception {
+        IntermediateStorage storage = new IntermediateStorage(DataSize.ofBytes(16), tempDir.toString());
+
+        IntermediateStorage.Output output = storage.newOutput(FileFormat.PDF);
+        output.write(new byte[64]);
+        output.discard();
+
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
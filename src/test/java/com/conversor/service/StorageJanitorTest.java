@@ -0,0 +1,142 @@
+package com.conversor.service;
+
+import com.conversor.model.ConvertedFile;
+import com.conversor.model.FileFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da limpeza do armazenamento.
+ *
+ * Verifica que arquivos expirados saem do disco e do histórico, que arquivos
+ * em uso são preservados e que a cota remove primeiro os arquivos baixados
+ * há mais tempo, mesmo quando os candidatos não cabem em um único lote.
+ */
+class StorageJanitorTest {
+
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+    @TempDir
+    Path tempDir;
+
+    private FileStorageService fileStorageService;
+    private ConversionHistoryStore history;
+    private ConversionMetrics metrics;
+    private ConversionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        ConversionTestFixture fixture = new ConversionTestFixture(tempDir);
+        fileStorageService = fixture.getStorage();
+        history = fixture.getHistory();
+        metrics = fixture.getMetrics();
+        journal = fixture.disabledJournal();
+    }
+
+    /**
+     * Arquivos expirados são removidos, e a conversão sai do histórico junto
+     * com o original; parciais, subdiretórios e originais de conversões em
+     * andamento ficam.
+     */
+    @Test
+    void expiredFilesLeaveDiskAndHistory() throws Exception {
+        ConvertedFile completed = completedConversion(1000, 48 * HOUR_MILLIS);
+
+        ConvertedFile pending = new ConvertedFile("b.pdf", FileFormat.PDF, FileFormat.TXT);
+        Path pendingOriginal = write(fileStorageService.getUploadLocation().resolve("pending.pdf"), 10, 48 * HOUR_MILLIS);
+        pending.setOriginalFilePath(pendingOriginal.toString());
+        history.put(pending);
+
+        Path partial = write(fileStorageService.getConvertedLocation().resolve("x.txt.part"), 10, 48 * HOUR_MILLIS);
+        Path cacheDir = Files.createDirectories(fileStorageService.getConvertedLocation().resolve(".cache"));
+        Path cached = write(cacheDir.resolve("entry"), 10, 48 * HOUR_MILLIS);
+
+        int deleted = newJanitor(DataSize.ofGigabytes(1), 10).sweep();
+
+        // O original expira no diretório de uploads, e o convertido no de convertidos
+        assertEquals(2, deleted);
+        assertFalse(Files.exists(Path.of(completed.getConvertedFilePath())));
+        assertFalse(Files.exists(Path.of(completed.getOriginalFilePath())));
+        assertNull(history.get(completed.getId()));
+
+        assertTrue(Files.exists(pendingOriginal));
+        assertNotNull(history.get(pending.getId()));
+        assertTrue(Files.exists(partial));
+        assertTrue(Files.exists(cached));
+    }
+
+    /**
+     * Acima da cota, os arquivos baixados há mais tempo saem primeiro, com
+     * novas passadas quando o lote de candidatos não basta.
+     */
+    @Test
+    void quotaEvictsLeastRecentlyDownloadedFirst() throws Exception {
+        List<ConvertedFile> files = new ArrayList<>();
+        for (int hoursAgo = 5; hoursAgo >= 1; hoursAgo--) {
+            ConvertedFile file = completedConversion(1000, hoursAgo * HOUR_MILLIS);
+            // Só os convertidos disputam a cota
+            Files.delete(Path.of(file.getOriginalFilePath()));
+            file.setOriginalFilePath(null);
+            files.add(file);
+        }
+        // O mais antigo foi baixado agora há pouco (mas fora da idade mínima)
+        ConvertedFile downloaded = files.get(0);
+        touchAccess(Path.of(downloaded.getConvertedFilePath()), 2 * 60_000);
+
+        int deleted = newJanitor(DataSize.ofBytes(3000), 1).sweep();
+
+        assertEquals(2, deleted);
+        assertNotNull(history.get(downloaded.getId()));
+        assertNull(history.get(files.get(1).getId()));
+        assertNull(history.get(files.get(2).getId()));
+        assertNotNull(history.get(files.get(3).getId()));
+        assertNotNull(history.get(files.get(4).getId()));
+        assertFalse(Files.exists(Path.of(files.get(1).getConvertedFilePath())));
+        assertTrue(Files.exists(Path.of(downloaded.getConvertedFilePath())));
+    }
+
+    private StorageJanitor newJanitor(DataSize quota, int batchSize) {
+        return new StorageJanitor(fileStorageService, history, journal, metrics, true,
+                Duration.ofHours(24), Duration.ofHours(24), quota, batchSize);
+    }
+
+    /**
+     * Registra uma conversão concluída, com original e convertido usados pela
+     * última vez há {@code ageMillis}.
+     */
+    private ConvertedFile completedConversion(int size, long ageMillis) throws Exception {
+        ConvertedFile file = new ConvertedFile("a.pdf", FileFormat.PDF, FileFormat.TXT);
+        Path original = write(fileStorageService.getUploadLocation().resolve(file.getId() + ".pdf"), 100, ageMillis);
+        Path converted = write(fileStorageService.getConvertedLocation().resolve(
+                file.getId() + FileConversionService.CONVERTED_FILENAME_SEPARATOR + "a.txt"), size, ageMillis);
+        file.setOriginalFilePath(original.toString());
+        file.setConvertedFilePath(converted.toString());
+        file.setStatus(ConvertedFile.ConversionStatus.COMPLETED);
+        history.put(file);
+        return file;
+    }
+
+    private static Path write(Path path, int size, long ageMillis) throws Exception {
+        Files.write(path, new byte[size]);
+        FileTime time = FileTime.fromMillis(System.currentTimeMillis() - ageMillis);
+        Files.getFileAttributeView(path, BasicFileAttributeView.class).setTimes(time, time, null);
+        return path;
+    }
+
+    private static void touchAccess(Path path, long ageMillis) throws Exception {
+        FileTime time = FileTime.fromMillis(System.currentTimeMillis() - ageMillis);
+        Files.getFileAttributeView(path, BasicFileAttributeView.class).setTimes(null, time, null);
+    }
+}
@@ -0,0 +1,86 @@
+package com.conversor.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do gerador de PDF de texto em fluxo.
+ *
+ * Verifica, lendo o resultado com o PDFBox, o número de páginas, a quebra
+ * de linha por palavras e a substituição dos caracteres fora do WinAnsi.
+ */
+class TextPdfWriterTest {
+
+    /**
+     * Cada página cheia é gravada, e a última, parcial, também.
+     */
+    @Test
+    void splitsLinesIntoPages() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int pageCount;
+        try (TextPdfWriter writer = new TextPdfWriter(output)) {
+            for (int i = 1; i <= 120; i++) {
+                writer.writeLine("linha " + i);
+            }
+            pageCount = writer.finish();
+        }
+
+        try (PDDocument document = Loader.loadPDF(output.toByteArray())) {
+            assertEquals(pageCount, document.getNumberOfPages());
+            assertEquals(3, pageCount);
+
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("linha 1\n"));
+            assertTrue(text.contains("linha 120\n"));
+        }
+    }
+
+    /**
+     * Uma linha maior que a página é quebrada entre palavras, sem cortar
+     * nenhuma delas.
+     */
+    @Test
+    void wrapsLongLinesAtWordBoundaries() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TextPdfWriter writer = new TextPdfWriter(output)) {
+            writer.writeLine("palavra ".repeat(100).trim());
+            writer.finish();
+        }
+
+        try (PDDocument document = Loader.loadPDF(output.toByteArray())) {
+            String[] lines = new PDFTextStripper().getText(document).strip().split("\n");
+            assertTrue(lines.length > 1);
+            int words = 0;
+            for (String line : lines) {
+                for (String word : line.strip().split(" ")) {
+                    assertEquals("palavra", word);
+                    words++;
+                }
+            }
+            assertEquals(100, words);
+        }
+    }
+
+    /**
+     * Caracteres do WinAnsi fora do Latin-1 são mantidos, e os demais viram
+     * {@code ?}.
+     */
+    @Test
+    void replacesCharactersOutsideWinAnsi() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TextPdfWriter writer = new TextPdfWriter(output)) {
+            writer.writeLine("ação — 10 € 中文");
+            writer.finish();
+        }
+
+        try (PDDocument document = Loader.loadPDF(output.toByteArray())) {
+            assertEquals("ação — 10 € ??", new PDFTextStripper().getText(document).strip());
+        }
+    }
+}